@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.jdkhttp;
+
+import com.sun.net.httpserver.HttpServer;
+
+import org.dmfs.httpessentials.httpurlconnection.HttpUrlConnectionExecutor;
+import org.dmfs.oauth2.client.BasicOAuth2AuthorizationProvider;
+import org.dmfs.oauth2.client.BasicOAuth2Client;
+import org.dmfs.oauth2.client.BasicOAuth2ClientCredentials;
+import org.dmfs.oauth2.client.OAuth2Client;
+import org.dmfs.oauth2.client.async.AsyncGrant;
+import org.dmfs.oauth2.client.async.AsyncHttpRequestExecutor;
+import org.dmfs.oauth2.client.async.AsyncOAuth2Grant;
+import org.dmfs.oauth2.client.async.OffloadingExecutor;
+import org.dmfs.oauth2.client.grants.ClientCredentialsGrant;
+import org.dmfs.oauth2.client.scope.BasicScope;
+import org.dmfs.rfc3986.encoding.Precoded;
+import org.dmfs.rfc3986.uris.LazyUri;
+import org.dmfs.rfc5545.Duration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Sends bursts of concurrent Client Credentials token requests to a local stub token endpoint, either with the {@link AsyncJdkHttpExecutor} or with
+ * a {@link HttpUrlConnectionExecutor} that's offloaded to a thread pool with one thread per concurrent request.
+ * <p>
+ * Note that the stub endpoint of the JDK only speaks HTTP/1.1, so this measures the overhead of the executors, not the effect of HTTP/2 multiplexing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// without TCP_NODELAY the stub server waits for delayed ACKs, which hides everything else
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+public class TokenBurstBenchmark
+{
+    private final static byte[] TOKEN_RESPONSE =
+        "{\"access_token\":\"2YotnFZFEjr1zCsicMWpAA\",\"token_type\":\"bearer\",\"expires_in\":3600}".getBytes(StandardCharsets.UTF_8);
+
+    @Param({ "1", "32" })
+    public int mBurstSize;
+
+    private HttpServer mServer;
+    private ExecutorService mServerThreads;
+    private ExecutorService mBlockingPool;
+    private AsyncOAuth2Grant mGrant;
+    private AsyncHttpRequestExecutor mJdkExecutor;
+    private AsyncHttpRequestExecutor mUrlConnectionExecutor;
+
+
+    @Setup
+    public void setup() throws IOException
+    {
+        mServerThreads = Executors.newFixedThreadPool(8);
+        mServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        mServer.setExecutor(mServerThreads);
+        mServer.createContext("/token", exchange -> {
+            try (InputStream in = exchange.getRequestBody())
+            {
+                while (in.read() >= 0)
+                {
+                    // drain the request
+                }
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, TOKEN_RESPONSE.length);
+            try (OutputStream out = exchange.getResponseBody())
+            {
+                out.write(TOKEN_RESPONSE);
+            }
+        });
+        mServer.start();
+
+        URI base = URI.create("http://127.0.0.1:" + mServer.getAddress().getPort());
+        OAuth2Client client = new BasicOAuth2Client(
+            new BasicOAuth2AuthorizationProvider(base.resolve("/auth"), base.resolve("/token"), new Duration(1, 0, 3600)),
+            new BasicOAuth2ClientCredentials("client", "secret"),
+            new LazyUri(new Precoded("http://localhost/callback")));
+        mGrant = new AsyncGrant(new ClientCredentialsGrant(client, new BasicScope("read")));
+
+        // the stub endpoint doesn't support h2c, so don't try to upgrade the connection on every request
+        mJdkExecutor = new AsyncJdkHttpExecutor(
+            HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build(), java.time.Duration.ofSeconds(30));
+        mBlockingPool = Executors.newFixedThreadPool(mBurstSize);
+        mUrlConnectionExecutor = new OffloadingExecutor(new HttpUrlConnectionExecutor(), mBlockingPool);
+    }
+
+
+    @TearDown
+    public void tearDown()
+    {
+        mServer.stop(0);
+        mServerThreads.shutdown();
+        mBlockingPool.shutdown();
+    }
+
+
+    @Benchmark
+    public Object jdkHttpClient()
+    {
+        return burst(mJdkExecutor);
+    }
+
+
+    @Benchmark
+    public Object httpUrlConnection()
+    {
+        return burst(mUrlConnectionExecutor);
+    }
+
+
+    private Object burst(AsyncHttpRequestExecutor executor)
+    {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[mBurstSize];
+        for (int i = 0; i < mBurstSize; ++i)
+        {
+            futures[i] = mGrant.accessToken(executor).toCompletableFuture();
+        }
+        return CompletableFuture.allOf(futures).join();
+    }
+}
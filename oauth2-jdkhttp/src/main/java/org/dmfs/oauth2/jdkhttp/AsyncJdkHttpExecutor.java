@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.jdkhttp;
+
+import org.dmfs.httpessentials.client.HttpRequest;
+import org.dmfs.httpessentials.client.HttpResponse;
+import org.dmfs.httpessentials.exceptions.ProtocolError;
+import org.dmfs.httpessentials.exceptions.ProtocolException;
+import org.dmfs.oauth2.client.async.AsyncHttpRequestExecutor;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+
+/**
+ * An {@link AsyncHttpRequestExecutor} based on the {@link HttpClient} of the JDK.
+ * <p>
+ * No thread waits for the server. Bursts of token requests to the same server share a few connections, which are multiplexed if the server supports
+ * HTTP/2. The response handler of the request runs on a thread of the executor of the {@link HttpClient} once the response has been received completely.
+ * <p>
+ * Instances are thread-safe and should be shared, since each {@link HttpClient} holds its own connection pool.
+ */
+public final class AsyncJdkHttpExecutor implements AsyncHttpRequestExecutor
+{
+    private final HttpClient mClient;
+    private final Duration mRequestTimeout;
+
+
+    /**
+     * Creates an {@link AsyncJdkHttpExecutor} with a new {@link HttpClient} that prefers HTTP/2, doesn't follow redirects and times out after 30 seconds.
+     */
+    public AsyncJdkHttpExecutor()
+    {
+        this(JdkRequests.defaultClient(), JdkRequests.DEFAULT_REQUEST_TIMEOUT);
+    }
+
+
+    /**
+     * Creates an {@link AsyncJdkHttpExecutor} that uses the given {@link HttpClient}.
+     *
+     * @param client
+     *     The {@link HttpClient} to send the requests with.
+     * @param requestTimeout
+     *     The time to wait for a response.
+     */
+    public AsyncJdkHttpExecutor(HttpClient client, Duration requestTimeout)
+    {
+        mClient = client;
+        mRequestTimeout = requestTimeout;
+    }
+
+
+    @Override
+    public <T> CompletionStage<T> execute(URI uri, HttpRequest<T> request)
+    {
+        java.net.http.HttpRequest jdkRequest;
+        try
+        {
+            jdkRequest = JdkRequests.jdkRequest(uri, request, mRequestTimeout);
+        }
+        catch (IOException e)
+        {
+            return CompletableFuture.failedFuture(e);
+        }
+        return mClient.sendAsync(jdkRequest, java.net.http.HttpResponse.BodyHandlers.ofByteArray())
+            .thenApply(response -> {
+                HttpResponse httpResponse = new JdkHttpResponse(uri, response);
+                try
+                {
+                    return request.responseHandler(httpResponse).handleResponse(httpResponse);
+                }
+                catch (IOException | ProtocolError | ProtocolException e)
+                {
+                    throw new CompletionException(e);
+                }
+            });
+    }
+}
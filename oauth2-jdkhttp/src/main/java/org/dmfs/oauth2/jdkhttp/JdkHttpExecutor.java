@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.jdkhttp;
+
+import org.dmfs.httpessentials.client.HttpRequest;
+import org.dmfs.httpessentials.client.HttpRequestExecutor;
+import org.dmfs.httpessentials.client.HttpResponse;
+import org.dmfs.httpessentials.exceptions.ProtocolError;
+import org.dmfs.httpessentials.exceptions.ProtocolException;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+
+/**
+ * An {@link HttpRequestExecutor} based on the {@link HttpClient} of the JDK.
+ * <p>
+ * By default, it prefers HTTP/2, so concurrent requests to the same server are multiplexed over a single connection instead of opening one connection per
+ * request. See {@link AsyncJdkHttpExecutor} for a non-blocking variant.
+ * <p>
+ * Like other {@link HttpRequestExecutor}s, this doesn't follow redirects. The response handler of the request decides what to do with any response.
+ * <p>
+ * Instances are thread-safe and should be shared, since each {@link HttpClient} holds its own connection pool.
+ */
+public final class JdkHttpExecutor implements HttpRequestExecutor
+{
+    private final HttpClient mClient;
+    private final Duration mRequestTimeout;
+
+
+    /**
+     * Creates a {@link JdkHttpExecutor} with a new {@link HttpClient} that prefers HTTP/2, doesn't follow redirects and times out after 30 seconds.
+     */
+    public JdkHttpExecutor()
+    {
+        this(JdkRequests.defaultClient(), JdkRequests.DEFAULT_REQUEST_TIMEOUT);
+    }
+
+
+    /**
+     * Creates a {@link JdkHttpExecutor} that uses the given {@link HttpClient}.
+     *
+     * @param client
+     *     The {@link HttpClient} to send the requests with.
+     * @param requestTimeout
+     *     The time to wait for a response.
+     */
+    public JdkHttpExecutor(HttpClient client, Duration requestTimeout)
+    {
+        mClient = client;
+        mRequestTimeout = requestTimeout;
+    }
+
+
+    @Override
+    public <T> T execute(URI uri, HttpRequest<T> request) throws IOException, ProtocolError, ProtocolException
+    {
+        java.net.http.HttpResponse<byte[]> response;
+        try
+        {
+            response = mClient.send(JdkRequests.jdkRequest(uri, request, mRequestTimeout), java.net.http.HttpResponse.BodyHandlers.ofByteArray());
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for " + uri);
+        }
+        HttpResponse httpResponse = new JdkHttpResponse(uri, response);
+        return request.responseHandler(httpResponse).handleResponse(httpResponse);
+    }
+}
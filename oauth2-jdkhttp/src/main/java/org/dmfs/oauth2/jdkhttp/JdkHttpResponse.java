@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.jdkhttp;
+
+import org.dmfs.httpessentials.HttpStatus;
+import org.dmfs.httpessentials.client.HttpResponse;
+import org.dmfs.httpessentials.client.HttpResponseEntity;
+import org.dmfs.httpessentials.headers.Headers;
+import org.dmfs.httpessentials.headers.HttpHeaders;
+import org.dmfs.httpessentials.status.SimpleHttpStatus;
+import org.dmfs.httpessentials.types.MediaType;
+import org.dmfs.jems.optional.Optional;
+import org.dmfs.jems.optional.elementary.Present;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+
+import static org.dmfs.jems.optional.elementary.Absent.absent;
+
+
+/**
+ * An {@link HttpResponse} adapter for a {@link java.net.http.HttpResponse} with a fully received body.
+ */
+final class JdkHttpResponse implements HttpResponse
+{
+    private final URI mRequestUri;
+    private final java.net.http.HttpResponse<byte[]> mResponse;
+
+
+    JdkHttpResponse(URI requestUri, java.net.http.HttpResponse<byte[]> response)
+    {
+        mRequestUri = requestUri;
+        mResponse = response;
+    }
+
+
+    @Override
+    public HttpStatus status()
+    {
+        // HTTP/2 doesn't transmit a reason phrase
+        return new SimpleHttpStatus(mResponse.statusCode(), "");
+    }
+
+
+    @Override
+    public Headers headers()
+    {
+        return new JdkResponseHeaders(mResponse.headers());
+    }
+
+
+    @Override
+    public HttpResponseEntity responseEntity()
+    {
+        return new HttpResponseEntity()
+        {
+            @Override
+            public Optional<MediaType> contentType()
+            {
+                java.util.Optional<String> contentType = mResponse.headers().firstValue(HttpHeaders.CONTENT_TYPE.name());
+                return contentType.isPresent() ? new Present<>(HttpHeaders.CONTENT_TYPE.entityFromString(contentType.get()).value()) : absent();
+            }
+
+
+            @Override
+            public Optional<Long> contentLength()
+            {
+                return new Present<>((long) mResponse.body().length);
+            }
+
+
+            @Override
+            public InputStream contentStream()
+            {
+                return new ByteArrayInputStream(mResponse.body());
+            }
+        };
+    }
+
+
+    @Override
+    public URI requestUri()
+    {
+        return mRequestUri;
+    }
+
+
+    @Override
+    public URI responseUri()
+    {
+        return mResponse.uri();
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.jdkhttp;
+
+import org.dmfs.httpessentials.client.HttpRequest;
+import org.dmfs.httpessentials.client.HttpRequestEntity;
+import org.dmfs.httpessentials.headers.Header;
+import org.dmfs.httpessentials.headers.HttpHeaders;
+import org.dmfs.httpessentials.types.MediaType;
+import org.dmfs.jems.optional.Optional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+
+
+/**
+ * Converts {@link HttpRequest}s into {@link java.net.http.HttpRequest}s.
+ */
+final class JdkRequests
+{
+    final static Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * Headers the {@link HttpClient} sets by itself and refuses to take from the caller.
+     */
+    private final static Set<String> RESTRICTED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static
+    {
+        RESTRICTED_HEADERS.addAll(Arrays.asList("connection", "content-length", "expect", "host", "upgrade"));
+    }
+
+
+    /**
+     * The default {@link HttpClient}, which prefers HTTP/2 and doesn't follow redirects, like any other {@link org.dmfs.httpessentials.client.HttpRequestExecutor}.
+     */
+    static HttpClient defaultClient()
+    {
+        return HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    }
+
+
+    static java.net.http.HttpRequest jdkRequest(URI uri, HttpRequest<?> request, Duration timeout) throws IOException
+    {
+        java.net.http.HttpRequest.Builder builder = java.net.http.HttpRequest.newBuilder(uri).timeout(timeout);
+        for (Header<?> header : request.headers())
+        {
+            if (!RESTRICTED_HEADERS.contains(header.type().name()))
+            {
+                builder.header(header.type().name(), valueString(header));
+            }
+        }
+
+        String method = request.method().verb();
+        if (!request.method().supportsRequestPayload())
+        {
+            return builder.method(method, java.net.http.HttpRequest.BodyPublishers.noBody()).build();
+        }
+
+        HttpRequestEntity entity = request.requestEntity();
+        Optional<MediaType> contentType = entity.contentType();
+        if (contentType.isPresent())
+        {
+            builder.setHeader(HttpHeaders.CONTENT_TYPE.name(), HttpHeaders.CONTENT_TYPE.valueString(contentType.value()));
+        }
+        // token requests are small, so there is no point in streaming them
+        ByteArrayOutputStream content = new ByteArrayOutputStream(256);
+        entity.writeContent(content);
+        return builder.method(method, java.net.http.HttpRequest.BodyPublishers.ofByteArray(content.toByteArray())).build();
+    }
+
+
+    private static <V> String valueString(Header<V> header)
+    {
+        return header.type().valueString(header.value());
+    }
+
+
+    private JdkRequests()
+    {
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.jdkhttp;
+
+import org.dmfs.httpessentials.converters.PlainStringHeaderConverter;
+import org.dmfs.httpessentials.headers.BasicSingletonHeaderType;
+import org.dmfs.httpessentials.headers.FilteredHeaders;
+import org.dmfs.httpessentials.headers.Header;
+import org.dmfs.httpessentials.headers.HeaderType;
+import org.dmfs.httpessentials.headers.Headers;
+import org.dmfs.httpessentials.headers.ListHeaderType;
+import org.dmfs.httpessentials.headers.SingletonHeaderType;
+import org.dmfs.httpessentials.headers.UpdatedHeaders;
+
+import java.net.http.HttpHeaders;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+
+/**
+ * A {@link Headers} adapter for the {@link HttpHeaders} of a {@link java.net.http.HttpResponse}. Values are parsed when they are requested.
+ */
+final class JdkResponseHeaders implements Headers
+{
+    private final HttpHeaders mHeaders;
+
+
+    JdkResponseHeaders(HttpHeaders headers)
+    {
+        mHeaders = headers;
+    }
+
+
+    @Override
+    public Iterator<Header<?>> iterator()
+    {
+        List<Header<?>> result = new ArrayList<>();
+        for (Map.Entry<String, List<String>> entry : mHeaders.map().entrySet())
+        {
+            HeaderType<String> type = new BasicSingletonHeaderType<>(entry.getKey(), PlainStringHeaderConverter.INSTANCE);
+            for (String value : entry.getValue())
+            {
+                result.add(type.entityFromString(value));
+            }
+        }
+        return result.iterator();
+    }
+
+
+    @Override
+    public boolean contains(HeaderType<?> headerType)
+    {
+        return mHeaders.firstValue(headerType.name()).isPresent();
+    }
+
+
+    @Override
+    public <T> Header<T> header(SingletonHeaderType<T> headerType)
+    {
+        return headerType.entityFromString(
+            mHeaders.firstValue(headerType.name()).orElseThrow(() -> new NoSuchElementException("No header " + headerType.name())));
+    }
+
+
+    @Override
+    public <T> Header<List<T>> header(ListHeaderType<T> headerType)
+    {
+        Header<List<T>> result = null;
+        for (String value : mHeaders.allValues(headerType.name()))
+        {
+            Header<List<T>> header = headerType.entityFromString(value);
+            result = result == null ? header : headerType.merged(result, header);
+        }
+        if (result == null)
+        {
+            throw new NoSuchElementException("No header " + headerType.name());
+        }
+        return result;
+    }
+
+
+    @Override
+    public <T> Headers withHeader(Header<T> header)
+    {
+        return new UpdatedHeaders(this, header);
+    }
+
+
+    @Override
+    public <T> Headers withoutHeaderType(HeaderType<T> headerType)
+    {
+        return new FilteredHeaders(this, headerType);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.jdkhttp;
+
+import com.sun.net.httpserver.HttpServer;
+
+import org.dmfs.httpessentials.exceptions.ProtocolError;
+import org.dmfs.oauth2.client.BasicOAuth2AuthorizationProvider;
+import org.dmfs.oauth2.client.BasicOAuth2Client;
+import org.dmfs.oauth2.client.BasicOAuth2ClientCredentials;
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+import org.dmfs.oauth2.client.OAuth2Client;
+import org.dmfs.oauth2.client.async.AsyncGrant;
+import org.dmfs.oauth2.client.grants.ClientCredentialsGrant;
+import org.dmfs.oauth2.client.scope.BasicScope;
+import org.dmfs.rfc3986.encoding.Precoded;
+import org.dmfs.rfc3986.uris.LazyUri;
+import org.dmfs.rfc5545.Duration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+public class JdkHttpExecutorTest
+{
+    private HttpServer mServer;
+    private final AtomicReference<String> mRequestBody = new AtomicReference<>();
+    private final AtomicReference<String> mAuthorization = new AtomicReference<>();
+    private volatile int mStatus = 200;
+    private OAuth2Client mClient;
+
+
+    @Before
+    public void setUp() throws IOException
+    {
+        mServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        mServer.createContext("/token", exchange -> {
+            mRequestBody.set(read(exchange.getRequestBody()));
+            mAuthorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+            byte[] response = (mStatus == 200
+                ? "{\"access_token\":\"token-1\",\"token_type\":\"bearer\",\"expires_in\":3600}"
+                : "{\"error\":\"invalid_client\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json;charset=UTF-8");
+            exchange.sendResponseHeaders(mStatus, response.length);
+            try (OutputStream out = exchange.getResponseBody())
+            {
+                out.write(response);
+            }
+        });
+        mServer.start();
+
+        URI base = URI.create("http://127.0.0.1:" + mServer.getAddress().getPort());
+        mClient = new BasicOAuth2Client(
+            new BasicOAuth2AuthorizationProvider(base.resolve("/auth"), base.resolve("/token"), new Duration(1, 0, 3600)),
+            new BasicOAuth2ClientCredentials("client", "secret"),
+            new LazyUri(new Precoded("http://localhost/callback")));
+    }
+
+
+    @After
+    public void tearDown()
+    {
+        mServer.stop(0);
+    }
+
+
+    @Test
+    public void testBlocking() throws Exception
+    {
+        OAuth2AccessToken token = new ClientCredentialsGrant(mClient, new BasicScope("read")).accessToken(new JdkHttpExecutor());
+
+        assertEquals("token-1", token.accessToken().toString());
+        assertEquals("grant_type=client_credentials&scope=read", mRequestBody.get());
+        assertEquals("Basic Y2xpZW50OnNlY3JldA==", mAuthorization.get());
+    }
+
+
+    @Test
+    public void testAsync() throws Exception
+    {
+        OAuth2AccessToken token = new AsyncGrant(new ClientCredentialsGrant(mClient, new BasicScope("read")))
+            .accessToken(new AsyncJdkHttpExecutor())
+            .toCompletableFuture()
+            .get(10, TimeUnit.SECONDS);
+
+        assertEquals("token-1", token.accessToken().toString());
+        assertEquals("Basic Y2xpZW50OnNlY3JldA==", mAuthorization.get());
+    }
+
+
+    @Test
+    public void testErrorResponse() throws Exception
+    {
+        mStatus = 400;
+        try
+        {
+            new AsyncGrant(new ClientCredentialsGrant(mClient, new BasicScope("read")))
+                .accessToken(new AsyncJdkHttpExecutor())
+                .toCompletableFuture()
+                .get(10, TimeUnit.SECONDS);
+            fail("ExecutionException expected");
+        }
+        catch (ExecutionException e)
+        {
+            assertTrue(e.getCause() instanceof ProtocolError);
+        }
+    }
+
+
+    private static String read(InputStream in) throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read;
+        while ((read = in.read(buffer)) >= 0)
+        {
+            out.write(buffer, 0, read);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.jdkhttp;
+
+import com.sun.net.httpserver.HttpServer;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.dmfs.httpessentials.client.HttpRequestExecutor;
+import org.dmfs.oauth2.client.BasicOAuth2AuthorizationProvider;
+import org.dmfs.oauth2.client.BasicOAuth2Client;
+import org.dmfs.oauth2.client.BasicOAuth2ClientCredentials;
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+import org.dmfs.oauth2.client.OAuth2Client;
+import org.dmfs.oauth2.client.OAuth2Grant;
+import org.dmfs.oauth2.client.cache.BoundedTokenCache;
+import org.dmfs.oauth2.client.cache.TokenCache;
+import org.dmfs.oauth2.client.cache.TokenCacheKey;
+import org.dmfs.oauth2.client.grants.CachingGrant;
+import org.dmfs.oauth2.client.grants.ClientCredentialsGrant;
+import org.dmfs.oauth2.client.grants.CoalescingGrant;
+import org.dmfs.oauth2.client.grants.SharedCacheGrant;
+import org.dmfs.oauth2.client.grants.TokenRefreshGrant;
+import org.dmfs.oauth2.client.scope.BasicScope;
+import org.dmfs.rfc3986.encoding.Precoded;
+import org.dmfs.rfc3986.uris.LazyUri;
+import org.dmfs.rfc5545.Duration;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Runs thousands of concurrent blocking token requests on virtual threads and fails if JFR reports any pinned carrier threads.
+ * <p>
+ * This requires Java 21 or later and is skipped on older runtimes. Virtual threads are created via reflection, so this compiles with Java 11.
+ */
+public class VirtualThreadPinningTest
+{
+    private final static int TASKS = 2000;
+    private final static byte[] TOKEN_RESPONSE =
+        ("{\"access_token\":\"2YotnFZFEjr1zCsicMWpAA\",\"token_type\":\"bearer\",\"expires_in\":3600," +
+            "\"refresh_token\":\"tGzv3JOkF0XG5Qx2TlKWIA\",\"scope\":\"read\"}").getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer mServer;
+    private ExecutorService mServerThreads;
+    private OAuth2Client mClient;
+
+
+    @Before
+    public void setUp() throws IOException
+    {
+        Assume.assumeTrue("virtual threads require Java 21", Runtime.version().feature() >= 21);
+
+        mServerThreads = Executors.newFixedThreadPool(32);
+        mServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        mServer.setExecutor(mServerThreads);
+        mServer.createContext("/token", exchange -> {
+            try (InputStream in = exchange.getRequestBody())
+            {
+                in.readAllBytes();
+            }
+            try
+            {
+                // simulate the latency of a real token endpoint, so requests overlap
+                Thread.sleep(5);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, TOKEN_RESPONSE.length);
+            try (OutputStream out = exchange.getResponseBody())
+            {
+                out.write(TOKEN_RESPONSE);
+            }
+        });
+        mServer.start();
+
+        URI base = URI.create("http://127.0.0.1:" + mServer.getAddress().getPort());
+        mClient = new BasicOAuth2Client(
+            new BasicOAuth2AuthorizationProvider(base.resolve("/auth"), base.resolve("/token"), new Duration(1, 0, 3600)),
+            new BasicOAuth2ClientCredentials("client", "secret"),
+            new LazyUri(new Precoded("http://localhost/callback")));
+    }
+
+
+    @After
+    public void tearDown()
+    {
+        if (mServer != null)
+        {
+            mServer.stop(0);
+            mServerThreads.shutdown();
+        }
+    }
+
+
+    @Test
+    public void testNoPinning() throws Exception
+    {
+        HttpRequestExecutor executor = new JdkHttpExecutor(
+            HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build(), java.time.Duration.ofSeconds(60));
+        OAuth2AccessToken refreshable = new ClientCredentialsGrant(mClient, new BasicScope("read")).accessToken(executor);
+        // shared grants, which coordinate concurrent callers
+        OAuth2Grant coalescing = new CachingGrant(new CoalescingGrant(new ClientCredentialsGrant(mClient, new BasicScope("write"))));
+        TokenCache cache = new BoundedTokenCache(100);
+
+        List<Callable<OAuth2AccessToken>> tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; ++i)
+        {
+            switch (i % 4)
+            {
+                case 0:
+                    tasks.add(() -> new ClientCredentialsGrant(mClient, new BasicScope("read")).accessToken(executor));
+                    break;
+                case 1:
+                    tasks.add(() -> new TokenRefreshGrant(mClient, refreshable).accessToken(executor));
+                    break;
+                case 2:
+                    tasks.add(() -> coalescing.accessToken(executor));
+                    break;
+                default:
+                    String scope = "scope" + i % 16;
+                    tasks.add(() -> new SharedCacheGrant(cache,
+                        new TokenCacheKey("client", URI.create("http://example.com/token"), new BasicScope(scope), "client_credentials"),
+                        new ClientCredentialsGrant(mClient, new BasicScope(scope))).accessToken(executor));
+            }
+        }
+
+        Path recordingFile = Files.createTempFile("pinning", ".jfr");
+        List<RecordedEvent> pinnedEvents;
+        try (Recording recording = new Recording())
+        {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(java.time.Duration.ZERO).withStackTrace();
+            recording.start();
+
+            ExecutorService virtualThreads = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            try
+            {
+                int completed = 0;
+                for (Future<OAuth2AccessToken> result : virtualThreads.invokeAll(tasks))
+                {
+                    assertEquals("2YotnFZFEjr1zCsicMWpAA", result.get().accessToken().toString());
+                    completed += 1;
+                }
+                assertEquals(TASKS, completed);
+            }
+            finally
+            {
+                virtualThreads.shutdown();
+                assertTrue(virtualThreads.awaitTermination(1, TimeUnit.MINUTES));
+            }
+
+            recording.stop();
+            recording.dump(recordingFile);
+            pinnedEvents = new ArrayList<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(recordingFile))
+            {
+                if ("jdk.VirtualThreadPinned".equals(event.getEventType().getName()))
+                {
+                    pinnedEvents.add(event);
+                }
+            }
+        }
+        finally
+        {
+            Files.deleteIfExists(recordingFile);
+        }
+
+        assertTrue(describe(pinnedEvents), pinnedEvents.isEmpty());
+    }
+
+
+    private static String describe(List<RecordedEvent> events)
+    {
+        StringBuilder result = new StringBuilder(events.size() + " pinned virtual threads");
+        for (RecordedEvent event : events.subList(0, Math.min(events.size(), 5)))
+        {
+            result.append("\n--- pinned for ").append(event.getDuration());
+            if (event.getStackTrace() != null)
+            {
+                for (RecordedFrame frame : event.getStackTrace().getFrames())
+                {
+                    result.append("\n    at ").append(frame.getMethod().getType().getName()).append('.').append(frame.getMethod().getName())
+                        .append(':').append(frame.getLineNumber());
+                }
+            }
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.http.decorators;
+
+import net.iharder.Base64;
+import org.dmfs.httpessentials.converters.PlainStringHeaderConverter;
+import org.dmfs.httpessentials.decoration.Decoration;
+import org.dmfs.httpessentials.headers.BasicSingletonHeaderType;
+import org.dmfs.httpessentials.headers.EmptyHeaders;
+import org.dmfs.httpessentials.headers.HeaderType;
+import org.dmfs.httpessentials.headers.Headers;
+import org.dmfs.httpessentials.headers.UpdatedHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.UnsupportedEncodingException;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Compares decorating the headers of a token request with a shared {@link BasicAuthHeaderDecoration} to the previous implementation, which created a
+ * new decoration for every request and encoded the credentials with {@link Base64} every time it decorated the headers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BasicAuthHeaderDecorationBenchmark
+{
+    private final String mClientId = "s6BhdRkqt3";
+    private final String mClientSecret = "7Fjfp0ZBr1KtDRbnfVdmIw";
+    private final BasicAuthHeaderDecoration mDecoration = new BasicAuthHeaderDecoration(mClientId, mClientSecret);
+
+
+    @Benchmark
+    public Headers encodedPerRequest()
+    {
+        // BasicOAuth2ClientCredentials used to create a new decoration for every request
+        return new PreviousBasicAuthHeaderDecoration(mClientId, mClientSecret).decorated(EmptyHeaders.INSTANCE);
+    }
+
+
+    @Benchmark
+    public Headers sharedDecoration()
+    {
+        return mDecoration.decorated(EmptyHeaders.INSTANCE);
+    }
+
+
+    /**
+     * The {@link BasicAuthHeaderDecoration} before it built the header in its constructor, unchanged.
+     */
+    private final static class PreviousBasicAuthHeaderDecoration implements Decoration<Headers>
+    {
+        private final HeaderType<String> AUTHORIZATION_HEADER_TYPE = new BasicSingletonHeaderType<String>("Authorization", new PlainStringHeaderConverter());
+
+        private final String mUsername;
+        private final String mPassword;
+
+
+        private PreviousBasicAuthHeaderDecoration(String username, String password)
+        {
+            if (username == null)
+            {
+                throw new IllegalArgumentException("username must not be null");
+            }
+            if (password == null)
+            {
+                throw new IllegalArgumentException("password must not be null");
+            }
+            mUsername = username;
+            mPassword = password;
+        }
+
+
+        @Override
+        public Headers decorated(Headers original)
+        {
+            String authHeaderValue = "Basic " + Base64.encodeBytes(usernameAndPasswordBytes());
+            return new UpdatedHeaders(original, AUTHORIZATION_HEADER_TYPE.entity(authHeaderValue));
+        }
+
+
+        private byte[] usernameAndPasswordBytes()
+        {
+            try
+            {
+                return String.format("%s:%s", mUsername, mPassword).getBytes("UTF-8");
+            }
+            catch (UnsupportedEncodingException e)
+            {
+                throw new RuntimeException("Charset UTF-8 not supported by runtime!", e);
+            }
+        }
+    }
+}
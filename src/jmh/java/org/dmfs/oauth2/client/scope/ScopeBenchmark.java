@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.dmfs.oauth2.client.scope;
+
+import org.dmfs.oauth2.client.OAuth2Scope;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Compares {@link OAuth2Scope#hasToken(String)} and {@link OAuth2Scope#equals(Object)} of the {@link OAuth2Scope} implementations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScopeBenchmark
+{
+    private final static String[] TOKENS = { "openid", "profile", "email", "address", "phone", "offline_access", "calendar", "contacts" };
+    private final static String[] REVERSED_TOKENS = { "contacts", "calendar", "offline_access", "phone", "address", "email", "profile", "openid" };
+
+    private final OAuth2Scope mBasicScope = new BasicScope(TOKENS);
+    private final OAuth2Scope mOtherBasicScope = new BasicScope(REVERSED_TOKENS);
+    private final OAuth2Scope mStringScope = new StringScope(String.join(" ", TOKENS));
+    private final OAuth2Scope mOtherStringScope = new StringScope(String.join(" ", REVERSED_TOKENS));
+    private final OAuth2Scope mInternedScope = new InternedScope(TOKENS);
+    private final OAuth2Scope mOtherInternedScope = new InternedScope(REVERSED_TOKENS);
+
+
+    @Benchmark
+    public boolean basicHasToken()
+    {
+        return mBasicScope.hasToken("contacts");
+    }
+
+
+    @Benchmark
+    public boolean stringHasToken()
+    {
+        return mStringScope.hasToken("contacts");
+    }
+
+
+    @Benchmark
+    public boolean internedHasToken()
+    {
+        return mInternedScope.hasToken("contacts");
+    }
+
+
+    @Benchmark
+    public boolean basicEquals()
+    {
+        return mBasicScope.equals(mOtherBasicScope);
+    }
+
+
+    @Benchmark
+    public boolean stringEquals()
+    {
+        return mStringScope.equals(mOtherStringScope);
+    }
+
+
+    @Benchmark
+    public boolean internedEquals()
+    {
+        return mInternedScope.equals(mOtherInternedScope);
+    }
+}
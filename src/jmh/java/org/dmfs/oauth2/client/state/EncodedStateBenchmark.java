@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.state;
+
+import net.iharder.Base64;
+
+import org.dmfs.express.json.elementary.JsonText;
+import org.dmfs.oauth2.client.BasicOAuth2AuthorizationProvider;
+import org.dmfs.oauth2.client.BasicOAuth2Client;
+import org.dmfs.oauth2.client.BasicOAuth2ClientCredentials;
+import org.dmfs.oauth2.client.OAuth2Client;
+import org.dmfs.oauth2.client.OAuth2InteractiveGrant;
+import org.dmfs.oauth2.client.grants.AuthorizationCodeGrant;
+import org.dmfs.oauth2.client.scope.BasicScope;
+import org.dmfs.oauth2.client.utils.GrantState;
+import org.dmfs.rfc3986.encoding.Precoded;
+import org.dmfs.rfc3986.uris.LazyUri;
+import org.dmfs.rfc5545.Duration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Compares encoding and decoding the state of an {@link AuthorizationCodeGrant} in the binary format to the legacy JSON format.
+ * <p>
+ * The setup prints the size of both encodings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncodedStateBenchmark
+{
+    private final static String SCOPE = "openid profile email offline_access";
+    // used as state and code verifier
+    private final static String RANDOM_CHARS = "dBjftJeZ4CVP-mB92K27uhbUJU1p1r_wW1gFWFOEjXkQx7Z3nTq0aYc9LsVr2oHb";
+
+    private final OAuth2Client mClient = new BasicOAuth2Client(
+        new BasicOAuth2AuthorizationProvider(URI.create("https://example.com/auth"), URI.create("https://example.com/token"), new Duration(1, 0, 3600)),
+        new BasicOAuth2ClientCredentials("client-id", "client-secret"),
+        new LazyUri(new Precoded("https://app.example.com/callback")),
+        () -> RANDOM_CHARS);
+    private final InteractiveGrantFactory mFactory = new InteractiveGrantFactory(mClient);
+
+    private Class<? extends OAuth2InteractiveGrant.OAuth2InteractiveGrantFactory> mLegacyFactoryClass;
+    private OAuth2InteractiveGrant mGrant;
+    private String mLegacyState;
+    private String mBinaryState;
+
+
+    @SuppressWarnings("unchecked")
+    @Setup
+    public void setup() throws ClassNotFoundException
+    {
+        mLegacyFactoryClass = (Class<? extends OAuth2InteractiveGrant.OAuth2InteractiveGrantFactory>) Class.forName(
+            AuthorizationCodeGrant.class.getName() + "$InitialAuthorizationCodeGrantFactory");
+        mGrant = new AuthorizationCodeGrant(mClient, new BasicScope(SCOPE.split(" ")));
+        mLegacyState = legacyEncode();
+        mBinaryState = binaryEncode();
+        System.out.printf("%nencoded state size: legacy %d chars, binary %d chars%n", mLegacyState.length(), mBinaryState.length());
+    }
+
+
+    @Benchmark
+    public String legacyEncode()
+    {
+        return Base64.encodeBytes(
+            new JsonText(new GrantState(mLegacyFactoryClass, SCOPE, RANDOM_CHARS, RANDOM_CHARS, ""))
+                .value()
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+
+    @Benchmark
+    public String binaryEncode()
+    {
+        return mGrant.encodedState();
+    }
+
+
+    @Benchmark
+    public OAuth2InteractiveGrant legacyDecode()
+    {
+        return mFactory.value(mLegacyState);
+    }
+
+
+    @Benchmark
+    public OAuth2InteractiveGrant binaryDecode()
+    {
+        return mFactory.value(mBinaryState);
+    }
+}
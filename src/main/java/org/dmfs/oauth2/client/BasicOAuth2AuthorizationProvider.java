@@ -16,28 +16,49 @@
 
 package org.dmfs.oauth2.client;
 
+import org.dmfs.httpessentials.HttpMethod;
 import org.dmfs.httpessentials.client.HttpRequest;
+import org.dmfs.httpessentials.client.HttpRequestEntity;
 import org.dmfs.httpessentials.client.HttpRequestExecutor;
+import org.dmfs.httpessentials.client.HttpResponse;
+import org.dmfs.httpessentials.client.HttpResponseHandler;
+import org.dmfs.httpessentials.converters.PlainStringHeaderConverter;
 import org.dmfs.httpessentials.exceptions.ProtocolError;
 import org.dmfs.httpessentials.exceptions.ProtocolException;
 import org.dmfs.httpessentials.exceptions.RedirectionException;
 import org.dmfs.httpessentials.exceptions.UnexpectedStatusException;
+import org.dmfs.httpessentials.headers.BasicSingletonHeaderType;
+import org.dmfs.httpessentials.headers.Headers;
+import org.dmfs.oauth2.client.async.AsyncHttpRequestExecutor;
+import org.dmfs.oauth2.client.tokens.AnchoredAccessToken;
 import org.dmfs.rfc5545.Duration;
 
 import java.io.IOException;
 import java.net.URI;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicReference;
 
 
 /**
  * Basic implementation of an OAuth2 authorization provider.
+ * <p>
+ * The expiration time of the returned tokens is anchored to the time the token request has been sent (see {@link AnchoredAccessToken}), so queueing and
+ * network delays don't make a token outlive its validity on the server. The round trip time and the clock skew of the token requests are measured and
+ * available via {@link #timings()}.
  *
  * @author Marten Gajda
  */
 public final class BasicOAuth2AuthorizationProvider implements OAuth2AuthorizationProvider
 {
+    private final static BasicSingletonHeaderType<String> DATE_HEADER = new BasicSingletonHeaderType<>("Date", new PlainStringHeaderConverter());
+
     private final URI mAuthorizationEndpoint;
     private final URI mTokenEndpoint;
     private final Duration mDefaultTokenTtl;
+    private final TokenEndpointTimings mTimings = new TokenEndpointTimings();
 
 
     public BasicOAuth2AuthorizationProvider(URI authorizationEndpoint, URI tokenEndpoint, Duration defaultTokenTtl)
@@ -52,7 +73,23 @@ public final class BasicOAuth2AuthorizationProvider implements OAuth2Authorizati
     public OAuth2AccessToken accessToken(HttpRequest<OAuth2AccessToken> tokenRequest, HttpRequestExecutor executor) throws RedirectionException,
         UnexpectedStatusException, IOException, ProtocolError, ProtocolException
     {
-        return executor.execute(mTokenEndpoint, tokenRequest);
+        return executor.execute(mTokenEndpoint, new TimedRequest(tokenRequest, mTimings));
+    }
+
+
+    @Override
+    public CompletionStage<OAuth2AccessToken> accessTokenAsync(HttpRequest<OAuth2AccessToken> tokenRequest, AsyncHttpRequestExecutor executor)
+    {
+        return executor.execute(mTokenEndpoint, new TimedRequest(tokenRequest, mTimings));
+    }
+
+
+    /**
+     * Returns the {@link TokenEndpointTimings} of the token requests of this provider.
+     */
+    public TokenEndpointTimings timings()
+    {
+        return mTimings;
     }
 
 
@@ -68,4 +105,121 @@ public final class BasicOAuth2AuthorizationProvider implements OAuth2Authorizati
     {
         return mDefaultTokenTtl;
     }
+
+
+    /**
+     * Returns the difference between the local clock and the server clock, using the {@code Date} header of the response, or {@code null} if there is no
+     * valid {@code Date} header.
+     */
+    private static Long clockSkew(long sendMillis, long responseMillis, HttpResponse response)
+    {
+        if (!response.headers().contains(DATE_HEADER))
+        {
+            return null;
+        }
+        try
+        {
+            long serverMillis = ZonedDateTime.parse(response.headers().header(DATE_HEADER).value(), DateTimeFormatter.RFC_1123_DATE_TIME)
+                .toInstant()
+                .toEpochMilli();
+            // the response has been created somewhere between sending the request and receiving the response, the Date header is truncated to seconds
+            return (sendMillis + responseMillis) / 2 - (serverMillis + 500);
+        }
+        catch (DateTimeParseException e)
+        {
+            return null;
+        }
+    }
+
+
+    /**
+     * An {@link HttpRequest} decorator that records the timings of a token request and anchors the resulting token to the time the request has been sent.
+     * <p>
+     * Doing this in the response handler makes it work with blocking and non-blocking executors alike. The request counts as sent when the executor
+     * first accesses it, so time spent in a queue of the executor doesn't count as round trip time. Instances must only be used for a single request.
+     * <p>
+     * Non-blocking executors may access the request and handle the response on different threads, so the send time is published atomically as a whole.
+     */
+    private final static class TimedRequest implements HttpRequest<OAuth2AccessToken>
+    {
+        private final HttpRequest<OAuth2AccessToken> mDelegate;
+        private final TokenEndpointTimings mTimings;
+        private final SendTime mCreated;
+        private final AtomicReference<SendTime> mSendTime;
+
+
+        private TimedRequest(HttpRequest<OAuth2AccessToken> delegate, TokenEndpointTimings timings)
+        {
+            mDelegate = delegate;
+            mTimings = timings;
+            // in case the executor doesn't access the request before it responds
+            mCreated = new SendTime();
+            mSendTime = new AtomicReference<>(mCreated);
+        }
+
+
+        @Override
+        public HttpMethod method()
+        {
+            sending();
+            return mDelegate.method();
+        }
+
+
+        @Override
+        public Headers headers()
+        {
+            sending();
+            return mDelegate.headers();
+        }
+
+
+        @Override
+        public HttpRequestEntity requestEntity()
+        {
+            sending();
+            return mDelegate.requestEntity();
+        }
+
+
+        @Override
+        public HttpResponseHandler<OAuth2AccessToken> responseHandler(HttpResponse response) throws IOException, ProtocolError, ProtocolException
+        {
+            SendTime sendTime = mSendTime.get();
+            long sendNanos = sendTime.mNanos;
+            long responseNanos = System.nanoTime();
+            mTimings.record(responseNanos - sendNanos, clockSkew(sendTime.mMillis, System.currentTimeMillis(), response));
+            HttpResponseHandler<OAuth2AccessToken> delegate = mDelegate.responseHandler(response);
+            return handledResponse -> {
+                OAuth2AccessToken token = delegate.handleResponse(handledResponse);
+                return new AnchoredAccessToken(token, System.nanoTime() - sendNanos);
+            };
+        }
+
+
+        private void sending()
+        {
+            if (mSendTime.get() == mCreated)
+            {
+                mSendTime.compareAndSet(mCreated, new SendTime());
+            }
+        }
+    }
+
+
+    /**
+     * The time a request has been sent at, in terms of {@link System#nanoTime()} and the wall clock.
+     */
+    private final static class SendTime
+    {
+        private final long mNanos;
+        private final long mMillis;
+
+
+        private SendTime()
+        {
+            mNanos = System.nanoTime();
+            mMillis = System.currentTimeMillis();
+        }
+    }
 }
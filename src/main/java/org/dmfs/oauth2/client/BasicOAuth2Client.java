@@ -18,13 +18,21 @@ package org.dmfs.oauth2.client;
 
 import org.dmfs.httpessentials.client.HttpRequest;
 import org.dmfs.httpessentials.client.HttpRequestExecutor;
+import org.dmfs.httpessentials.decoration.Decoration;
+import org.dmfs.httpessentials.decoration.HeaderDecorated;
 import org.dmfs.httpessentials.exceptions.ProtocolError;
 import org.dmfs.httpessentials.exceptions.ProtocolException;
 import org.dmfs.httpessentials.exceptions.RedirectionException;
 import org.dmfs.httpessentials.exceptions.UnexpectedStatusException;
 import org.dmfs.httpessentials.executors.useragent.Branded;
+import org.dmfs.httpessentials.headers.Headers;
+import org.dmfs.httpessentials.headers.HttpHeaders;
 import org.dmfs.httpessentials.types.Product;
+import org.dmfs.httpessentials.types.SingletonUserAgent;
 import org.dmfs.httpessentials.types.VersionedProduct;
+import org.dmfs.jems.generator.Generator;
+import org.dmfs.oauth2.client.async.AsyncHttpRequestExecutor;
+import org.dmfs.oauth2.client.random.SecureRandomChars;
 import org.dmfs.rfc3986.Uri;
 import org.dmfs.rfc3986.encoding.Precoded;
 import org.dmfs.rfc3986.uris.LazyUri;
@@ -32,7 +40,7 @@ import org.dmfs.rfc5545.Duration;
 
 import java.io.IOException;
 import java.net.URI;
-import java.security.SecureRandom;
+import java.util.concurrent.CompletionStage;
 
 
 /**
@@ -42,12 +50,17 @@ import java.security.SecureRandom;
  */
 public final class BasicOAuth2Client implements OAuth2Client
 {
-    private final static String STATE_CHARS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789_-";
     private final static Product PRODUCT = new VersionedProduct(BuildConfig.NAME, BuildConfig.VERSION);
+    /**
+     * Adds {@link #PRODUCT} to the User-Agent header, like {@link Branded} does for blocking executors.
+     */
+    private final static Decoration<Headers> USER_AGENT_DECORATION = headers -> headers.withHeader(HttpHeaders.USER_AGENT.entity(
+        headers.contains(HttpHeaders.USER_AGENT) ? headers.header(HttpHeaders.USER_AGENT).value().withProduct(PRODUCT) : new SingletonUserAgent(PRODUCT)));
 
     private final OAuth2AuthorizationProvider mProvider;
     private final OAuth2ClientCredentials mCredentials;
     private final Uri mRedirectUri;
+    private final Generator<CharSequence> mRandomChars;
 
 
     public BasicOAuth2Client(OAuth2AuthorizationProvider provider, OAuth2ClientCredentials credentials, URI redirectUri)
@@ -57,10 +70,27 @@ public final class BasicOAuth2Client implements OAuth2Client
 
 
     public BasicOAuth2Client(OAuth2AuthorizationProvider provider, OAuth2ClientCredentials credentials, Uri redirectUri)
+    {
+        this(provider, credentials, redirectUri, SecureRandomChars.INSTANCE);
+    }
+
+
+    /**
+     * Creates a {@link BasicOAuth2Client} that takes the results of {@link #randomChars()} from the given {@link Generator}.
+     * <p>
+     * Note: the results are used as states and PKCE code verifiers, so the {@link Generator} must return unpredictable values with a sufficient amount of
+     * entropy.
+     *
+     * @param randomChars
+     *     A {@link Generator} of random {@link CharSequence}s.
+     */
+    public BasicOAuth2Client(OAuth2AuthorizationProvider provider, OAuth2ClientCredentials credentials, Uri redirectUri,
+                             Generator<CharSequence> randomChars)
     {
         mProvider = provider;
         mCredentials = credentials;
         mRedirectUri = redirectUri;
+        mRandomChars = randomChars;
     }
 
 
@@ -72,6 +102,13 @@ public final class BasicOAuth2Client implements OAuth2Client
     }
 
 
+    @Override
+    public CompletionStage<OAuth2AccessToken> accessTokenAsync(HttpRequest<OAuth2AccessToken> tokenRequest, AsyncHttpRequestExecutor executor)
+    {
+        return mProvider.accessTokenAsync(new HeaderDecorated<>(mCredentials.authenticatedRequest(tokenRequest), USER_AGENT_DECORATION), executor);
+    }
+
+
     @Override
     public URI authorizationUrl(OAuth2AuthorizationRequest authorizationRequest)
     {
@@ -96,17 +133,12 @@ public final class BasicOAuth2Client implements OAuth2Client
     /**
      * {@inheritDoc}
      * <p>
-     * Note: Client on platforms with insecure {@link SecureRandom} implementations should decorate this implementation and return a secure random string.
+     * By default the result is taken from {@link SecureRandomChars#INSTANCE}. Clients on platforms with insecure {@link java.security.SecureRandom}
+     * implementations should provide a secure {@link Generator}.
      */
     @Override
     public CharSequence randomChars()
     {
-        StringBuilder result = new StringBuilder(64);
-        SecureRandom random = new SecureRandom();
-        for (int i = 0, count = result.capacity(); i < count; ++i)
-        {
-            result.append(STATE_CHARS.charAt(random.nextInt(STATE_CHARS.length())));
-        }
-        return result.toString();
+        return mRandomChars.next();
     }
 }
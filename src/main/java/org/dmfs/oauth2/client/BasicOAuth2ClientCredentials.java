@@ -30,19 +30,22 @@ public final class BasicOAuth2ClientCredentials implements OAuth2ClientCredentia
 {
     private final String mClientId;
     private final String mClientSecret;
+    private final BasicAuthHeaderDecoration mAuthDecoration;
 
 
     public BasicOAuth2ClientCredentials(String clientId, String clientSecret)
     {
         mClientId = clientId;
         mClientSecret = clientSecret;
+        // null credentials are only rejected when a request is authenticated
+        mAuthDecoration = clientId == null || clientSecret == null ? null : new BasicAuthHeaderDecoration(clientId, clientSecret);
     }
 
 
     @Override
     public <T> HttpRequest<T> authenticatedRequest(HttpRequest<T> request)
     {
-        return new HeaderDecorated<>(request, new BasicAuthHeaderDecoration(mClientId, mClientSecret));
+        return new HeaderDecorated<>(request, mAuthDecoration == null ? new BasicAuthHeaderDecoration(mClientId, mClientSecret) : mAuthDecoration);
     }
 
 
@@ -21,6 +21,7 @@ import org.dmfs.jems.optional.Optional;
 import org.dmfs.rfc5545.DateTime;
 
 import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
 
 
 /**
@@ -58,6 +59,38 @@ public interface OAuth2AccessToken
      */
     public DateTime expirationDate() throws ProtocolException;
 
+    /**
+     * Returns the expected expiration time of the access token in terms of {@link System#nanoTime()}.
+     * <p>
+     * Unlike {@link #expirationDate()}, this is not affected by changes of the wall clock, and implementations should return it without allocating
+     * anything. Values must only be compared with other {@link System#nanoTime()} values of the same JVM, by subtraction, see {@link #isExpired(long, long)}.
+     * <p>
+     * The default implementation derives the value from {@link #expirationDate()} and the current wall clock time.
+     *
+     * @throws ProtocolException
+     *     If the expiration time is not known.
+     */
+    public default long expiresAtNanos() throws ProtocolException
+    {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(expirationDate().getTimestamp() - System.currentTimeMillis());
+    }
+
+    /**
+     * Returns whether the access token has expired or expires within the given margin.
+     *
+     * @param nowNanos
+     *     The current {@link System#nanoTime()}.
+     * @param marginNanos
+     *     The safety margin to keep to the expiration time in nanoseconds.
+     *
+     * @throws ProtocolException
+     *     If the expiration time is not known.
+     */
+    public default boolean isExpired(long nowNanos, long marginNanos) throws ProtocolException
+    {
+        return nowNanos - (expiresAtNanos() - marginNanos) >= 0;
+    }
+
     /**
      * The scope this {@link OAuth2AccessToken} was issued for. May be an empty scope if the scope is not known.
      *
@@ -22,10 +22,12 @@ import org.dmfs.httpessentials.exceptions.ProtocolError;
 import org.dmfs.httpessentials.exceptions.ProtocolException;
 import org.dmfs.httpessentials.exceptions.RedirectionException;
 import org.dmfs.httpessentials.exceptions.UnexpectedStatusException;
+import org.dmfs.oauth2.client.async.AsyncHttpRequestExecutor;
 import org.dmfs.rfc5545.Duration;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.concurrent.CompletionStage;
 
 
 /**
@@ -49,6 +51,18 @@ public interface OAuth2AuthorizationProvider
     public OAuth2AccessToken accessToken(HttpRequest<OAuth2AccessToken> tokenRequest, HttpRequestExecutor executor) throws RedirectionException,
         UnexpectedStatusException, IOException, ProtocolError, ProtocolException;
 
+    /**
+     * Sends the given {@link HttpRequest} for this provider without blocking the calling thread.
+     *
+     * @param tokenRequest
+     *     The {@link HttpRequest} to execute.
+     * @param executor
+     *     An {@link AsyncHttpRequestExecutor} to execute the request.
+     *
+     * @return A {@link CompletionStage} of the {@link OAuth2AccessToken}.
+     */
+    public CompletionStage<OAuth2AccessToken> accessTokenAsync(HttpRequest<OAuth2AccessToken> tokenRequest, AsyncHttpRequestExecutor executor);
+
     /**
      * Constructs the initial authorization URL for the given {@link OAuth2AuthorizationRequest}.
      *
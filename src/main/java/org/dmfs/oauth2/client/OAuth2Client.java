@@ -22,11 +22,13 @@ import org.dmfs.httpessentials.exceptions.ProtocolError;
 import org.dmfs.httpessentials.exceptions.ProtocolException;
 import org.dmfs.httpessentials.exceptions.RedirectionException;
 import org.dmfs.httpessentials.exceptions.UnexpectedStatusException;
+import org.dmfs.oauth2.client.async.AsyncHttpRequestExecutor;
 import org.dmfs.rfc3986.Uri;
 import org.dmfs.rfc5545.Duration;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.concurrent.CompletionStage;
 
 
 /**
@@ -50,6 +52,19 @@ public interface OAuth2Client
     OAuth2AccessToken accessToken(HttpRequest<OAuth2AccessToken> tokenRequest, HttpRequestExecutor executor) throws RedirectionException,
         UnexpectedStatusException, IOException, ProtocolError, ProtocolException;
 
+    /**
+     * Sends the given {@link HttpRequest} without blocking the calling thread.
+     *
+     * @param tokenRequest
+     *     An {@link HttpRequest} to execute.
+     * @param executor
+     *     An {@link AsyncHttpRequestExecutor} to execute the request.
+     *
+     * @return A {@link CompletionStage} of the {@link OAuth2AccessToken}. In case of an error it completes exceptionally with the same exception
+     *     {@link #accessToken(HttpRequest, HttpRequestExecutor)} would throw.
+     */
+    CompletionStage<OAuth2AccessToken> accessTokenAsync(HttpRequest<OAuth2AccessToken> tokenRequest, AsyncHttpRequestExecutor executor);
+
     /**
      * Constructs the initial URL for an interactive authorization grant.
      *
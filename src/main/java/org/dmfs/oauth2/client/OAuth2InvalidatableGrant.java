@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client;
+
+/**
+ * An {@link OAuth2Grant} that keeps returning the same token until it expires, like a caching grant, and which allows to discard a token that has been
+ * rejected before that.
+ */
+public interface OAuth2InvalidatableGrant extends OAuth2Grant
+{
+    /**
+     * Discards the given {@link OAuth2AccessToken}, so the next call to {@link #accessToken(org.dmfs.httpessentials.client.HttpRequestExecutor)} returns
+     * another one.
+     * <p>
+     * This does nothing if the given token is no longer the current one. So when many callers find the same token rejected at the same time, only one new
+     * token is requested.
+     *
+     * @param token
+     *     The {@link OAuth2AccessToken} to discard, as returned by this grant.
+     */
+    void invalidate(OAuth2AccessToken token);
+}
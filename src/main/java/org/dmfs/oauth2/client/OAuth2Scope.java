@@ -18,6 +18,13 @@ package org.dmfs.oauth2.client;
 
 /**
  * Represents an OAuth2 scope.
+ * <p>
+ * A scope is a set of scope tokens, so neither the order of the tokens nor duplicate tokens matter. Two scopes are equal if they contain the same
+ * distinct tokens. To make scopes usable as keys of hash based collections, regardless of their implementation, the hash code of a scope is defined as
+ * the sum of the {@link String#hashCode()} values of its distinct tokens, like in {@link java.util.Set#hashCode()}. The hash code of an empty scope is
+ * {@code 0}.
+ * <p>
+ * Use {@link org.dmfs.oauth2.client.scope.CanonicalScope} to get a canonical string of a scope.
  *
  * @author Marten Gajda
  */
@@ -54,4 +61,16 @@ public interface OAuth2Scope
      * @return A String containing a list scope tokens, separated by spaces, or an empty String if {@link #isEmpty()} returns <code>true</code>.
      */
     String toString();
+
+    /**
+     * Returns whether the given object is an {@link OAuth2Scope} with the same distinct tokens, in any order.
+     */
+    @Override
+    boolean equals(Object obj);
+
+    /**
+     * Returns the sum of the {@link String#hashCode()} values of the distinct tokens in this scope.
+     */
+    @Override
+    int hashCode();
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+
+/**
+ * The round trip time and the clock skew measured on the token requests to a token endpoint.
+ * <p>
+ * Both values are exponentially weighted moving averages, so recent requests weigh more than older ones. The clock skew is measured using the {@code Date}
+ * header of the responses. It's the difference between the local clock and the clock of the server, positive if the local clock is ahead. Since the {@code
+ * Date} header has a resolution of one second, single measurements are rather coarse.
+ * <p>
+ * These values can be used to adapt refresh margins, e.g. to use a larger margin for a slow token endpoint. Reading and recording values doesn't lock.
+ */
+public final class TokenEndpointTimings
+{
+    private final static double WEIGHT = 0.2;
+
+    private final AtomicReference<Averages> mAverages = new AtomicReference<>(new Averages(0, 0, 0, 0));
+
+
+    /**
+     * Returns the average round trip time of the token requests in nanoseconds or {@code 0} if no request has been measured yet.
+     */
+    public long roundTripNanos()
+    {
+        return (long) mAverages.get().mRoundTripNanos;
+    }
+
+
+    /**
+     * Returns the average difference between the local clock and the clock of the server in milliseconds or {@code 0} if it's unknown. The value is
+     * positive if the local clock is ahead of the server clock.
+     */
+    public long clockSkewMillis()
+    {
+        return (long) mAverages.get().mClockSkewMillis;
+    }
+
+
+    /**
+     * Returns the number of token requests that have been measured.
+     */
+    public long requests()
+    {
+        return mAverages.get().mRequests;
+    }
+
+
+    /**
+     * Records the timing of a token request.
+     *
+     * @param roundTripNanos
+     *     The time between sending the request and receiving the response in nanoseconds.
+     * @param clockSkewMillis
+     *     The measured clock skew in milliseconds or {@code null} if the response had no valid {@code Date} header.
+     */
+    void record(long roundTripNanos, Long clockSkewMillis)
+    {
+        mAverages.updateAndGet(averages -> averages.with(roundTripNanos, clockSkewMillis));
+    }
+
+
+    @Override
+    public String toString()
+    {
+        Averages averages = mAverages.get();
+        return String.format("TokenEndpointTimings{requests=%d, roundTripNanos=%d, clockSkewMillis=%d}",
+            averages.mRequests, (long) averages.mRoundTripNanos, (long) averages.mClockSkewMillis);
+    }
+
+
+    /**
+     * An immutable set of averages. Instances are replaced as a whole, so readers always see a consistent set of values.
+     */
+    private final static class Averages
+    {
+        private final long mRequests;
+        private final double mRoundTripNanos;
+        private final long mClockSkewSamples;
+        private final double mClockSkewMillis;
+
+
+        private Averages(long requests, double roundTripNanos, long clockSkewSamples, double clockSkewMillis)
+        {
+            mRequests = requests;
+            mRoundTripNanos = roundTripNanos;
+            mClockSkewSamples = clockSkewSamples;
+            mClockSkewMillis = clockSkewMillis;
+        }
+
+
+        private Averages with(long roundTripNanos, Long clockSkewMillis)
+        {
+            double roundTrip = average(mRequests, mRoundTripNanos, roundTripNanos);
+            if (clockSkewMillis == null)
+            {
+                return new Averages(mRequests + 1, roundTrip, mClockSkewSamples, mClockSkewMillis);
+            }
+            return new Averages(mRequests + 1, roundTrip, mClockSkewSamples + 1, average(mClockSkewSamples, mClockSkewMillis, clockSkewMillis));
+        }
+
+
+        private static double average(long samples, double average, long value)
+        {
+            return samples == 0 ? value : average + WEIGHT * (value - average);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.async;
+
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+import org.dmfs.oauth2.client.OAuth2Grant;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+
+/**
+ * An {@link AsyncOAuth2Grant} adapter for an {@link OAuth2Grant}.
+ * <p>
+ * All grants of this library, including the {@link org.dmfs.oauth2.client.grants.CachingGrant}, the {@link org.dmfs.oauth2.client.grants.CoalescingGrant}
+ * and the {@link org.dmfs.oauth2.client.grants.SharedCacheGrant}, implement {@link AsyncOAuth2Grant} as well, so the token request is sent by the given
+ * {@link AsyncHttpRequestExecutor} and the calling thread never waits for the token endpoint. The token request is sent via
+ * {@link org.dmfs.oauth2.client.OAuth2Client#accessTokenAsync(org.dmfs.httpessentials.client.HttpRequest, AsyncHttpRequestExecutor)}.
+ * <p>
+ * Grants that don't implement {@link AsyncOAuth2Grant} are not supported, the result fails with an {@link UnsupportedOperationException}.
+ * <pre>{@code
+ * AsyncOAuth2Grant grant = new AsyncGrant(new ClientCredentialsGrant(client, scope));
+ * grant.accessToken(asyncExecutor).thenAccept(token -> ...);
+ * }</pre>
+ */
+public final class AsyncGrant implements AsyncOAuth2Grant
+{
+    private final OAuth2Grant mDelegate;
+
+
+    public AsyncGrant(OAuth2Grant delegate)
+    {
+        mDelegate = delegate;
+    }
+
+
+    @Override
+    public CompletionStage<OAuth2AccessToken> accessToken(AsyncHttpRequestExecutor executor)
+    {
+        try
+        {
+            if (mDelegate instanceof AsyncOAuth2Grant)
+            {
+                return ((AsyncOAuth2Grant) mDelegate).accessToken(executor);
+            }
+            throw new UnsupportedOperationException(mDelegate.getClass().getName() + " doesn't support non-blocking token requests");
+        }
+        catch (RuntimeException e)
+        {
+            CompletableFuture<OAuth2AccessToken> result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+            return result;
+        }
+    }
+}
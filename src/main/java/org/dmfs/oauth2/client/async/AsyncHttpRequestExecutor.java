@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.async;
+
+import org.dmfs.httpessentials.client.HttpRequest;
+
+import java.net.URI;
+import java.util.concurrent.CompletionStage;
+
+
+/**
+ * The non-blocking counterpart of an {@link org.dmfs.httpessentials.client.HttpRequestExecutor}.
+ * <p>
+ * Implementations send the given {@link HttpRequest} without blocking the calling thread and complete the returned {@link CompletionStage} with the
+ * result of the response handler of the request, or with the exception that prevented it.
+ */
+public interface AsyncHttpRequestExecutor
+{
+    /**
+     * Executes the given {@link HttpRequest}.
+     *
+     * @param uri
+     *     The target {@link URI}.
+     * @param request
+     *     The {@link HttpRequest} to execute.
+     * @param <T>
+     *     The type of the result of the request.
+     *
+     * @return A {@link CompletionStage} of the result of the request.
+     */
+    <T> CompletionStage<T> execute(URI uri, HttpRequest<T> request);
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.async;
+
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+
+import java.util.concurrent.CompletionStage;
+
+
+/**
+ * The non-blocking counterpart of an {@link org.dmfs.oauth2.client.OAuth2Grant}.
+ */
+public interface AsyncOAuth2Grant
+{
+    /**
+     * Requests an {@link OAuth2AccessToken} without blocking the calling thread.
+     *
+     * @param executor
+     *     The {@link AsyncHttpRequestExecutor} to use for the token request.
+     *
+     * @return A {@link CompletionStage} of the {@link OAuth2AccessToken}. In case of an error it completes exceptionally with the same exception {@link
+     *     org.dmfs.oauth2.client.OAuth2Grant#accessToken(org.dmfs.httpessentials.client.HttpRequestExecutor)} would throw.
+     */
+    CompletionStage<OAuth2AccessToken> accessToken(AsyncHttpRequestExecutor executor);
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.async;
+
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+import org.dmfs.oauth2.client.OAuth2Grant;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
+
+/**
+ * Requests the tokens of many {@link OAuth2Grant}s at once, like the {@link org.dmfs.oauth2.client.grants.ClientCredentialsGrant}s of all tenants of a
+ * service at startup.
+ * <p>
+ * All token requests are sent concurrently, but no more than the given number at a time, in total and per server (see {@link ThrottlingExecutor}). The
+ * limits apply to all calls of the same instance. The result of each grant is available as soon as its token request has finished.
+ * <pre>{@code
+ * BulkAccessTokens bulk = new BulkAccessTokens(asyncExecutor, 200, 20);
+ * bulk.accessTokens(grantsByTenant).forEach((tenant, token) -> token.whenComplete(...));
+ * }</pre>
+ */
+public final class BulkAccessTokens
+{
+    private final AsyncHttpRequestExecutor mExecutor;
+
+
+    /**
+     * Creates a {@link BulkAccessTokens} instance.
+     *
+     * @param executor
+     *     The {@link AsyncHttpRequestExecutor} to send the token requests with. A blocking executor can be used with an {@link OffloadingExecutor}.
+     * @param maxConcurrentRequests
+     *     The maximum number of token requests in flight.
+     * @param maxConcurrentRequestsPerServer
+     *     The maximum number of token requests in flight to the same server.
+     */
+    public BulkAccessTokens(AsyncHttpRequestExecutor executor, int maxConcurrentRequests, int maxConcurrentRequestsPerServer)
+    {
+        mExecutor = new ThrottlingExecutor(executor, maxConcurrentRequests, maxConcurrentRequestsPerServer);
+    }
+
+
+    /**
+     * Requests the tokens of the given {@link OAuth2Grant}s. This doesn't block.
+     *
+     * @param grants
+     *     The {@link OAuth2Grant}s by an arbitrary key, e.g. the tenant id.
+     * @param <K>
+     *     The type of the keys.
+     *
+     * @return The {@link CompletionStage}s of the tokens by the keys of their grants, in the iteration order of the given {@link Map}. Each completes
+     * with the token or with the error of its grant, independently of the others.
+     */
+    public <K> Map<K, CompletionStage<OAuth2AccessToken>> accessTokens(Map<K, ? extends OAuth2Grant> grants)
+    {
+        Map<K, CompletionStage<OAuth2AccessToken>> result = new LinkedHashMap<>((int) (grants.size() / 0.75f) + 1);
+        for (Map.Entry<K, ? extends OAuth2Grant> grant : grants.entrySet())
+        {
+            result.put(grant.getKey(), new AsyncGrant(grant.getValue()).accessToken(mExecutor));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.async;
+
+import org.dmfs.httpessentials.client.HttpRequest;
+import org.dmfs.httpessentials.client.HttpRequestExecutor;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+
+/**
+ * An {@link AsyncHttpRequestExecutor} that runs a blocking {@link HttpRequestExecutor} on the given {@link Executor}.
+ * <p>
+ * This allows using any existing {@link HttpRequestExecutor} from an event loop. The blocking calls still occupy threads of the given {@link Executor},
+ * so it should be a dedicated pool and not the event loop itself.
+ */
+public final class OffloadingExecutor implements AsyncHttpRequestExecutor
+{
+    private final HttpRequestExecutor mDelegate;
+    private final Executor mExecutor;
+
+
+    /**
+     * Creates an {@link OffloadingExecutor}.
+     *
+     * @param delegate
+     *     The blocking {@link HttpRequestExecutor} that executes the requests.
+     * @param executor
+     *     The {@link Executor} to run the blocking calls on.
+     */
+    public OffloadingExecutor(HttpRequestExecutor delegate, Executor executor)
+    {
+        mDelegate = delegate;
+        mExecutor = executor;
+    }
+
+
+    @Override
+    public <T> CompletionStage<T> execute(URI uri, HttpRequest<T> request)
+    {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try
+        {
+            mExecutor.execute(() -> {
+                try
+                {
+                    result.complete(mDelegate.execute(uri, request));
+                }
+                catch (Exception e)
+                {
+                    result.completeExceptionally(e);
+                }
+            });
+        }
+        catch (RuntimeException e)
+        {
+            // the executor rejected the task
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+}
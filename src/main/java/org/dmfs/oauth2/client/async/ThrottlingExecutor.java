@@ -0,0 +1,228 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.async;
+
+import org.dmfs.httpessentials.client.HttpRequest;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ * An {@link AsyncHttpRequestExecutor} decorator that limits the number of concurrent requests, in total and per server.
+ * <p>
+ * A server is identified by the scheme and authority of the request {@link URI}, so the token endpoints of different tenants on the same server share
+ * the same limit. Requests beyond the limits are queued without blocking the caller. Queued requests of the same server are sent in the order they were
+ * submitted, while servers take turns.
+ */
+public final class ThrottlingExecutor implements AsyncHttpRequestExecutor
+{
+    private final AsyncHttpRequestExecutor mDelegate;
+    private final int mMaxConcurrentRequests;
+    private final int mMaxConcurrentRequestsPerServer;
+    private final ReentrantLock mLock = new ReentrantLock();
+    private final AtomicInteger mDrainRequests = new AtomicInteger();
+
+    // guarded by mLock
+    private final Map<String, Server> mServers = new HashMap<>();
+    // guarded by mLock, servers with queued requests and a free slot
+    private final Queue<Server> mReadyServers = new ArrayDeque<>();
+    // guarded by mLock
+    private int mInFlight;
+
+
+    /**
+     * Creates a {@link ThrottlingExecutor}.
+     *
+     * @param delegate
+     *     The {@link AsyncHttpRequestExecutor} that sends the requests.
+     * @param maxConcurrentRequests
+     *     The maximum number of requests in flight.
+     * @param maxConcurrentRequestsPerServer
+     *     The maximum number of requests in flight to the same server.
+     */
+    public ThrottlingExecutor(AsyncHttpRequestExecutor delegate, int maxConcurrentRequests, int maxConcurrentRequestsPerServer)
+    {
+        if (maxConcurrentRequests < 1 || maxConcurrentRequestsPerServer < 1)
+        {
+            throw new IllegalArgumentException(
+                String.format("Concurrency limits must be positive, got %d and %d", maxConcurrentRequests, maxConcurrentRequestsPerServer));
+        }
+        mDelegate = delegate;
+        mMaxConcurrentRequests = maxConcurrentRequests;
+        mMaxConcurrentRequestsPerServer = maxConcurrentRequestsPerServer;
+    }
+
+
+    @Override
+    public <T> CompletionStage<T> execute(URI uri, HttpRequest<T> request)
+    {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        String serverKey = uri.getScheme() + "://" + uri.getRawAuthority();
+        mLock.lock();
+        try
+        {
+            Server server = mServers.computeIfAbsent(serverKey, Server::new);
+            server.mQueue.add(() -> send(server, uri, request, result));
+            markReady(server);
+        }
+        finally
+        {
+            mLock.unlock();
+        }
+        drain();
+        return result;
+    }
+
+
+    private <T> void send(Server server, URI uri, HttpRequest<T> request, CompletableFuture<T> result)
+    {
+        CompletionStage<T> response;
+        try
+        {
+            response = mDelegate.execute(uri, request);
+        }
+        catch (RuntimeException e)
+        {
+            release(server);
+            result.completeExceptionally(e);
+            return;
+        }
+        response.whenComplete((value, error) -> {
+            release(server);
+            if (error == null)
+            {
+                result.complete(value);
+            }
+            else
+            {
+                result.completeExceptionally(error);
+            }
+        });
+    }
+
+
+    private void release(Server server)
+    {
+        mLock.lock();
+        try
+        {
+            mInFlight -= 1;
+            server.mInFlight -= 1;
+            markReady(server);
+            if (server.mInFlight == 0 && server.mQueue.isEmpty())
+            {
+                mServers.remove(server.mKey);
+            }
+        }
+        finally
+        {
+            mLock.unlock();
+        }
+        drain();
+    }
+
+
+    /**
+     * Sends queued requests as long as the limits allow.
+     * <p>
+     * Only one thread drains at a time. Other threads just leave a note for it. This way requests that complete right away don't recurse into this method.
+     */
+    private void drain()
+    {
+        if (mDrainRequests.getAndIncrement() != 0)
+        {
+            return;
+        }
+        int missed = 1;
+        do
+        {
+            Runnable next;
+            while ((next = next()) != null)
+            {
+                next.run();
+            }
+            missed = mDrainRequests.addAndGet(-missed);
+        }
+        while (missed != 0);
+    }
+
+
+    private Runnable next()
+    {
+        mLock.lock();
+        try
+        {
+            if (mInFlight >= mMaxConcurrentRequests)
+            {
+                return null;
+            }
+            Server server = mReadyServers.poll();
+            if (server == null)
+            {
+                return null;
+            }
+            server.mReady = false;
+            mInFlight += 1;
+            server.mInFlight += 1;
+            Runnable result = server.mQueue.remove();
+            // requeue at the tail, so other servers get their turn
+            markReady(server);
+            return result;
+        }
+        finally
+        {
+            mLock.unlock();
+        }
+    }
+
+
+    // must be called with mLock held
+    private void markReady(Server server)
+    {
+        if (!server.mReady && !server.mQueue.isEmpty() && server.mInFlight < mMaxConcurrentRequestsPerServer)
+        {
+            server.mReady = true;
+            mReadyServers.add(server);
+        }
+    }
+
+
+    /**
+     * The state of a single server, guarded by {@link #mLock}.
+     */
+    private final static class Server
+    {
+        private final String mKey;
+        private final Queue<Runnable> mQueue = new ArrayDeque<>();
+        private int mInFlight;
+        private boolean mReady;
+
+
+        private Server(String key)
+        {
+            mKey = key;
+        }
+    }
+}
@@ -0,0 +1,462 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.cache;
+
+import org.dmfs.httpessentials.exceptions.ProtocolException;
+import org.dmfs.jems.optional.Optional;
+import org.dmfs.jems.optional.elementary.Present;
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+import org.dmfs.rfc5545.Duration;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.dmfs.jems.optional.elementary.Absent.absent;
+
+
+/**
+ * A {@link TokenCache} with a maximum number of tokens.
+ * <p>
+ * Tokens are removed once they are about to expire (one minute before the expiration date by default). Tokens without a known expiration date are not
+ * cached at all.
+ * <p>
+ * When the cache is full, a new token has to compete with an existing one. The cache keeps a compact frequency sketch of recent lookups and only admits the
+ * new token if its key is requested at least as often as the key of the victim, which is picked among a sample of existing entries (TinyLFU admission).
+ * This keeps the tokens of busy tenants in the cache when lots of rarely used tenants come and go, while a new tenant gets in as soon as it's as popular as
+ * the least popular sampled tenant.
+ * <p>
+ * If there is no token for the exact scope of a lookup, the cache returns any valid token of the same client, token endpoint and grant type whose scope
+ * covers all the requested scope tokens. The scope of a token is the scope returned by the server or, if the server didn't return one, the scope of its
+ * key. An index from scope tokens to cache entries keeps the cost of such lookups independent of the cache size.
+ * <p>
+ * Lookups don't block. Evictions are serialized.
+ */
+public final class BoundedTokenCache implements TokenCache
+{
+    private final static Duration DEFAULT_MARGIN = new Duration(1, 0, 60);
+    private final static int SAMPLE_SIZE = 8;
+
+    private final int mMaximumSize;
+    private final long mMarginNanos;
+    private final ConcurrentMap<TokenCacheKey, Entry> mEntries;
+    private final ConcurrentMap<ScopeTokenKey, Set<Entry>> mScopeIndex;
+    private final FrequencySketch mSketch;
+    private final ReentrantLock mEvictionLock = new ReentrantLock();
+    private final LongAdder mHits = new LongAdder();
+    private final LongAdder mMisses = new LongAdder();
+    private final LongAdder mEvictions = new LongAdder();
+    private final LongAdder mExpirations = new LongAdder();
+
+    // guarded by mEvictionLock
+    private Iterator<Entry> mClockHand;
+
+
+    /**
+     * Creates a {@link BoundedTokenCache} that holds up to the given number of tokens until one minute before they expire.
+     *
+     * @param maximumSize
+     *     The maximum number of tokens in the cache.
+     */
+    public BoundedTokenCache(int maximumSize)
+    {
+        this(maximumSize, DEFAULT_MARGIN);
+    }
+
+
+    /**
+     * Creates a {@link BoundedTokenCache} that holds up to the given number of tokens until the given margin before they expire.
+     *
+     * @param maximumSize
+     *     The maximum number of tokens in the cache.
+     * @param margin
+     *     The safety margin to keep to the expiration date of a token.
+     */
+    public BoundedTokenCache(int maximumSize, Duration margin)
+    {
+        if (maximumSize < 1)
+        {
+            throw new IllegalArgumentException(String.format("Maximum size must be positive, got %d", maximumSize));
+        }
+        mMaximumSize = maximumSize;
+        mMarginNanos = TimeUnit.MILLISECONDS.toNanos(margin.toMillis());
+        mEntries = new ConcurrentHashMap<>(Math.min(maximumSize, 1024));
+        mScopeIndex = new ConcurrentHashMap<>(Math.min(maximumSize, 1024));
+        mSketch = new FrequencySketch(maximumSize);
+    }
+
+
+    @Override
+    public Optional<OAuth2AccessToken> token(TokenCacheKey key)
+    {
+        mSketch.increment(key.hashCode());
+        long now = System.nanoTime();
+        Entry entry = mEntries.get(key);
+        if (entry != null && entry.isExpired(now))
+        {
+            remove(entry, mExpirations);
+            entry = null;
+        }
+        if (entry == null)
+        {
+            entry = coveringEntry(key, now);
+        }
+        if (entry == null)
+        {
+            mMisses.increment();
+            return absent();
+        }
+        mHits.increment();
+        return new Present<>(entry.mToken);
+    }
+
+
+    @Override
+    public void put(TokenCacheKey key, OAuth2AccessToken token)
+    {
+        long validUntil;
+        try
+        {
+            validUntil = token.expiresAtNanos() - mMarginNanos;
+        }
+        catch (ProtocolException e)
+        {
+            // the expiration date is unknown, we can't reuse this token
+            return;
+        }
+        if (validUntil - System.nanoTime() <= 0)
+        {
+            return;
+        }
+
+        Entry entry = new Entry(key, token, validUntil, grantedScopeTokens(key, token));
+        // index first, so the index never refers to an entry that has been removed already
+        index(entry);
+        Entry previous = mEntries.put(key, entry);
+        if (previous != null)
+        {
+            deindex(previous);
+        }
+        else if (mEntries.size() > mMaximumSize)
+        {
+            evict(entry);
+        }
+    }
+
+
+    @Override
+    public void invalidate(TokenCacheKey key)
+    {
+        Entry entry = mEntries.remove(key);
+        if (entry != null)
+        {
+            deindex(entry);
+        }
+    }
+
+
+    @Override
+    public void invalidate(TokenCacheKey key, OAuth2AccessToken token)
+    {
+        Entry entry = mEntries.get(key);
+        long now = System.nanoTime();
+        if (entry == null || entry.isExpired(now))
+        {
+            // the token may have been returned for a covering scope
+            entry = coveringEntry(key, now);
+        }
+        if (entry != null && entry.mToken == token && mEntries.remove(entry.mKey, entry))
+        {
+            deindex(entry);
+        }
+    }
+
+
+    /**
+     * Returns the number of tokens in this cache, including expired tokens that have not been removed yet.
+     */
+    public int size()
+    {
+        return mEntries.size();
+    }
+
+
+    /**
+     * Returns a snapshot of the statistics of this cache.
+     */
+    public TokenCacheStats stats()
+    {
+        return new TokenCacheStats(mHits.sum(), mMisses.sum(), mEvictions.sum(), mExpirations.sum());
+    }
+
+
+    private void evict(Entry candidate)
+    {
+        mEvictionLock.lock();
+        try
+        {
+            while (mEntries.size() > mMaximumSize)
+            {
+                long now = System.nanoTime();
+                boolean removedExpired = false;
+                Entry victim = null;
+                int victimFrequency = Integer.MAX_VALUE;
+                for (int i = 0; i < SAMPLE_SIZE; ++i)
+                {
+                    Entry entry = nextEntry();
+                    if (entry == null)
+                    {
+                        break;
+                    }
+                    if (entry == candidate)
+                    {
+                        continue;
+                    }
+                    if (entry.isExpired(now))
+                    {
+                        removedExpired |= remove(entry, mExpirations);
+                        continue;
+                    }
+                    int frequency = mSketch.frequency(entry.mKey.hashCode());
+                    if (frequency < victimFrequency)
+                    {
+                        victim = entry;
+                        victimFrequency = frequency;
+                    }
+                }
+
+                if (removedExpired)
+                {
+                    continue;
+                }
+
+                if (candidate != null && (victim == null || mSketch.frequency(candidate.mKey.hashCode()) < victimFrequency))
+                {
+                    // the new token is less popular than the victim, don't admit it
+                    remove(candidate, mEvictions);
+                    candidate = null;
+                }
+                else if (victim != null)
+                {
+                    remove(victim, mEvictions);
+                }
+            }
+        }
+        finally
+        {
+            mEvictionLock.unlock();
+        }
+    }
+
+
+    /**
+     * Returns the next entry of a CLOCK-like walk over all entries or {@code null} if the cache is empty.
+     */
+    private Entry nextEntry()
+    {
+        if (mClockHand == null || !mClockHand.hasNext())
+        {
+            mClockHand = mEntries.values().iterator();
+            if (!mClockHand.hasNext())
+            {
+                return null;
+            }
+        }
+        return mClockHand.next();
+    }
+
+
+    /**
+     * Returns a valid entry of the same tenant that covers all the scope tokens of the given key or {@code null} if there is none.
+     */
+    private Entry coveringEntry(TokenCacheKey key, long now)
+    {
+        String[] scopeTokens = key.scopeTokens();
+        if (scopeTokens.length == 0)
+        {
+            // an empty scope means "the default scope", which is not covered by any other scope
+            return null;
+        }
+
+        // only the entries of the least common scope token need to be checked
+        Set<Entry> candidates = null;
+        for (String scopeToken : scopeTokens)
+        {
+            Set<Entry> entries = mScopeIndex.get(new ScopeTokenKey(key, scopeToken));
+            if (entries == null)
+            {
+                return null;
+            }
+            if (candidates == null || entries.size() < candidates.size())
+            {
+                candidates = entries;
+            }
+        }
+
+        for (Entry candidate : candidates)
+        {
+            if (!candidate.isExpired(now) && candidate.covers(scopeTokens) && mEntries.get(candidate.mKey) == candidate)
+            {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+
+    private void index(Entry entry)
+    {
+        for (String scopeToken : entry.mScopeTokens)
+        {
+            mScopeIndex.compute(new ScopeTokenKey(entry.mKey, scopeToken), (k, entries) ->
+            {
+                Set<Entry> result = entries == null ? ConcurrentHashMap.newKeySet() : entries;
+                result.add(entry);
+                return result;
+            });
+        }
+    }
+
+
+    private void deindex(Entry entry)
+    {
+        for (String scopeToken : entry.mScopeTokens)
+        {
+            mScopeIndex.computeIfPresent(new ScopeTokenKey(entry.mKey, scopeToken), (k, entries) ->
+            {
+                entries.remove(entry);
+                return entries.isEmpty() ? null : entries;
+            });
+        }
+    }
+
+
+    /**
+     * Removes the given entry and counts it with the given counter, unless it has been removed already.
+     */
+    private boolean remove(Entry entry, LongAdder counter)
+    {
+        if (mEntries.remove(entry.mKey, entry))
+        {
+            deindex(entry);
+            counter.increment();
+            return true;
+        }
+        return false;
+    }
+
+
+    /**
+     * Returns the distinct scope tokens the given token has been granted for in ascending order.
+     */
+    private static String[] grantedScopeTokens(TokenCacheKey key, OAuth2AccessToken token)
+    {
+        try
+        {
+            return TokenCacheKey.scopeTokens(token.scope());
+        }
+        catch (ProtocolException e)
+        {
+            return key.scopeTokens();
+        }
+    }
+
+
+    private final static class Entry
+    {
+        private final TokenCacheKey mKey;
+        private final OAuth2AccessToken mToken;
+        private final long mValidUntil;
+        private final String[] mScopeTokens;
+
+
+        private Entry(TokenCacheKey key, OAuth2AccessToken token, long validUntil, String[] scopeTokens)
+        {
+            mKey = key;
+            mToken = token;
+            mValidUntil = validUntil;
+            mScopeTokens = scopeTokens;
+        }
+
+
+        private boolean isExpired(long now)
+        {
+            return now - mValidUntil >= 0;
+        }
+
+
+        /**
+         * Returns whether this entry has been granted all of the given scope tokens.
+         */
+        private boolean covers(String[] scopeTokens)
+        {
+            if (scopeTokens.length > mScopeTokens.length)
+            {
+                return false;
+            }
+            for (String scopeToken : scopeTokens)
+            {
+                if (Arrays.binarySearch(mScopeTokens, scopeToken) < 0)
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+
+    /**
+     * The key of the scope index, a scope token of a specific client, token endpoint and grant type.
+     */
+    private final static class ScopeTokenKey
+    {
+        private final TokenCacheKey mKey;
+        private final String mScopeToken;
+
+
+        private ScopeTokenKey(TokenCacheKey key, String scopeToken)
+        {
+            mKey = key;
+            mScopeToken = scopeToken;
+        }
+
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (!(obj instanceof ScopeTokenKey))
+            {
+                return false;
+            }
+            ScopeTokenKey other = (ScopeTokenKey) obj;
+            return mScopeToken.equals(other.mScopeToken) && mKey.sameTenant(other.mKey);
+        }
+
+
+        @Override
+        public int hashCode()
+        {
+            return mKey.tenantHashCode() * 31 + mScopeToken.hashCode();
+        }
+    }
+}
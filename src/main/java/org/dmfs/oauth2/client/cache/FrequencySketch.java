@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A Count-Min sketch with 4 bit counters that estimates how often an element has been seen recently.
+ * <p>
+ * All counters are halved once the number of recorded occurrences reaches ten times the expected number of elements, so the sketch prefers recent
+ * popularity over old one.
+ * <p>
+ * The counters and the number of additions are updated atomically, so concurrent updates can't make a saturated counter overflow into its neighbour,
+ * and only the update that reaches the sample size resets the sketch.
+ */
+final class FrequencySketch
+{
+    private final static int DEPTH = 4;
+    private final static long MAX_FREQUENCY = 15;
+    private final static long RESET_MASK = 0x7777777777777777L;
+    private final static long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+
+    /**
+     * Each long holds 16 counters of 4 bits.
+     */
+    private final AtomicLongArray mTable;
+    private final int mMask;
+    private final int mSampleSize;
+    private final AtomicInteger mAdditions = new AtomicInteger();
+
+
+    FrequencySketch(int expectedSize)
+    {
+        int size = Integer.highestOneBit(Math.max(16, Math.min(expectedSize, 1 << 30)) - 1) << 1;
+        mTable = new AtomicLongArray(size);
+        mMask = size - 1;
+        mSampleSize = 10 * size;
+    }
+
+
+    /**
+     * Records an occurrence of an element with the given hash code.
+     */
+    void increment(int hashCode)
+    {
+        boolean added = false;
+        for (int i = 0; i < DEPTH; ++i)
+        {
+            long hash = hash(hashCode, i);
+            int index = index(hash);
+            added |= incremented(index, shift(hash));
+        }
+        if (added && mAdditions.incrementAndGet() == mSampleSize)
+        {
+            reset();
+        }
+    }
+
+
+    /**
+     * Returns the estimated number of recent occurrences of an element with the given hash code.
+     */
+    int frequency(int hashCode)
+    {
+        long frequency = MAX_FREQUENCY;
+        for (int i = 0; i < DEPTH; ++i)
+        {
+            long hash = hash(hashCode, i);
+            frequency = Math.min(frequency, (mTable.get(index(hash)) >>> shift(hash)) & MAX_FREQUENCY);
+        }
+        return (int) frequency;
+    }
+
+
+    /**
+     * Increments the counter at the given index and shift, unless it's saturated. The saturation check and the increment are applied to the same value.
+     */
+    private boolean incremented(int index, int shift)
+    {
+        while (true)
+        {
+            long value = mTable.get(index);
+            if (((value >>> shift) & MAX_FREQUENCY) == MAX_FREQUENCY)
+            {
+                return false;
+            }
+            if (mTable.compareAndSet(index, value, value + (1L << shift)))
+            {
+                return true;
+            }
+        }
+    }
+
+
+    private void reset()
+    {
+        for (int i = 0; i < mTable.length(); ++i)
+        {
+            long value;
+            do
+            {
+                value = mTable.get(i);
+            }
+            while (!mTable.compareAndSet(i, value, (value >>> 1) & RESET_MASK));
+        }
+        // additions counted during the reset are kept, so the counter can't reach the sample size again before the next reset is due
+        mAdditions.addAndGet(-(mSampleSize >>> 1));
+    }
+
+
+    private static long hash(int hashCode, int i)
+    {
+        long hash = (hashCode + SEEDS[i]) * SEEDS[i];
+        return hash ^ (hash >>> 32);
+    }
+
+
+    private int index(long hash)
+    {
+        return (int) (hash >>> 4) & mMask;
+    }
+
+
+    private static int shift(long hash)
+    {
+        return ((int) hash & 15) << 2;
+    }
+}
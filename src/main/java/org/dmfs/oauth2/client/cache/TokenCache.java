@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.cache;
+
+import org.dmfs.jems.optional.Optional;
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+
+
+/**
+ * A cache of {@link OAuth2AccessToken}s.
+ */
+public interface TokenCache
+{
+    /**
+     * Returns the cached {@link OAuth2AccessToken} for the given key, if there is one that's still valid.
+     *
+     * @param key
+     *     The {@link TokenCacheKey} of the token.
+     *
+     * @return An {@link Optional} of the cached {@link OAuth2AccessToken}.
+     */
+    Optional<OAuth2AccessToken> token(TokenCacheKey key);
+
+    /**
+     * Adds the given {@link OAuth2AccessToken} to this cache. Implementations may decide not to keep the token, e.g. because it's about to expire.
+     *
+     * @param key
+     *     The {@link TokenCacheKey} of the token.
+     * @param token
+     *     The {@link OAuth2AccessToken} to cache.
+     */
+    void put(TokenCacheKey key, OAuth2AccessToken token);
+
+    /**
+     * Removes the token with the given key from this cache.
+     *
+     * @param key
+     *     The {@link TokenCacheKey} of the token to remove.
+     */
+    void invalidate(TokenCacheKey key);
+
+    /**
+     * Removes the given token from this cache, if it's still the token that's returned for the given key. This does nothing if the token has been
+     * replaced already.
+     *
+     * @param key
+     *     The {@link TokenCacheKey} the token was returned for.
+     * @param token
+     *     The {@link OAuth2AccessToken} to remove.
+     */
+    void invalidate(TokenCacheKey key, OAuth2AccessToken token);
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.cache;
+
+import org.dmfs.oauth2.client.OAuth2Scope;
+import org.dmfs.oauth2.client.scope.CanonicalScope;
+
+import java.net.URI;
+
+
+/**
+ * The key of an {@link org.dmfs.oauth2.client.OAuth2AccessToken} in a {@link TokenCache}. It identifies the client, the token endpoint, the scope and the
+ * grant type a token was issued for.
+ * <p>
+ * The order of the scope tokens doesn't matter, i.e. keys for {@code "read write"} and {@code "write read"} are equal.
+ */
+public final class TokenCacheKey
+{
+    private final String mClientId;
+    private final URI mTokenEndpoint;
+    private final OAuth2Scope mScope;
+    private final String mGrantType;
+    private final String[] mScopeTokens;
+    private final CanonicalScope mCanonicalScope;
+    private final int mTenantHashCode;
+    private final int mHashCode;
+
+
+    /**
+     * Creates a {@link TokenCacheKey}.
+     *
+     * @param clientId
+     *     The id of the client the token was issued to.
+     * @param tokenEndpoint
+     *     The {@link URI} of the token endpoint that issued the token.
+     * @param scope
+     *     The {@link OAuth2Scope} that was requested.
+     * @param grantType
+     *     The grant type that was used to obtain the token, e.g. {@code "client_credentials"}.
+     */
+    public TokenCacheKey(String clientId, URI tokenEndpoint, OAuth2Scope scope, String grantType)
+    {
+        mClientId = clientId;
+        mTokenEndpoint = tokenEndpoint;
+        mScope = scope;
+        mGrantType = grantType;
+        mCanonicalScope = new CanonicalScope(scope);
+        mScopeTokens = tokens(mCanonicalScope);
+        mTenantHashCode = (mClientId.hashCode() * 31 + mTokenEndpoint.hashCode()) * 31 + mGrantType.hashCode();
+        mHashCode = mTenantHashCode * 31 + mCanonicalScope.hashCode();
+    }
+
+
+    /**
+     * Returns the {@link OAuth2Scope} of this key.
+     */
+    public OAuth2Scope scope()
+    {
+        return mScope;
+    }
+
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (this == obj)
+        {
+            return true;
+        }
+        if (!(obj instanceof TokenCacheKey))
+        {
+            return false;
+        }
+        TokenCacheKey other = (TokenCacheKey) obj;
+        return mHashCode == other.mHashCode && sameTenant(other) && mCanonicalScope.equals(other.mCanonicalScope);
+    }
+
+
+    @Override
+    public int hashCode()
+    {
+        return mHashCode;
+    }
+
+
+    /**
+     * Returns the distinct scope tokens of this key in ascending order. The result must not be modified.
+     */
+    String[] scopeTokens()
+    {
+        return mScopeTokens;
+    }
+
+
+    /**
+     * Returns whether the given key has the same client id, token endpoint and grant type, regardless of the scope.
+     */
+    boolean sameTenant(TokenCacheKey other)
+    {
+        return mTenantHashCode == other.mTenantHashCode
+            && mClientId.equals(other.mClientId)
+            && mTokenEndpoint.equals(other.mTokenEndpoint)
+            && mGrantType.equals(other.mGrantType);
+    }
+
+
+    /**
+     * Returns a hash code of the client id, token endpoint and grant type of this key, consistent with {@link #sameTenant(TokenCacheKey)}.
+     */
+    int tenantHashCode()
+    {
+        return mTenantHashCode;
+    }
+
+
+    @Override
+    public String toString()
+    {
+        return String.format("%s %s %s [%s]", mGrantType, mClientId, mTokenEndpoint, mCanonicalScope);
+    }
+
+
+    /**
+     * Returns the distinct tokens of the given scope in ascending order.
+     */
+    static String[] scopeTokens(OAuth2Scope scope)
+    {
+        return tokens(new CanonicalScope(scope));
+    }
+
+
+    private static String[] tokens(CanonicalScope scope)
+    {
+        return scope.isEmpty() ? new String[0] : scope.toString().split(" ");
+    }
+}
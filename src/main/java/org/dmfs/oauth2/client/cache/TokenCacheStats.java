@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.cache;
+
+/**
+ * A snapshot of the statistics of a {@link TokenCache}.
+ */
+public final class TokenCacheStats
+{
+    private final long mHits;
+    private final long mMisses;
+    private final long mEvictions;
+    private final long mExpirations;
+
+
+    public TokenCacheStats(long hits, long misses, long evictions)
+    {
+        this(hits, misses, evictions, 0);
+    }
+
+
+    public TokenCacheStats(long hits, long misses, long evictions, long expirations)
+    {
+        mHits = hits;
+        mMisses = misses;
+        mEvictions = evictions;
+        mExpirations = expirations;
+    }
+
+
+    /**
+     * Returns the number of lookups that returned a cached token.
+     */
+    public long hits()
+    {
+        return mHits;
+    }
+
+
+    /**
+     * Returns the number of lookups that didn't return a cached token.
+     */
+    public long misses()
+    {
+        return mMisses;
+    }
+
+
+    /**
+     * Returns the number of tokens that were removed because the cache was full. This includes new tokens that were not admitted to a full cache.
+     */
+    public long evictions()
+    {
+        return mEvictions;
+    }
+
+
+    /**
+     * Returns the number of tokens that were removed because they expired.
+     */
+    public long expirations()
+    {
+        return mExpirations;
+    }
+
+
+    @Override
+    public String toString()
+    {
+        return String.format("hits: %d, misses: %d, evictions: %d, expirations: %d", mHits, mMisses, mEvictions, mExpirations);
+    }
+}
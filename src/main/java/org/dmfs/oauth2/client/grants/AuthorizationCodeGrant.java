@@ -16,17 +16,18 @@
 
 package org.dmfs.oauth2.client.grants;
 
-import net.iharder.Base64;
-
-import org.dmfs.express.json.elementary.JsonText;
 import org.dmfs.httpessentials.client.HttpRequestExecutor;
 import org.dmfs.httpessentials.exceptions.ProtocolError;
 import org.dmfs.httpessentials.exceptions.ProtocolException;
+import org.dmfs.jems2.iterable.Seq;
 import org.dmfs.oauth2.client.*;
+import org.dmfs.oauth2.client.async.AsyncHttpRequestExecutor;
+import org.dmfs.oauth2.client.async.AsyncOAuth2Grant;
 import org.dmfs.oauth2.client.http.requests.AuthorizationCodeTokenRequest;
-import org.dmfs.oauth2.client.pkce.S256CodeChallenge;
+import org.dmfs.oauth2.client.pkce.PkceCodeChallenge;
 import org.dmfs.oauth2.client.scope.StringScope;
-import org.dmfs.oauth2.client.utils.GrantState;
+import org.dmfs.oauth2.client.state.TaggedGrantFactory;
+import org.dmfs.oauth2.client.utils.BinaryGrantState;
 import org.dmfs.rfc3986.Uri;
 import org.dmfs.rfc3986.encoding.Precoded;
 import org.dmfs.rfc3986.encoding.XWwwFormUrlEncoded;
@@ -39,7 +40,8 @@ import org.json.JSONArray;
 
 import java.io.IOException;
 import java.net.URI;
-import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 
 /**
@@ -49,12 +51,20 @@ import java.nio.charset.StandardCharsets;
  *
  * @author Marten Gajda
  */
-public final class AuthorizationCodeGrant implements OAuth2InteractiveGrant
+public final class AuthorizationCodeGrant implements OAuth2InteractiveGrant, AsyncOAuth2Grant
 {
+    /**
+     * The {@link OAuth2InteractiveGrantFactory}s that restore the states of this grant, see {@link BuiltInGrantFactories}.
+     */
+    final static Iterable<OAuth2InteractiveGrantFactory> FACTORIES = new Seq<>(
+        new InitialAuthorizationCodeGrantFactory(),
+        new AuthorizedAuthorizationCodeGrant.AuthenticatedAuthorizationCodeGrantFactory());
+
     private final OAuth2Client mClient;
     private final OAuth2Scope mScope;
     private final CharSequence mState;
     private final CharSequence mCodeVerifier;
+    private final PkceCodeChallenge mCodeChallenge;
     private final ParameterList mCustomParameters;
 
 
@@ -89,16 +99,63 @@ public final class AuthorizationCodeGrant implements OAuth2InteractiveGrant
     }
 
 
+    /**
+     * Launches a new Authorization Code Grant for the given {@link OAuth2Client} and {@link OAuth2Scope}, taking the state and the code verifier from the
+     * given {@link AuthorizationCodeSecretsPool}.
+     *
+     * @param client
+     *     The {@link OAuth2Client}.
+     * @param scope
+     *     An {@link OAuth2Scope}.
+     * @param secretsPool
+     *     An {@link AuthorizationCodeSecretsPool} of pre-generated states and code verifiers.
+     */
+    public AuthorizationCodeGrant(OAuth2Client client, OAuth2Scope scope, AuthorizationCodeSecretsPool secretsPool)
+    {
+        this(client, scope, EmptyParameterList.INSTANCE, secretsPool);
+    }
+
+
+    /**
+     * Launches a new Authorization Code Grant for the given {@link OAuth2Client}, {@link OAuth2Scope} and custom {@link ParameterList}, taking the state
+     * and the code verifier from the given {@link AuthorizationCodeSecretsPool}. The given {@link ParameterList} must not contain any OAuth2 specific
+     * parameters. Any such parameter might be overridden by this grant.
+     *
+     * @param client
+     *     The {@link OAuth2Client}.
+     * @param scope
+     *     An {@link OAuth2Scope}.
+     * @param customParameters
+     *     Custom parameters to send to the authorization endpoint.
+     * @param secretsPool
+     *     An {@link AuthorizationCodeSecretsPool} of pre-generated states and code verifiers.
+     */
+    public AuthorizationCodeGrant(OAuth2Client client, OAuth2Scope scope, ParameterList customParameters, AuthorizationCodeSecretsPool secretsPool)
+    {
+        this(client, scope, secretsPool.secrets(client), customParameters);
+    }
+
+
     private AuthorizationCodeGrant(final OAuth2Client client,
         final OAuth2Scope scope,
         CharSequence state,
         CharSequence codeVerifier,
         ParameterList customParameters)
+    {
+        this(client, scope, new AuthorizationCodeSecrets(state, codeVerifier), customParameters);
+    }
+
+
+    private AuthorizationCodeGrant(final OAuth2Client client,
+        final OAuth2Scope scope,
+        AuthorizationCodeSecrets secrets,
+        ParameterList customParameters)
     {
         mClient = client;
         mScope = scope;
-        mState = state;
-        mCodeVerifier = codeVerifier;
+        mState = secrets.state();
+        mCodeVerifier = secrets.codeVerifier();
+        mCodeChallenge = secrets.codeChallenge();
         mCustomParameters = customParameters;
     }
 
@@ -115,7 +172,7 @@ public final class AuthorizationCodeGrant implements OAuth2InteractiveGrant
         {
             authorizationRequest = new BasicOAuth2AuthorizationRequest("code", mScope, mState, mCustomParameters);
         }
-        return mClient.authorizationUrl(authorizationRequest.withCodeChallenge(new S256CodeChallenge(mCodeVerifier)));
+        return mClient.authorizationUrl(authorizationRequest.withCodeChallenge(mCodeChallenge));
     }
 
 
@@ -133,6 +190,15 @@ public final class AuthorizationCodeGrant implements OAuth2InteractiveGrant
     }
 
 
+    @Override
+    public CompletionStage<OAuth2AccessToken> accessToken(AsyncHttpRequestExecutor executor)
+    {
+        CompletableFuture<OAuth2AccessToken> result = new CompletableFuture<>();
+        result.completeExceptionally(new IllegalStateException("first use withRedirectUri(URI) to pass the redirect URI returned by the authorization endpoint."));
+        return result;
+    }
+
+
     @Deprecated
     @Override
     public OAuth2InteractiveGrant.OAuth2GrantState state()
@@ -144,16 +210,22 @@ public final class AuthorizationCodeGrant implements OAuth2InteractiveGrant
     @Override
     public String encodedState()
     {
-        return Base64.encodeBytes(
-            new JsonText(new GrantState(InitialAuthorizationCodeGrantFactory.class,
-                mScope.toString(), mState.toString(), mCodeVerifier.toString(), new XWwwFormUrlEncoded(mCustomParameters).toString()))
-                .value()
-                .getBytes(StandardCharsets.UTF_8));
+        return new BinaryGrantState(InitialAuthorizationCodeGrantFactory.TAG,
+            mScope.toString(), mState, mCodeVerifier, new XWwwFormUrlEncoded(mCustomParameters).toString()).value();
     }
 
 
-    private final static class InitialAuthorizationCodeGrantFactory implements OAuth2InteractiveGrantFactory
+    private final static class InitialAuthorizationCodeGrantFactory implements TaggedGrantFactory
     {
+        private final static String TAG = "ac";
+
+
+        @Override
+        public String tag()
+        {
+            return TAG;
+        }
+
 
         @Override
         public OAuth2InteractiveGrant grant(OAuth2Client client, JSONArray arguments)
@@ -177,7 +249,7 @@ public final class AuthorizationCodeGrant implements OAuth2InteractiveGrant
      * <p>
      * The next step is to retrieve the {@link OAuth2AccessToken}.
      */
-    private final static class AuthorizedAuthorizationCodeGrant implements OAuth2InteractiveGrant
+    private final static class AuthorizedAuthorizationCodeGrant implements OAuth2InteractiveGrant, AsyncOAuth2Grant
     {
         private final OAuth2Client mClient;
         private final Uri mRedirectUri;
@@ -206,6 +278,26 @@ public final class AuthorizationCodeGrant implements OAuth2InteractiveGrant
         }
 
 
+        @Override
+        public CompletionStage<OAuth2AccessToken> accessToken(AsyncHttpRequestExecutor executor)
+        {
+            try
+            {
+                return mClient.accessTokenAsync(
+                    new AuthorizationCodeTokenRequest(
+                        new BasicOAuth2AuthCodeAuthorization(mRedirectUri, mScope, mState), mClient.redirectUri(), mCodeVerifier),
+                    executor);
+            }
+            catch (ProtocolException e)
+            {
+                // the redirect URI doesn't contain a valid authorization code
+                CompletableFuture<OAuth2AccessToken> result = new CompletableFuture<>();
+                result.completeExceptionally(e);
+                return result;
+            }
+        }
+
+
         @Override
         public URI authorizationUrl()
         {
@@ -231,16 +323,22 @@ public final class AuthorizationCodeGrant implements OAuth2InteractiveGrant
         @Override
         public String encodedState()
         {
-            return Base64.encodeBytes(
-                new JsonText(new GrantState(AuthenticatedAuthorizationCodeGrantFactory.class,
-                    new Text(mRedirectUri).toString(), mScope.toString(), mState.toString(), mCodeVerifier.toString()))
-                    .value()
-                    .getBytes(StandardCharsets.UTF_8));
+            return new BinaryGrantState(AuthenticatedAuthorizationCodeGrantFactory.TAG,
+                new Text(mRedirectUri).toString(), mScope.toString(), mState, mCodeVerifier).value();
         }
 
 
-        private final static class AuthenticatedAuthorizationCodeGrantFactory implements OAuth2InteractiveGrantFactory
+        private final static class AuthenticatedAuthorizationCodeGrantFactory implements TaggedGrantFactory
         {
+            private final static String TAG = "ac+";
+
+
+            @Override
+            public String tag()
+            {
+                return TAG;
+            }
+
 
             @Override
             public OAuth2InteractiveGrant grant(OAuth2Client client, JSONArray arguments)
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.grants;
+
+import org.dmfs.oauth2.client.pkce.PkceCodeChallenge;
+import org.dmfs.oauth2.client.pkce.S256CodeChallenge;
+
+
+/**
+ * The random values of an {@link AuthorizationCodeGrant}: the state, the PKCE code verifier and its S256 code challenge.
+ */
+public final class AuthorizationCodeSecrets
+{
+    private final CharSequence mState;
+    private final CharSequence mCodeVerifier;
+    private final PkceCodeChallenge mCodeChallenge;
+
+
+    /**
+     * Creates {@link AuthorizationCodeSecrets} from the given state and code verifier.
+     *
+     * @param state
+     *     A random state.
+     * @param codeVerifier
+     *     A random PKCE code verifier.
+     */
+    public AuthorizationCodeSecrets(CharSequence state, CharSequence codeVerifier)
+    {
+        mState = state;
+        mCodeVerifier = codeVerifier;
+        mCodeChallenge = new S256CodeChallenge(codeVerifier);
+    }
+
+
+    public CharSequence state()
+    {
+        return mState;
+    }
+
+
+    public CharSequence codeVerifier()
+    {
+        return mCodeVerifier;
+    }
+
+
+    public PkceCodeChallenge codeChallenge()
+    {
+        return mCodeChallenge;
+    }
+}
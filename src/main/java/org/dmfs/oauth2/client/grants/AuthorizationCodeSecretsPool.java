@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.grants;
+
+import org.dmfs.jems.generator.Generator;
+import org.dmfs.oauth2.client.OAuth2Client;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+
+/**
+ * A bounded pool of ready-made {@link AuthorizationCodeSecrets}, which is filled by a background thread.
+ * <p>
+ * Generating a state and a code verifier and hashing the verifier is the most expensive part of starting an {@link AuthorizationCodeGrant}. During load
+ * peaks, grants can take pre-generated secrets from this pool. When the pool is exhausted, the secrets are generated inline, like without a pool.
+ * <p>
+ * Create one pool per application and {@link #close()} it when it's no longer needed:
+ * <pre>{@code
+ * AuthorizationCodeSecretsPool pool = new AuthorizationCodeSecretsPool(client, 1000);
+ * ...
+ * OAuth2InteractiveGrant grant = new AuthorizationCodeGrant(client, scope, pool);
+ * }</pre>
+ */
+public final class AuthorizationCodeSecretsPool implements AutoCloseable
+{
+    private final BlockingQueue<AuthorizationCodeSecrets> mQueue;
+    private final Thread mProducer;
+
+
+    /**
+     * Creates an {@link AuthorizationCodeSecretsPool} of the given capacity which takes random values from {@link OAuth2Client#randomChars()} of the given
+     * client, just like grants do without a pool.
+     *
+     * @param client
+     *     The {@link OAuth2Client} that provides the random values.
+     * @param capacity
+     *     The maximum number of secrets to keep ready.
+     */
+    public AuthorizationCodeSecretsPool(OAuth2Client client, int capacity)
+    {
+        this(client::randomChars, capacity);
+    }
+
+
+    /**
+     * Creates an {@link AuthorizationCodeSecretsPool} of the given capacity.
+     *
+     * @param randomChars
+     *     The {@link Generator} of the random states and code verifiers.
+     * @param capacity
+     *     The maximum number of secrets to keep ready.
+     */
+    public AuthorizationCodeSecretsPool(Generator<CharSequence> randomChars, int capacity)
+    {
+        if (capacity < 1)
+        {
+            throw new IllegalArgumentException(String.format("Capacity must be positive, got %d", capacity));
+        }
+        mQueue = new ArrayBlockingQueue<>(capacity);
+        mProducer = new Thread(() -> produce(randomChars, mQueue), "oauth2-authorization-code-secrets");
+        mProducer.setDaemon(true);
+        mProducer.setPriority(Thread.MIN_PRIORITY);
+        mProducer.start();
+    }
+
+
+    /**
+     * Returns pre-generated {@link AuthorizationCodeSecrets} or, if there are none, generates new ones using {@link OAuth2Client#randomChars()} of the
+     * given client.
+     *
+     * @param client
+     *     The {@link OAuth2Client} to fall back to.
+     */
+    public AuthorizationCodeSecrets secrets(OAuth2Client client)
+    {
+        AuthorizationCodeSecrets secrets = mQueue.poll();
+        return secrets == null ? new AuthorizationCodeSecrets(client.randomChars(), client.randomChars()) : secrets;
+    }
+
+
+    /**
+     * Returns the number of secrets that are ready to be used.
+     */
+    public int size()
+    {
+        return mQueue.size();
+    }
+
+
+    /**
+     * Stops the background thread. Remaining secrets can still be taken, afterwards secrets are generated inline.
+     */
+    @Override
+    public void close()
+    {
+        mProducer.interrupt();
+    }
+
+
+    private static void produce(Generator<CharSequence> randomChars, BlockingQueue<AuthorizationCodeSecrets> queue)
+    {
+        try
+        {
+            while (!Thread.currentThread().isInterrupted())
+            {
+                AuthorizationCodeSecrets secrets = new AuthorizationCodeSecrets(randomChars.next(), randomChars.next());
+                // hash the verifier now, so it doesn't happen when the grant is started
+                secrets.codeChallenge().challenge();
+                queue.put(secrets);
+            }
+        }
+        catch (InterruptedException e)
+        {
+            // closed
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.grants;
+
+import org.dmfs.jems2.iterable.DelegatingIterable;
+import org.dmfs.jems2.iterable.Joined;
+import org.dmfs.oauth2.client.OAuth2InteractiveGrant.OAuth2InteractiveGrantFactory;
+
+
+/**
+ * The {@link OAuth2InteractiveGrantFactory}s of the interactive grants of this library, i.e. of the {@link AuthorizationCodeGrant} and the {@link
+ * ImplicitGrant}.
+ */
+public final class BuiltInGrantFactories extends DelegatingIterable<OAuth2InteractiveGrantFactory>
+{
+    public BuiltInGrantFactories()
+    {
+        super(new Joined<>(AuthorizationCodeGrant.FACTORIES, ImplicitGrant.FACTORIES));
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.grants;
+
+import org.dmfs.httpessentials.client.HttpRequestExecutor;
+import org.dmfs.httpessentials.exceptions.ProtocolError;
+import org.dmfs.httpessentials.exceptions.ProtocolException;
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+import org.dmfs.oauth2.client.OAuth2Grant;
+import org.dmfs.oauth2.client.OAuth2InvalidatableGrant;
+import org.dmfs.oauth2.client.async.AsyncGrant;
+import org.dmfs.oauth2.client.async.AsyncHttpRequestExecutor;
+import org.dmfs.oauth2.client.async.AsyncOAuth2Grant;
+import org.dmfs.rfc5545.Duration;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+
+/**
+ * An {@link OAuth2Grant} decorator that keeps the last {@link OAuth2AccessToken} returned by the decorated grant and returns it until it's about to expire.
+ * <p>
+ * A token is reused until its {@link OAuth2AccessToken#expirationDate()} minus the given safety margin. Tokens without a known expiration date are never
+ * reused.
+ * <p>
+ * This is meant for grants that can be executed any number of times, like the {@link ClientCredentialsGrant}. Note that a single instance needs to be shared
+ * by all callers to have any effect.
+ * <p>
+ * Non-blocking callers (see {@link AsyncOAuth2Grant}) share the same token. This requires the decorated grant to support non-blocking requests.
+ */
+public final class CachingGrant implements OAuth2InvalidatableGrant, AsyncOAuth2Grant
+{
+    private final static Duration DEFAULT_MARGIN = new Duration(1, 0, 60);
+
+    private final OAuth2Grant mDelegate;
+    private final long mMarginNanos;
+
+    private final AtomicReference<CachedToken> mCachedToken = new AtomicReference<>();
+
+
+    /**
+     * Creates a {@link CachingGrant} that reuses the tokens of the given {@link OAuth2Grant} until one minute before they expire.
+     *
+     * @param delegate
+     *     The {@link OAuth2Grant} to get new tokens from.
+     */
+    public CachingGrant(OAuth2Grant delegate)
+    {
+        this(delegate, DEFAULT_MARGIN);
+    }
+
+
+    /**
+     * Creates a {@link CachingGrant} that reuses the tokens of the given {@link OAuth2Grant} until the given margin before they expire.
+     *
+     * @param delegate
+     *     The {@link OAuth2Grant} to get new tokens from.
+     * @param margin
+     *     The safety margin to keep to the expiration date of a token.
+     */
+    public CachingGrant(OAuth2Grant delegate, Duration margin)
+    {
+        mDelegate = delegate;
+        mMarginNanos = TimeUnit.MILLISECONDS.toNanos(margin.toMillis());
+    }
+
+
+    @Override
+    public OAuth2AccessToken accessToken(HttpRequestExecutor executor) throws IOException, ProtocolError, ProtocolException
+    {
+        OAuth2AccessToken cachedToken = validToken();
+        if (cachedToken != null)
+        {
+            return cachedToken;
+        }
+        return cached(mDelegate.accessToken(executor));
+    }
+
+
+    @Override
+    public CompletionStage<OAuth2AccessToken> accessToken(AsyncHttpRequestExecutor executor)
+    {
+        OAuth2AccessToken cachedToken = validToken();
+        if (cachedToken != null)
+        {
+            return CompletableFuture.completedFuture(cachedToken);
+        }
+        return new AsyncGrant(mDelegate).accessToken(executor).thenApply(this::cached);
+    }
+
+
+    @Override
+    public void invalidate(OAuth2AccessToken token)
+    {
+        CachedToken cachedToken = mCachedToken.get();
+        if (cachedToken != null && cachedToken.mToken == token)
+        {
+            mCachedToken.compareAndSet(cachedToken, null);
+        }
+    }
+
+
+    /**
+     * Returns the cached token, or {@code null} if there is no token that can be reused.
+     */
+    private OAuth2AccessToken validToken()
+    {
+        CachedToken cachedToken = mCachedToken.get();
+        return cachedToken != null && System.nanoTime() - cachedToken.mValidUntil < 0 ? cachedToken.mToken : null;
+    }
+
+
+    private OAuth2AccessToken cached(OAuth2AccessToken token)
+    {
+        try
+        {
+            mCachedToken.set(new CachedToken(token, token.expiresAtNanos() - mMarginNanos));
+        }
+        catch (ProtocolException e)
+        {
+            // the expiration date is unknown, we can't reuse this token
+            mCachedToken.set(null);
+        }
+        return token;
+    }
+
+
+    /**
+     * An {@link OAuth2AccessToken} with the time it can be used until in terms of {@link System#nanoTime()}. Instances are replaced as a whole, so readers always see a consistent pair.
+     */
+    private final static class CachedToken
+    {
+        private final OAuth2AccessToken mToken;
+        private final long mValidUntil;
+
+
+        private CachedToken(OAuth2AccessToken token, long validUntil)
+        {
+            mToken = token;
+            mValidUntil = validUntil;
+        }
+    }
+}
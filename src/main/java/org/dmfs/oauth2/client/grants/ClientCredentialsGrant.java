@@ -23,9 +23,12 @@ import org.dmfs.oauth2.client.OAuth2AccessToken;
 import org.dmfs.oauth2.client.OAuth2Client;
 import org.dmfs.oauth2.client.OAuth2Grant;
 import org.dmfs.oauth2.client.OAuth2Scope;
+import org.dmfs.oauth2.client.async.AsyncHttpRequestExecutor;
+import org.dmfs.oauth2.client.async.AsyncOAuth2Grant;
 import org.dmfs.oauth2.client.http.requests.ClientCredentialsTokenRequest;
 
 import java.io.IOException;
+import java.util.concurrent.CompletionStage;
 
 
 /**
@@ -33,7 +36,7 @@ import java.io.IOException;
  *
  * @author Marten Gajda
  */
-public final class ClientCredentialsGrant implements OAuth2Grant
+public final class ClientCredentialsGrant implements OAuth2Grant, AsyncOAuth2Grant
 {
     private final OAuth2Client mClient;
     private final OAuth2Scope mScope;
@@ -59,4 +62,11 @@ public final class ClientCredentialsGrant implements OAuth2Grant
     {
         return mClient.accessToken(new ClientCredentialsTokenRequest(mScope), executor);
     }
+
+
+    @Override
+    public CompletionStage<OAuth2AccessToken> accessToken(AsyncHttpRequestExecutor executor)
+    {
+        return mClient.accessTokenAsync(new ClientCredentialsTokenRequest(mScope), executor);
+    }
 }
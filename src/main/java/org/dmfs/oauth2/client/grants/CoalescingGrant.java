@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.grants;
+
+import org.dmfs.httpessentials.client.HttpRequestExecutor;
+import org.dmfs.httpessentials.exceptions.ProtocolError;
+import org.dmfs.httpessentials.exceptions.ProtocolException;
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+import org.dmfs.oauth2.client.OAuth2Grant;
+import org.dmfs.oauth2.client.async.AsyncGrant;
+import org.dmfs.oauth2.client.async.AsyncHttpRequestExecutor;
+import org.dmfs.oauth2.client.async.AsyncOAuth2Grant;
+
+import java.io.IOException;
+import java.util.concurrent.CompletionStage;
+
+
+/**
+ * An {@link OAuth2Grant} decorator that makes sure there is only one token request in flight at a time. Callers that arrive while a request is pending
+ * wait for that request and receive its result or its exception.
+ * <p>
+ * This is most useful in combination with a {@link CachingGrant}, to avoid a stampede of token requests when a cached token expires:
+ * <pre>{@code
+ * OAuth2Grant grant = new CachingGrant(new CoalescingGrant(new ClientCredentialsGrant(client, scope)));
+ * }</pre>
+ * To coalesce requests of distinct {@link OAuth2Grant} instances, share an {@link InFlightTokenRequests} among them and provide a key that identifies
+ * the grant type, the scope and the client credentials.
+ * <p>
+ * Blocking and non-blocking callers (see {@link AsyncOAuth2Grant}) share the same requests. Non-blocking requests require the decorated grant to support
+ * them.
+ */
+public final class CoalescingGrant implements OAuth2Grant, AsyncOAuth2Grant
+{
+    private final InFlightTokenRequests mInFlightRequests;
+    private final Object mKey;
+    private final OAuth2Grant mDelegate;
+
+
+    /**
+     * Creates a {@link CoalescingGrant} that coalesces concurrent calls to this instance.
+     *
+     * @param delegate
+     *     The {@link OAuth2Grant} to execute.
+     */
+    public CoalescingGrant(OAuth2Grant delegate)
+    {
+        this(new InFlightTokenRequests(), delegate, delegate);
+    }
+
+
+    /**
+     * Creates a {@link CoalescingGrant} that coalesces concurrent calls with any other {@link CoalescingGrant} that uses the same {@link
+     * InFlightTokenRequests} and an equal key.
+     *
+     * @param inFlightRequests
+     *     The {@link InFlightTokenRequests} to share pending requests with.
+     * @param key
+     *     The key that identifies equivalent requests, i.e. requests with the same grant type, scope and client credentials.
+     * @param delegate
+     *     The {@link OAuth2Grant} to execute.
+     */
+    public CoalescingGrant(InFlightTokenRequests inFlightRequests, Object key, OAuth2Grant delegate)
+    {
+        mInFlightRequests = inFlightRequests;
+        mKey = key;
+        mDelegate = delegate;
+    }
+
+
+    @Override
+    public OAuth2AccessToken accessToken(HttpRequestExecutor executor) throws IOException, ProtocolError, ProtocolException
+    {
+        return mInFlightRequests.accessToken(mKey, mDelegate, executor);
+    }
+
+
+    @Override
+    public CompletionStage<OAuth2AccessToken> accessToken(AsyncHttpRequestExecutor executor)
+    {
+        return mInFlightRequests.accessTokenAsync(mKey, new AsyncGrant(mDelegate), executor);
+    }
+}
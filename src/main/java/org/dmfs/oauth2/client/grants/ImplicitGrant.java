@@ -16,16 +16,17 @@
 
 package org.dmfs.oauth2.client.grants;
 
-import net.iharder.Base64;
-
-import org.dmfs.express.json.elementary.JsonText;
 import org.dmfs.httpessentials.client.HttpRequestExecutor;
 import org.dmfs.httpessentials.exceptions.ProtocolError;
 import org.dmfs.httpessentials.exceptions.ProtocolException;
+import org.dmfs.jems2.iterable.Seq;
 import org.dmfs.oauth2.client.*;
+import org.dmfs.oauth2.client.async.AsyncHttpRequestExecutor;
+import org.dmfs.oauth2.client.async.AsyncOAuth2Grant;
 import org.dmfs.oauth2.client.scope.StringScope;
+import org.dmfs.oauth2.client.state.TaggedGrantFactory;
 import org.dmfs.oauth2.client.tokens.ImplicitGrantAccessToken;
-import org.dmfs.oauth2.client.utils.GrantState;
+import org.dmfs.oauth2.client.utils.BinaryGrantState;
 import org.dmfs.rfc3986.Uri;
 import org.dmfs.rfc3986.encoding.Precoded;
 import org.dmfs.rfc3986.uris.LazyUri;
@@ -34,7 +35,8 @@ import org.json.JSONArray;
 
 import java.io.IOException;
 import java.net.URI;
-import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 
 /**
@@ -42,8 +44,15 @@ import java.nio.charset.StandardCharsets;
  *
  * @author Marten Gajda
  */
-public final class ImplicitGrant implements OAuth2InteractiveGrant
+public final class ImplicitGrant implements OAuth2InteractiveGrant, AsyncOAuth2Grant
 {
+    /**
+     * The {@link OAuth2InteractiveGrantFactory}s that restore the states of this grant, see {@link BuiltInGrantFactories}.
+     */
+    final static Iterable<OAuth2InteractiveGrantFactory> FACTORIES = new Seq<>(
+        new InitialImplicitGrantFactory(),
+        new AuthorizedImplicitGrant.AuthenticatedImplicitGrantFactory());
+
     private final OAuth2Client mClient;
     private final OAuth2Scope mScope;
     private final CharSequence mState;
@@ -99,6 +108,15 @@ public final class ImplicitGrant implements OAuth2InteractiveGrant
     }
 
 
+    @Override
+    public CompletionStage<OAuth2AccessToken> accessToken(AsyncHttpRequestExecutor executor)
+    {
+        CompletableFuture<OAuth2AccessToken> result = new CompletableFuture<>();
+        result.completeExceptionally(new IllegalStateException("first use withRedirectUri(URI) to pass the redirect URI returned by the authorization endpoint."));
+        return result;
+    }
+
+
     @Deprecated
     @Override
     public OAuth2InteractiveGrant.OAuth2GrantState state()
@@ -110,15 +128,21 @@ public final class ImplicitGrant implements OAuth2InteractiveGrant
     @Override
     public String encodedState()
     {
-        return Base64.encodeBytes(
-            new JsonText(new GrantState(InitialImplicitGrantFactory.class, mScope.toString(), mState.toString()))
-                .value()
-                .getBytes(StandardCharsets.UTF_8));
+        return new BinaryGrantState(InitialImplicitGrantFactory.TAG, mScope.toString(), mState).value();
     }
 
 
-    private final static class InitialImplicitGrantFactory implements OAuth2InteractiveGrantFactory
+    private final static class InitialImplicitGrantFactory implements TaggedGrantFactory
     {
+        private final static String TAG = "ig";
+
+
+        @Override
+        public String tag()
+        {
+            return TAG;
+        }
+
 
         @Override
         public OAuth2InteractiveGrant grant(OAuth2Client client, JSONArray arguments)
@@ -139,7 +163,7 @@ public final class ImplicitGrant implements OAuth2InteractiveGrant
      * <p>
      * The next step is to retrieve the {@link OAuth2AccessToken}.
      */
-    private final static class AuthorizedImplicitGrant implements OAuth2InteractiveGrant
+    private final static class AuthorizedImplicitGrant implements OAuth2InteractiveGrant, AsyncOAuth2Grant
     {
         private final OAuth2Client mClient;
         private final Uri mRedirectUri;
@@ -163,6 +187,23 @@ public final class ImplicitGrant implements OAuth2InteractiveGrant
         }
 
 
+        @Override
+        public CompletionStage<OAuth2AccessToken> accessToken(AsyncHttpRequestExecutor executor)
+        {
+            // the token is part of the redirect URI, there is nothing to send
+            CompletableFuture<OAuth2AccessToken> result = new CompletableFuture<>();
+            try
+            {
+                result.complete(new ImplicitGrantAccessToken(mRedirectUri, mScope, mState, mClient.defaultTokenTtl()));
+            }
+            catch (ProtocolException e)
+            {
+                result.completeExceptionally(e);
+            }
+            return result;
+        }
+
+
         @Override
         public URI authorizationUrl()
         {
@@ -188,15 +229,21 @@ public final class ImplicitGrant implements OAuth2InteractiveGrant
         @Override
         public String encodedState()
         {
-            return Base64.encodeBytes(
-                new JsonText(new GrantState(AuthenticatedImplicitGrantFactory.class, new Text(mRedirectUri).toString(), mScope.toString(), mState.toString()))
-                    .value()
-                    .getBytes(StandardCharsets.UTF_8));
+            return new BinaryGrantState(AuthenticatedImplicitGrantFactory.TAG, new Text(mRedirectUri).toString(), mScope.toString(), mState).value();
         }
 
 
-        private final static class AuthenticatedImplicitGrantFactory implements OAuth2InteractiveGrantFactory
+        private final static class AuthenticatedImplicitGrantFactory implements TaggedGrantFactory
         {
+            private final static String TAG = "ig+";
+
+
+            @Override
+            public String tag()
+            {
+                return TAG;
+            }
+
 
             @Override
             public OAuth2InteractiveGrant grant(OAuth2Client client, JSONArray arguments)
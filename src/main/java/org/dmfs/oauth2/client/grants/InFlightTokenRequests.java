@@ -0,0 +1,185 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.grants;
+
+import org.dmfs.httpessentials.client.HttpRequestExecutor;
+import org.dmfs.httpessentials.exceptions.ProtocolError;
+import org.dmfs.httpessentials.exceptions.ProtocolException;
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+import org.dmfs.oauth2.client.OAuth2Grant;
+import org.dmfs.oauth2.client.async.AsyncHttpRequestExecutor;
+import org.dmfs.oauth2.client.async.AsyncOAuth2Grant;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+
+/**
+ * Keeps track of token requests that are currently in flight, so concurrent requests for the same key can share a single round trip to the token
+ * endpoint.
+ * <p>
+ * Keys must implement {@link Object#equals(Object)} and {@link Object#hashCode()}. They should identify the grant type, the scope and the client
+ * credentials of a request, because all requests with equal keys receive the same {@link OAuth2AccessToken}.
+ * <p>
+ * Waiting callers don't hold any monitors, so this is safe to use with virtual threads.
+ *
+ * @see CoalescingGrant
+ */
+public final class InFlightTokenRequests
+{
+    private final ConcurrentMap<Object, CompletableFuture<OAuth2AccessToken>> mInFlight = new ConcurrentHashMap<>();
+
+
+    /**
+     * Returns the {@link OAuth2AccessToken} of the given {@link OAuth2Grant}. If another request with an equal key is in flight already, this waits for
+     * that request and returns its result or throws its exception. Otherwise the grant is executed on the calling thread.
+     *
+     * @param key
+     *     The key that identifies equivalent token requests.
+     * @param grant
+     *     The {@link OAuth2Grant} to execute if no equivalent request is in flight.
+     * @param executor
+     *     An {@link HttpRequestExecutor} to execute the request.
+     *
+     * @return An {@link OAuth2AccessToken}.
+     */
+    public OAuth2AccessToken accessToken(Object key, OAuth2Grant grant, HttpRequestExecutor executor) throws IOException, ProtocolError, ProtocolException
+    {
+        CompletableFuture<OAuth2AccessToken> flight = new CompletableFuture<>();
+        CompletableFuture<OAuth2AccessToken> pendingFlight = mInFlight.putIfAbsent(key, flight);
+        if (pendingFlight != null)
+        {
+            return result(pendingFlight);
+        }
+
+        try
+        {
+            OAuth2AccessToken token = grant.accessToken(executor);
+            flight.complete(token);
+            return token;
+        }
+        catch (Throwable e)
+        {
+            flight.completeExceptionally(e);
+            throw e;
+        }
+        finally
+        {
+            mInFlight.remove(key, flight);
+        }
+    }
+
+
+    /**
+     * Returns a {@link CompletionStage} of the {@link OAuth2AccessToken} of the given {@link AsyncOAuth2Grant}. If another request with an equal key is in
+     * flight already, the result completes with the result of that request. This never blocks.
+     *
+     * @param key
+     *     The key that identifies equivalent token requests.
+     * @param grant
+     *     The {@link AsyncOAuth2Grant} to execute if no equivalent request is in flight.
+     * @param executor
+     *     An {@link AsyncHttpRequestExecutor} to execute the request.
+     *
+     * @return A {@link CompletionStage} of the {@link OAuth2AccessToken}.
+     */
+    public CompletionStage<OAuth2AccessToken> accessTokenAsync(Object key, AsyncOAuth2Grant grant, AsyncHttpRequestExecutor executor)
+    {
+        CompletableFuture<OAuth2AccessToken> flight = new CompletableFuture<>();
+        CompletableFuture<OAuth2AccessToken> pendingFlight = mInFlight.putIfAbsent(key, flight);
+        if (pendingFlight != null)
+        {
+            return shared(pendingFlight);
+        }
+
+        try
+        {
+            grant.accessToken(executor).whenComplete((token, error) -> {
+                if (error == null)
+                {
+                    flight.complete(token);
+                }
+                else
+                {
+                    // blocking callers expect the original exception
+                    flight.completeExceptionally(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                }
+                mInFlight.remove(key, flight);
+            });
+        }
+        catch (RuntimeException e)
+        {
+            flight.completeExceptionally(e);
+            mInFlight.remove(key, flight);
+        }
+        return shared(flight);
+    }
+
+
+    /**
+     * Returns a dependent {@link CompletionStage} of the given flight, so callers can't complete the flight of other callers.
+     */
+    private static CompletionStage<OAuth2AccessToken> shared(CompletableFuture<OAuth2AccessToken> flight)
+    {
+        return flight.thenApply(token -> token);
+    }
+
+
+    private OAuth2AccessToken result(CompletableFuture<OAuth2AccessToken> flight) throws IOException, ProtocolError, ProtocolException
+    {
+        try
+        {
+            return flight.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a pending token request");
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException)
+            {
+                throw (IOException) cause;
+            }
+            if (cause instanceof ProtocolError)
+            {
+                throw (ProtocolError) cause;
+            }
+            if (cause instanceof ProtocolException)
+            {
+                throw (ProtocolException) cause;
+            }
+            if (cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error)
+            {
+                throw (Error) cause;
+            }
+            throw new RuntimeException("Pending token request failed", cause);
+        }
+    }
+}
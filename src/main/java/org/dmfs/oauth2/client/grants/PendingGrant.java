@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.grants;
+
+import org.dmfs.httpessentials.client.HttpRequestExecutor;
+import org.dmfs.httpessentials.exceptions.ProtocolError;
+import org.dmfs.httpessentials.exceptions.ProtocolException;
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+import org.dmfs.oauth2.client.OAuth2InteractiveGrant;
+import org.dmfs.oauth2.client.async.AsyncGrant;
+import org.dmfs.oauth2.client.async.AsyncHttpRequestExecutor;
+import org.dmfs.oauth2.client.async.AsyncOAuth2Grant;
+import org.dmfs.oauth2.client.state.PendingGrantStore;
+import org.dmfs.oauth2.client.state.PendingGrants;
+import org.dmfs.rfc3986.Uri;
+import org.dmfs.rfc3986.encoding.Precoded;
+import org.dmfs.rfc3986.parameters.adapters.TextParameter;
+import org.dmfs.rfc3986.parameters.adapters.XwfueParameterList;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.CompletionStage;
+
+import static org.dmfs.oauth2.client.utils.Parameters.STATE;
+
+
+/**
+ * An {@link OAuth2InteractiveGrant} decorator that puts the decorated grant into a {@link PendingGrantStore} when its authorization URL is requested.
+ * The grant is stored under the {@code state} parameter of the authorization URL, so {@link PendingGrants} can find it when the redirect arrives.
+ * <p>
+ * This works with the {@link AuthorizationCodeGrant} and the {@link ImplicitGrant}, or any other grant that includes a {@code state} in its
+ * authorization URL.
+ * <pre>{@code
+ * URI authorizationUrl = new PendingGrant(store, new AuthorizationCodeGrant(client, scope)).authorizationUrl();
+ * // ... send the user agent to authorizationUrl, then, when the redirect arrives:
+ * OAuth2AccessToken token = new PendingGrants(store).withRedirect(redirectUri).accessToken(executor);
+ * }</pre>
+ */
+public final class PendingGrant implements OAuth2InteractiveGrant, AsyncOAuth2Grant
+{
+    private final PendingGrantStore mStore;
+    private final OAuth2InteractiveGrant mDelegate;
+
+
+    public PendingGrant(PendingGrantStore store, OAuth2InteractiveGrant delegate)
+    {
+        mStore = store;
+        mDelegate = delegate;
+    }
+
+
+    @Override
+    public URI authorizationUrl()
+    {
+        URI authorizationUrl = mDelegate.authorizationUrl();
+        String query = authorizationUrl.getRawQuery();
+        if (query == null)
+        {
+            throw new IllegalStateException("Authorization URL has no state, can't store the grant.");
+        }
+        mStore.put(new TextParameter(STATE, new XwfueParameterList(new Precoded(query))), mDelegate);
+        return authorizationUrl;
+    }
+
+
+    @Override
+    public OAuth2InteractiveGrant withRedirect(Uri redirectUri) throws ProtocolError, ProtocolException
+    {
+        return mDelegate.withRedirect(redirectUri);
+    }
+
+
+    @Override
+    public OAuth2AccessToken accessToken(HttpRequestExecutor executor) throws IOException, ProtocolError, ProtocolException
+    {
+        return mDelegate.accessToken(executor);
+    }
+
+
+    @Override
+    public CompletionStage<OAuth2AccessToken> accessToken(AsyncHttpRequestExecutor executor)
+    {
+        return new AsyncGrant(mDelegate).accessToken(executor);
+    }
+
+
+    @Deprecated
+    @Override
+    public OAuth2GrantState state() throws UnsupportedOperationException
+    {
+        return mDelegate.state();
+    }
+
+
+    @Override
+    public String encodedState()
+    {
+        return mDelegate.encodedState();
+    }
+}
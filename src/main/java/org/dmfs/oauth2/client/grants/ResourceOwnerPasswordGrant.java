@@ -24,9 +24,12 @@ import org.dmfs.oauth2.client.OAuth2AccessToken;
 import org.dmfs.oauth2.client.OAuth2Client;
 import org.dmfs.oauth2.client.OAuth2Grant;
 import org.dmfs.oauth2.client.OAuth2Scope;
+import org.dmfs.oauth2.client.async.AsyncHttpRequestExecutor;
+import org.dmfs.oauth2.client.async.AsyncOAuth2Grant;
 import org.dmfs.oauth2.client.http.requests.ResourceOwnerPasswordTokenRequest;
 
 import java.io.IOException;
+import java.util.concurrent.CompletionStage;
 
 
 /**
@@ -34,7 +37,7 @@ import java.io.IOException;
  *
  * @author Marten Gajda
  */
-public final class ResourceOwnerPasswordGrant implements OAuth2Grant
+public final class ResourceOwnerPasswordGrant implements OAuth2Grant, AsyncOAuth2Grant
 {
     private final OAuth2Client mClient;
     private final OAuth2Scope mScope;
@@ -68,4 +71,11 @@ public final class ResourceOwnerPasswordGrant implements OAuth2Grant
     {
         return mClient.accessToken(new ResourceOwnerPasswordTokenRequest(mScope, mUsername, mPassword), executor);
     }
+
+
+    @Override
+    public CompletionStage<OAuth2AccessToken> accessToken(AsyncHttpRequestExecutor executor)
+    {
+        return mClient.accessTokenAsync(new ResourceOwnerPasswordTokenRequest(mScope, mUsername, mPassword), executor);
+    }
 }
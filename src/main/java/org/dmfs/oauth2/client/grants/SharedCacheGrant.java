@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.grants;
+
+import org.dmfs.httpessentials.client.HttpRequestExecutor;
+import org.dmfs.httpessentials.exceptions.ProtocolError;
+import org.dmfs.httpessentials.exceptions.ProtocolException;
+import org.dmfs.jems.optional.Optional;
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+import org.dmfs.oauth2.client.OAuth2Grant;
+import org.dmfs.oauth2.client.OAuth2InvalidatableGrant;
+import org.dmfs.oauth2.client.async.AsyncGrant;
+import org.dmfs.oauth2.client.async.AsyncHttpRequestExecutor;
+import org.dmfs.oauth2.client.async.AsyncOAuth2Grant;
+import org.dmfs.oauth2.client.cache.TokenCache;
+import org.dmfs.oauth2.client.cache.TokenCacheKey;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+
+/**
+ * An {@link OAuth2Grant} decorator that stores the tokens of the decorated grant in a {@link TokenCache} which may be shared among many grants, clients
+ * and token endpoints.
+ * <p>
+ * Unlike {@link CachingGrant}, the cache survives the grant instance, so a new grant can be created for every request:
+ * <pre>{@code
+ * OAuth2AccessToken token = new SharedCacheGrant(
+ *     cache,
+ *     new TokenCacheKey(clientId, tokenEndpoint, scope, "client_credentials"),
+ *     new ClientCredentialsGrant(client, scope)).accessToken(executor);
+ * }</pre>
+ * Tokens obtained by non-blocking calls (see {@link AsyncOAuth2Grant}) are stored as well. This requires the decorated grant to support non-blocking
+ * requests.
+ */
+public final class SharedCacheGrant implements OAuth2InvalidatableGrant, AsyncOAuth2Grant
+{
+    private final TokenCache mCache;
+    private final TokenCacheKey mKey;
+    private final OAuth2Grant mDelegate;
+
+
+    /**
+     * Creates a {@link SharedCacheGrant}.
+     *
+     * @param cache
+     *     The {@link TokenCache} to use.
+     * @param key
+     *     The {@link TokenCacheKey} of the tokens of the decorated grant.
+     * @param delegate
+     *     The {@link OAuth2Grant} to get new tokens from.
+     */
+    public SharedCacheGrant(TokenCache cache, TokenCacheKey key, OAuth2Grant delegate)
+    {
+        mCache = cache;
+        mKey = key;
+        mDelegate = delegate;
+    }
+
+
+    @Override
+    public OAuth2AccessToken accessToken(HttpRequestExecutor executor) throws IOException, ProtocolError, ProtocolException
+    {
+        Optional<OAuth2AccessToken> cachedToken = mCache.token(mKey);
+        if (cachedToken.isPresent())
+        {
+            return cachedToken.value();
+        }
+        OAuth2AccessToken token = mDelegate.accessToken(executor);
+        mCache.put(mKey, token);
+        return token;
+    }
+
+
+    @Override
+    public CompletionStage<OAuth2AccessToken> accessToken(AsyncHttpRequestExecutor executor)
+    {
+        Optional<OAuth2AccessToken> cachedToken = mCache.token(mKey);
+        if (cachedToken.isPresent())
+        {
+            return CompletableFuture.completedFuture(cachedToken.value());
+        }
+        return new AsyncGrant(mDelegate).accessToken(executor).thenApply(token -> {
+            mCache.put(mKey, token);
+            return token;
+        });
+    }
+
+
+    @Override
+    public void invalidate(OAuth2AccessToken token)
+    {
+        mCache.invalidate(mKey, token);
+    }
+}
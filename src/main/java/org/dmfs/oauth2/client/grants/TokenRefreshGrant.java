@@ -22,9 +22,14 @@ import org.dmfs.httpessentials.exceptions.ProtocolException;
 import org.dmfs.oauth2.client.OAuth2AccessToken;
 import org.dmfs.oauth2.client.OAuth2Client;
 import org.dmfs.oauth2.client.OAuth2Grant;
+import org.dmfs.oauth2.client.async.AsyncHttpRequestExecutor;
+import org.dmfs.oauth2.client.async.AsyncOAuth2Grant;
 import org.dmfs.oauth2.client.http.requests.RefreshTokenRequest;
 
 import java.io.IOException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 
 /**
@@ -32,7 +37,7 @@ import java.io.IOException;
  *
  * @author Marten Gajda
  */
-public final class TokenRefreshGrant implements OAuth2Grant
+public final class TokenRefreshGrant implements OAuth2Grant, AsyncOAuth2Grant
 {
     private final OAuth2Client mClient;
     private final OAuth2AccessToken mAccessToken;
@@ -58,4 +63,21 @@ public final class TokenRefreshGrant implements OAuth2Grant
     {
         return mClient.accessToken(new RefreshTokenRequest(mAccessToken.scope(), mAccessToken.refreshToken()), executor);
     }
+
+
+    @Override
+    public CompletionStage<OAuth2AccessToken> accessToken(AsyncHttpRequestExecutor executor)
+    {
+        try
+        {
+            return mClient.accessTokenAsync(new RefreshTokenRequest(mAccessToken.scope(), mAccessToken.refreshToken()), executor);
+        }
+        catch (ProtocolException | NoSuchElementException e)
+        {
+            // the token has no refresh token or its values can't be read
+            CompletableFuture<OAuth2AccessToken> result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+            return result;
+        }
+    }
 }
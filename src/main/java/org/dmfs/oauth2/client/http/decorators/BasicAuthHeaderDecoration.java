@@ -21,17 +21,21 @@ import net.iharder.Base64;
 import org.dmfs.httpessentials.converters.PlainStringHeaderConverter;
 import org.dmfs.httpessentials.decoration.Decoration;
 import org.dmfs.httpessentials.headers.BasicSingletonHeaderType;
+import org.dmfs.httpessentials.headers.Header;
 import org.dmfs.httpessentials.headers.HeaderType;
 import org.dmfs.httpessentials.headers.Headers;
 import org.dmfs.httpessentials.headers.UpdatedHeaders;
 
-import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
 
 
 /**
  * Header decoration for adding a Basic Authorization header.
  * <p>
  * Null username or password is treated as empty strings.
+ * <p>
+ * The header is built once, when the decoration is created, so decorating a request doesn't cost anything. Instances should be reused for all
+ * requests with the same credentials.
  *
  * @author Marten Gajda
  * @author Gabor Keszthelyi
@@ -40,10 +44,10 @@ import java.io.UnsupportedEncodingException;
 public final class BasicAuthHeaderDecoration implements Decoration<Headers>
 {
     // TODO: use a generic authorization header instead (once we have one)
-    private final HeaderType<String> AUTHORIZATION_HEADER_TYPE = new BasicSingletonHeaderType<String>("Authorization", new PlainStringHeaderConverter());
+    private final static HeaderType<String> AUTHORIZATION_HEADER_TYPE = new BasicSingletonHeaderType<String>("Authorization",
+        new PlainStringHeaderConverter());
 
-    private final String mUsername;
-    private final String mPassword;
+    private final Header<String> mAuthorizationHeader;
 
 
     public BasicAuthHeaderDecoration(String username, String password)
@@ -56,28 +60,14 @@ public final class BasicAuthHeaderDecoration implements Decoration<Headers>
         {
             throw new IllegalArgumentException("password must not be null");
         }
-        mUsername = username;
-        mPassword = password;
+        mAuthorizationHeader = AUTHORIZATION_HEADER_TYPE.entity(
+            "Basic " + Base64.encodeBytes((username + ':' + password).getBytes(StandardCharsets.UTF_8)));
     }
 
 
     @Override
     public Headers decorated(Headers original)
     {
-        String authHeaderValue = "Basic " + Base64.encodeBytes(usernameAndPasswordBytes());
-        return new UpdatedHeaders(original, AUTHORIZATION_HEADER_TYPE.entity(authHeaderValue));
-    }
-
-
-    private byte[] usernameAndPasswordBytes()
-    {
-        try
-        {
-            return String.format("%s:%s", mUsername, mPassword).getBytes("UTF-8");
-        }
-        catch (UnsupportedEncodingException e)
-        {
-            throw new RuntimeException("Charset UTF-8 not supported by runtime!", e);
-        }
+        return new UpdatedHeaders(original, mAuthorizationHeader);
     }
 }
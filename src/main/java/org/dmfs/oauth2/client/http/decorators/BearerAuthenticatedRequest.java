@@ -21,10 +21,8 @@ import org.dmfs.httpessentials.client.HttpRequest;
 import org.dmfs.httpessentials.client.HttpRequestEntity;
 import org.dmfs.httpessentials.client.HttpResponse;
 import org.dmfs.httpessentials.client.HttpResponseHandler;
-import org.dmfs.httpessentials.converters.PlainStringHeaderConverter;
 import org.dmfs.httpessentials.exceptions.ProtocolError;
 import org.dmfs.httpessentials.exceptions.ProtocolException;
-import org.dmfs.httpessentials.headers.BasicSingletonHeaderType;
 import org.dmfs.httpessentials.headers.Headers;
 import org.dmfs.oauth2.client.OAuth2AccessToken;
 
@@ -33,6 +31,8 @@ import java.io.IOException;
 
 /**
  * An {@link HttpRequest} decorator that adds a Bearer authorization header.
+ * <p>
+ * To reuse the header across requests, create a {@link BearerAuthorization} once per token and pass it instead of the token.
  *
  * @param <T>
  *     The type of the expected response.
@@ -41,19 +41,20 @@ import java.io.IOException;
  */
 public final class BearerAuthenticatedRequest<T> implements HttpRequest<T>
 {
-    // TODO: use a generic authorization header instead (once we have one)
-    private final static BasicSingletonHeaderType<String> AUTHORIZATION_HEADER = new BasicSingletonHeaderType<String>(
-        "Authorization",
-        new PlainStringHeaderConverter());
-
-    private final OAuth2AccessToken mAccessToken;
+    private final BearerAuthorization mAuthorization;
     private final HttpRequest<T> mDecorated;
 
 
     public BearerAuthenticatedRequest(HttpRequest<T> decorated, OAuth2AccessToken accessToken)
+    {
+        this(decorated, new BearerAuthorization(accessToken));
+    }
+
+
+    public BearerAuthenticatedRequest(HttpRequest<T> decorated, BearerAuthorization authorization)
     {
         mDecorated = decorated;
-        mAccessToken = accessToken;
+        mAuthorization = authorization;
     }
 
 
@@ -66,16 +67,10 @@ public final class BearerAuthenticatedRequest<T> implements HttpRequest<T>
 
     @Override
     public Headers headers()
-    {
-        return mDecorated.headers().withHeader(AUTHORIZATION_HEADER.entityFromString("Bearer " + getAccessToken().toString()));
-    }
-
-
-    private CharSequence getAccessToken()
     {
         try
         {
-            return mAccessToken.accessToken();
+            return mDecorated.headers().withHeader(mAuthorization.header());
         }
         catch (ProtocolException e)
         {
@@ -96,5 +91,4 @@ public final class BearerAuthenticatedRequest<T> implements HttpRequest<T>
     {
         return mDecorated.responseHandler(response);
     }
-
 }
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.http.decorators;
+
+import org.dmfs.httpessentials.HttpMethod;
+import org.dmfs.httpessentials.HttpStatus;
+import org.dmfs.httpessentials.client.HttpRequest;
+import org.dmfs.httpessentials.client.HttpRequestEntity;
+import org.dmfs.httpessentials.client.HttpRequestExecutor;
+import org.dmfs.httpessentials.client.HttpResponse;
+import org.dmfs.httpessentials.client.HttpResponseHandler;
+import org.dmfs.httpessentials.converters.PlainStringHeaderConverter;
+import org.dmfs.httpessentials.exceptions.ProtocolError;
+import org.dmfs.httpessentials.exceptions.ProtocolException;
+import org.dmfs.httpessentials.exceptions.RedirectionException;
+import org.dmfs.httpessentials.exceptions.UnexpectedStatusException;
+import org.dmfs.httpessentials.headers.BasicSingletonHeaderType;
+import org.dmfs.httpessentials.headers.Headers;
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+import org.dmfs.oauth2.client.OAuth2Grant;
+import org.dmfs.oauth2.client.OAuth2InvalidatableGrant;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.regex.Pattern;
+
+
+/**
+ * An {@link HttpRequestExecutor} decorator that authenticates all requests with a Bearer token of the given {@link OAuth2Grant}.
+ * <p>
+ * If the resource server rejects the token with a {@code 401} response and a {@code WWW-Authenticate: Bearer error="invalid_token"} header (see <a
+ * href="https://tools.ietf.org/html/rfc6750#section-3.1">RFC 6750, Section 3.1</a>), e.g. because it has been revoked, the token is invalidated and the
+ * request is sent once more with a new token. Any other response, including the response to the second attempt, is handled by the request as usual.
+ * <p>
+ * The grant should cache its tokens and implement {@link OAuth2InvalidatableGrant}, like the {@link org.dmfs.oauth2.client.grants.CachingGrant} or the
+ * {@link org.dmfs.oauth2.client.grants.SharedCacheGrant}. To make sure concurrent requests that are rejected at the same time share a single token
+ * request, decorate the actual grant with a {@link org.dmfs.oauth2.client.grants.CoalescingGrant}:
+ * <pre>{@code
+ * HttpRequestExecutor authenticated = new BearerAuthenticatingExecutor(
+ *     executor,
+ *     new CachingGrant(new CoalescingGrant(new ClientCredentialsGrant(client, scope))));
+ * }</pre>
+ * The Authorization header is built once per token and reused by all requests with the same token.
+ * <p>
+ * Note that the request is replayed, so its request entity must support being written more than once.
+ */
+public final class BearerAuthenticatingExecutor implements HttpRequestExecutor
+{
+    private final static BasicSingletonHeaderType<String> WWW_AUTHENTICATE_HEADER = new BasicSingletonHeaderType<>(
+        "WWW-Authenticate",
+        new PlainStringHeaderConverter());
+    private final static Pattern INVALID_TOKEN_CHALLENGE = Pattern.compile("(?i)\\bBearer\\b.*\\berror\\s*=\\s*\"?invalid_token\\b");
+
+    private final HttpRequestExecutor mDelegate;
+    private final OAuth2Grant mGrant;
+    private final HttpRequestExecutor mTokenExecutor;
+    private volatile BearerAuthorization mAuthorization;
+
+
+    /**
+     * Creates a {@link BearerAuthenticatingExecutor} that also uses the given {@link HttpRequestExecutor} to request tokens.
+     *
+     * @param delegate
+     *     The {@link HttpRequestExecutor} to execute the authenticated requests.
+     * @param grant
+     *     The {@link OAuth2Grant} to get the tokens from.
+     */
+    public BearerAuthenticatingExecutor(HttpRequestExecutor delegate, OAuth2Grant grant)
+    {
+        this(delegate, grant, delegate);
+    }
+
+
+    /**
+     * Creates a {@link BearerAuthenticatingExecutor}.
+     *
+     * @param delegate
+     *     The {@link HttpRequestExecutor} to execute the authenticated requests.
+     * @param grant
+     *     The {@link OAuth2Grant} to get the tokens from.
+     * @param tokenExecutor
+     *     The {@link HttpRequestExecutor} to execute the token requests.
+     */
+    public BearerAuthenticatingExecutor(HttpRequestExecutor delegate, OAuth2Grant grant, HttpRequestExecutor tokenExecutor)
+    {
+        mDelegate = delegate;
+        mGrant = grant;
+        mTokenExecutor = tokenExecutor;
+    }
+
+
+    @Override
+    public <T> T execute(URI uri, HttpRequest<T> request)
+        throws IOException, ProtocolError, ProtocolException, RedirectionException, UnexpectedStatusException
+    {
+        OAuth2AccessToken token = mGrant.accessToken(mTokenExecutor);
+        try
+        {
+            return mDelegate.execute(uri, new TokenRejectionDetecting<>(new BearerAuthenticatedRequest<>(request, authorization(token))));
+        }
+        catch (TokenRejected rejected)
+        {
+            if (mGrant instanceof OAuth2InvalidatableGrant)
+            {
+                ((OAuth2InvalidatableGrant) mGrant).invalidate(token);
+            }
+            return mDelegate.execute(uri, new BearerAuthenticatedRequest<>(request, authorization(mGrant.accessToken(mTokenExecutor))));
+        }
+    }
+
+
+    /**
+     * Returns the {@link BearerAuthorization} of the given token, reusing the one of the previous request if it was made with the same token.
+     */
+    private BearerAuthorization authorization(OAuth2AccessToken token)
+    {
+        BearerAuthorization authorization = mAuthorization;
+        if (authorization == null || !authorization.isOf(token))
+        {
+            authorization = new BearerAuthorization(token);
+            mAuthorization = authorization;
+        }
+        return authorization;
+    }
+
+
+    /**
+     * An {@link HttpRequest} decorator that aborts the execution with a {@link TokenRejected} exception if the response indicates an invalid token.
+     */
+    private final static class TokenRejectionDetecting<T> implements HttpRequest<T>
+    {
+        private final HttpRequest<T> mDelegate;
+
+
+        private TokenRejectionDetecting(HttpRequest<T> delegate)
+        {
+            mDelegate = delegate;
+        }
+
+
+        @Override
+        public HttpMethod method()
+        {
+            return mDelegate.method();
+        }
+
+
+        @Override
+        public Headers headers()
+        {
+            return mDelegate.headers();
+        }
+
+
+        @Override
+        public HttpRequestEntity requestEntity()
+        {
+            return mDelegate.requestEntity();
+        }
+
+
+        @Override
+        public HttpResponseHandler<T> responseHandler(HttpResponse response) throws IOException, ProtocolError, ProtocolException
+        {
+            if (response.status().statusCode() == HttpStatus.UNAUTHORIZED.statusCode()
+                && response.headers().contains(WWW_AUTHENTICATE_HEADER)
+                && INVALID_TOKEN_CHALLENGE.matcher(response.headers().header(WWW_AUTHENTICATE_HEADER).value()).find())
+            {
+                throw TokenRejected.INSTANCE;
+            }
+            return mDelegate.responseHandler(response);
+        }
+    }
+
+
+    /**
+     * Thrown to abort a request when the token has been rejected. It has no stack trace, so it's cheap to throw.
+     */
+    private final static class TokenRejected extends RuntimeException
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final static TokenRejected INSTANCE = new TokenRejected();
+
+
+        private TokenRejected()
+        {
+            super("token rejected", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.http.decorators;
+
+import org.dmfs.httpessentials.converters.PlainStringHeaderConverter;
+import org.dmfs.httpessentials.exceptions.ProtocolException;
+import org.dmfs.httpessentials.headers.BasicSingletonHeaderType;
+import org.dmfs.httpessentials.headers.Header;
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+
+
+/**
+ * The Bearer authorization header of an {@link OAuth2AccessToken}.
+ * <p>
+ * The header is built once and shared by all {@link BearerAuthenticatedRequest}s that are created with the same {@link BearerAuthorization}, so create one
+ * instance per token and reuse it for all requests:
+ * <pre>{@code
+ * BearerAuthorization authorization = new BearerAuthorization(token);
+ * ...
+ * result = executor.execute(url, new BearerAuthenticatedRequest<>(request, authorization));
+ * }</pre>
+ * The header is keyed by the identity of the {@link CharSequence} returned by {@link OAuth2AccessToken#accessToken()}, so a token that returns a new access
+ * token, like a refreshed one, gets a new header. Access token {@link CharSequence}s are expected to be immutable.
+ */
+public final class BearerAuthorization
+{
+    // TODO: use a generic authorization header instead (once we have one)
+    private final static BasicSingletonHeaderType<String> AUTHORIZATION_HEADER = new BasicSingletonHeaderType<String>(
+        "Authorization",
+        new PlainStringHeaderConverter());
+
+    private final OAuth2AccessToken mAccessToken;
+    private volatile CachedHeader mCachedHeader;
+
+
+    /**
+     * Creates the {@link BearerAuthorization} of the given {@link OAuth2AccessToken}.
+     *
+     * @param accessToken
+     *     The {@link OAuth2AccessToken} to authorize requests with.
+     */
+    public BearerAuthorization(OAuth2AccessToken accessToken)
+    {
+        mAccessToken = accessToken;
+    }
+
+
+    /**
+     * Returns the Authorization header of the current access token.
+     *
+     * @throws ProtocolException
+     *     If the access token can't be read.
+     */
+    public Header<String> header() throws ProtocolException
+    {
+        CharSequence accessToken = mAccessToken.accessToken();
+        CachedHeader cachedHeader = mCachedHeader;
+        if (cachedHeader != null && cachedHeader.mAccessToken == accessToken)
+        {
+            return cachedHeader.mHeader;
+        }
+        Header<String> header = AUTHORIZATION_HEADER.entity("Bearer " + accessToken.toString());
+        mCachedHeader = new CachedHeader(accessToken, header);
+        return header;
+    }
+
+
+    /**
+     * Returns whether this is the {@link BearerAuthorization} of the given {@link OAuth2AccessToken} instance.
+     */
+    boolean isOf(OAuth2AccessToken accessToken)
+    {
+        return mAccessToken == accessToken;
+    }
+
+
+    /**
+     * An authorization header and the access token it was built from.
+     */
+    private final static class CachedHeader
+    {
+        private final CharSequence mAccessToken;
+        private final Header<String> mHeader;
+
+
+        private CachedHeader(CharSequence accessToken, Header<String> header)
+        {
+            mAccessToken = accessToken;
+            mHeader = header;
+        }
+    }
+}
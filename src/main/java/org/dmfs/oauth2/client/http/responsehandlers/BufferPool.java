@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.http.responsehandlers;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+
+/**
+ * A small lock-free pool of byte arrays.
+ * <p>
+ * Unlike a {@link ThreadLocal} this doesn't keep a buffer per thread, which matters when there are many (virtual) threads. If the pool is empty a new
+ * buffer is returned, if it's full a released buffer is dropped.
+ */
+final class BufferPool
+{
+    private final AtomicReferenceArray<byte[]> mBuffers;
+    private final int mBufferSize;
+    private final int mMaxRetainedSize;
+
+
+    /**
+     * @param capacity
+     *     The maximum number of buffers to keep.
+     * @param bufferSize
+     *     The size of new buffers.
+     * @param maxRetainedSize
+     *     The size of the largest buffer to keep, larger buffers are not returned to the pool.
+     */
+    BufferPool(int capacity, int bufferSize, int maxRetainedSize)
+    {
+        mBuffers = new AtomicReferenceArray<>(capacity);
+        mBufferSize = bufferSize;
+        mMaxRetainedSize = maxRetainedSize;
+    }
+
+
+    byte[] acquire()
+    {
+        int length = mBuffers.length();
+        int start = probe();
+        for (int i = 0; i < length; ++i)
+        {
+            byte[] buffer = mBuffers.getAndSet((start + i) % length, null);
+            if (buffer != null)
+            {
+                return buffer;
+            }
+        }
+        return new byte[mBufferSize];
+    }
+
+
+    void release(byte[] buffer)
+    {
+        if (buffer.length > mMaxRetainedSize)
+        {
+            return;
+        }
+        int length = mBuffers.length();
+        int start = probe();
+        for (int i = 0; i < length; ++i)
+        {
+            int index = (start + i) % length;
+            if (mBuffers.get(index) == null && mBuffers.compareAndSet(index, null, buffer))
+            {
+                return;
+            }
+        }
+    }
+
+
+    /**
+     * Returns the slot to start at, so concurrent threads don't all compete for the first slot.
+     */
+    private int probe()
+    {
+        return (int) (Thread.currentThread().getId() & Integer.MAX_VALUE) % mBuffers.length();
+    }
+}
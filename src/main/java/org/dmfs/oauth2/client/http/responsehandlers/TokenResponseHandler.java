@@ -20,26 +20,28 @@ import org.dmfs.httpessentials.client.HttpResponse;
 import org.dmfs.httpessentials.client.HttpResponseHandler;
 import org.dmfs.httpessentials.exceptions.ProtocolError;
 import org.dmfs.httpessentials.exceptions.ProtocolException;
-import org.dmfs.httpessentials.responsehandlers.StringResponseHandler;
 import org.dmfs.httpessentials.types.MediaType;
 import org.dmfs.httpessentials.types.StructuredMediaType;
 import org.dmfs.oauth2.client.OAuth2AccessToken;
 import org.dmfs.oauth2.client.OAuth2Scope;
-import org.dmfs.oauth2.client.tokens.JsonAccessToken;
-import org.json.JSONException;
-import org.json.JSONObject;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 
 /**
  * {@link HttpResponseHandler} for OAuth2 token responses.
+ * <p>
+ * The response is read into a pooled buffer and parsed in a single pass, without creating an intermediate String or JSON object.
  *
  * @author Marten Gajda
  */
 public final class TokenResponseHandler implements HttpResponseHandler<OAuth2AccessToken>
 {
     private final static MediaType APPLICATION_JSON = new StructuredMediaType("application", "json");
+    private final static BufferPool BUFFERS = new BufferPool(32, 4096, 64 * 1024);
 
     private final OAuth2Scope mScope;
 
@@ -60,14 +62,35 @@ public final class TokenResponseHandler implements HttpResponseHandler<OAuth2Acc
                     response.responseEntity().contentType().value(), APPLICATION_JSON));
         }
 
-        String responseString = new StringResponseHandler("UTF-8").handleResponse(response);
+        byte[] buffer = BUFFERS.acquire();
         try
         {
-            return new JsonAccessToken(new JSONObject(responseString), mScope);
+            int length = 0;
+            try (InputStream in = response.responseEntity().contentStream())
+            {
+                int read;
+                while ((read = in.read(buffer, length, buffer.length - length)) >= 0)
+                {
+                    length += read;
+                    if (length == buffer.length)
+                    {
+                        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                    }
+                }
+            }
+
+            try
+            {
+                return new TokenResponseParser(buffer, length).accessToken(mScope, System.currentTimeMillis());
+            }
+            catch (ProtocolException e)
+            {
+                throw new ProtocolException(String.format("Can't decode JSON response %s", new String(buffer, 0, length, StandardCharsets.UTF_8)), e);
+            }
         }
-        catch (JSONException e)
+        finally
         {
-            throw new ProtocolException(String.format("Can't decode JSON response %s", responseString), e);
+            BUFFERS.release(buffer);
         }
     }
 }
\ No newline at end of file
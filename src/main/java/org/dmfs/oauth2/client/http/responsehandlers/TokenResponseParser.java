@@ -0,0 +1,491 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.http.responsehandlers;
+
+import org.dmfs.httpessentials.exceptions.ProtocolException;
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+import org.dmfs.oauth2.client.OAuth2Scope;
+import org.dmfs.oauth2.client.tokens.ParsedAccessToken;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * A single pass parser of UTF-8 encoded token responses.
+ * <p>
+ * Like with {@link org.dmfs.oauth2.client.tokens.JsonAccessToken}, all members of the response are available as {@link String}s via
+ * {@link OAuth2AccessToken#extraParameter(String)}. String values are returned without quotes and escapes, any other values are returned as they appear in
+ * the response. Like with org.json, duplicate members and anything that's not valid JSON are rejected. The given buffer is not retained, so it can be reused
+ * once the token has been parsed.
+ */
+final class TokenResponseParser
+{
+    private final static int MAX_DEPTH = 64;
+    /**
+     * The largest {@code expires_in} value that's taken literally, about 100 years. The difference of two {@link System#nanoTime()} values overflows after
+     * about 292 years.
+     */
+    private final static long MAX_EXPIRES_IN_SECONDS = TimeUnit.DAYS.toSeconds(36500);
+
+    private final byte[] mBuffer;
+    private final int mLength;
+    private int mPosition;
+
+
+    TokenResponseParser(byte[] buffer, int length)
+    {
+        mBuffer = buffer;
+        mLength = length;
+    }
+
+
+    /**
+     * Parses the token response.
+     *
+     * @param requestedScope
+     *     The scope that was requested.
+     * @param now
+     *     The current time in milliseconds since the epoch, the expiration time is relative to this.
+     *
+     * @throws ProtocolException
+     *     If the response is not a valid JSON object.
+     */
+    OAuth2AccessToken accessToken(OAuth2Scope requestedScope, long now) throws ProtocolException
+    {
+        String accessToken = null;
+        String tokenType = null;
+        String refreshToken = null;
+        Long expirationMillis = null;
+        String scope = null;
+        Map<String, String> extraParameters = null;
+        Set<String> names = new HashSet<>(16);
+
+        skipWhitespace();
+        expect('{');
+        skipWhitespace();
+        if (peek() == '}')
+        {
+            mPosition += 1;
+        }
+        else
+        {
+            while (true)
+            {
+                String name = string();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                if (!names.add(name))
+                {
+                    throw error(String.format("Duplicate member '%s'", name));
+                }
+                // all members are available as extra parameters, like with JsonAccessToken
+                String value = stringValue();
+                switch (name)
+                {
+                    case "access_token":
+                        accessToken = value;
+                        break;
+                    case "token_type":
+                        tokenType = value;
+                        break;
+                    case "refresh_token":
+                        refreshToken = value;
+                        break;
+                    case "scope":
+                        scope = value;
+                        break;
+                    case "expires_in":
+                        expirationMillis = expirationMillis(value, now);
+                        break;
+                    default:
+                        // nothing else is known
+                }
+                if (value != null)
+                {
+                    if (extraParameters == null)
+                    {
+                        extraParameters = new HashMap<>(8);
+                    }
+                    extraParameters.put(name, value);
+                }
+                skipWhitespace();
+                int next = next();
+                if (next == '}')
+                {
+                    break;
+                }
+                if (next != ',')
+                {
+                    throw error("Expected ',' or '}'");
+                }
+                skipWhitespace();
+            }
+        }
+        skipWhitespace();
+        if (mPosition != mLength)
+        {
+            throw error("Unexpected content after the token response");
+        }
+
+        return new ParsedAccessToken(accessToken, tokenType, refreshToken, expirationMillis, scope, requestedScope,
+            extraParameters == null ? Collections.<String, String>emptyMap() : extraParameters);
+    }
+
+
+    /**
+     * Returns the given JSON string content with all escape sequences resolved. The content must have been validated already.
+     */
+    private static String unescaped(String content)
+    {
+        int escape = content.indexOf('\\');
+        if (escape < 0)
+        {
+            return content;
+        }
+        StringBuilder result = new StringBuilder(content.length());
+        result.append(content, 0, escape);
+        for (int i = escape; i < content.length(); ++i)
+        {
+            char c = content.charAt(i);
+            if (c != '\\')
+            {
+                result.append(c);
+                continue;
+            }
+            char escaped = content.charAt(++i);
+            switch (escaped)
+            {
+                case 'b':
+                    result.append('\b');
+                    break;
+                case 'f':
+                    result.append('\f');
+                    break;
+                case 'n':
+                    result.append('\n');
+                    break;
+                case 'r':
+                    result.append('\r');
+                    break;
+                case 't':
+                    result.append('\t');
+                    break;
+                case 'u':
+                    result.append((char) Integer.parseInt(content.substring(i + 1, i + 5), 16));
+                    i += 4;
+                    break;
+                default:
+                    // '"', '\\' and '/'
+                    result.append(escaped);
+            }
+        }
+        return result.toString();
+    }
+
+
+    /**
+     * Returns a string value, the raw text of any other value or {@code null} if the value is {@code null}.
+     */
+    private String stringValue() throws ProtocolException
+    {
+        if (peek() == '"')
+        {
+            return string();
+        }
+        int start = mPosition;
+        skipValue(0);
+        String raw = new String(mBuffer, start, mPosition - start, StandardCharsets.UTF_8);
+        return "null".equals(raw) ? null : raw;
+    }
+
+
+    /**
+     * Returns the expiration time of a numeric or string {@code expires_in} value or {@code null} if the value is absent or not a valid number. Values
+     * beyond {@link #MAX_EXPIRES_IN_SECONDS} are clamped, so the expiration time can't overflow.
+     */
+    private static Long expirationMillis(String value, long now)
+    {
+        if (value == null)
+        {
+            return null;
+        }
+        long expiresIn;
+        try
+        {
+            expiresIn = Long.parseLong(value);
+        }
+        catch (NumberFormatException e)
+        {
+            try
+            {
+                double parsed = Double.parseDouble(value);
+                if (Double.isNaN(parsed) || Double.isInfinite(parsed))
+                {
+                    return null;
+                }
+                // the cast saturates, the value is clamped below
+                expiresIn = (long) parsed;
+            }
+            catch (NumberFormatException e2)
+            {
+                // the error is reported when the expiration date is requested
+                return null;
+            }
+        }
+        return now + Math.max(-MAX_EXPIRES_IN_SECONDS, Math.min(MAX_EXPIRES_IN_SECONDS, expiresIn)) * 1000L;
+    }
+
+
+    private String string() throws ProtocolException
+    {
+        int start = mPosition + 1;
+        boolean escaped = skipString();
+        String content = new String(mBuffer, start, mPosition - start - 1, StandardCharsets.UTF_8);
+        return escaped ? unescaped(content) : content;
+    }
+
+
+    /**
+     * Skips and validates a string. Returns whether the string contains any escape sequences.
+     */
+    private boolean skipString() throws ProtocolException
+    {
+        expect('"');
+        boolean escaped = false;
+        while (true)
+        {
+            int c = next();
+            if (c == '"')
+            {
+                return escaped;
+            }
+            if (c == '\\')
+            {
+                escaped = true;
+                int e = next();
+                if (e == 'u')
+                {
+                    for (int i = 0; i < 4; ++i)
+                    {
+                        if (Character.digit(next(), 16) < 0)
+                        {
+                            throw error("Invalid unicode escape sequence");
+                        }
+                    }
+                }
+                else if ("\"\\/bfnrt".indexOf(e) < 0)
+                {
+                    throw error("Invalid escape sequence");
+                }
+            }
+            else if (c < 0x20)
+            {
+                throw error("Unescaped control character in string");
+            }
+        }
+    }
+
+
+    private void skipValue(int depth) throws ProtocolException
+    {
+        if (depth > MAX_DEPTH)
+        {
+            throw error("Nesting too deep");
+        }
+        int c = peek();
+        switch (c)
+        {
+            case '"':
+                skipString();
+                break;
+            case '{':
+                skipContainer('}', depth, true);
+                break;
+            case '[':
+                skipContainer(']', depth, false);
+                break;
+            case 't':
+                skipLiteral("true");
+                break;
+            case 'f':
+                skipLiteral("false");
+                break;
+            case 'n':
+                skipLiteral("null");
+                break;
+            default:
+                skipNumber();
+        }
+    }
+
+
+    private void skipContainer(char end, int depth, boolean members) throws ProtocolException
+    {
+        mPosition += 1;
+        skipWhitespace();
+        if (peek() == end)
+        {
+            mPosition += 1;
+            return;
+        }
+        while (true)
+        {
+            if (members)
+            {
+                skipString();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+            }
+            skipValue(depth + 1);
+            skipWhitespace();
+            int next = next();
+            if (next == end)
+            {
+                return;
+            }
+            if (next != ',')
+            {
+                throw error(String.format("Expected ',' or '%c'", end));
+            }
+            skipWhitespace();
+        }
+    }
+
+
+    private void skipLiteral(String literal) throws ProtocolException
+    {
+        for (int i = 0; i < literal.length(); ++i)
+        {
+            if (next() != literal.charAt(i))
+            {
+                throw error("Invalid literal");
+            }
+        }
+    }
+
+
+    /**
+     * Skips a number according to the JSON grammar {@code -?(0|[1-9][0-9]*)(\.[0-9]+)?([eE][+-]?[0-9]+)?}.
+     */
+    private void skipNumber() throws ProtocolException
+    {
+        int start = mPosition;
+        if (peek() == '-')
+        {
+            mPosition += 1;
+        }
+        if (peek() == '0')
+        {
+            mPosition += 1;
+        }
+        else if (skipDigits() == 0)
+        {
+            mPosition = start;
+            throw error("Invalid value");
+        }
+        if (peek() == '.')
+        {
+            mPosition += 1;
+            if (skipDigits() == 0)
+            {
+                throw error("Invalid number");
+            }
+        }
+        if (peek() == 'e' || peek() == 'E')
+        {
+            mPosition += 1;
+            if (peek() == '+' || peek() == '-')
+            {
+                mPosition += 1;
+            }
+            if (skipDigits() == 0)
+            {
+                throw error("Invalid number");
+            }
+        }
+    }
+
+
+    /**
+     * Skips any decimal digits and returns how many have been skipped.
+     */
+    private int skipDigits()
+    {
+        int start = mPosition;
+        while (mPosition < mLength && mBuffer[mPosition] >= '0' && mBuffer[mPosition] <= '9')
+        {
+            mPosition += 1;
+        }
+        return mPosition - start;
+    }
+
+
+    private void skipWhitespace()
+    {
+        while (mPosition < mLength)
+        {
+            int c = mBuffer[mPosition];
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r')
+            {
+                return;
+            }
+            mPosition += 1;
+        }
+    }
+
+
+    private void expect(char expected) throws ProtocolException
+    {
+        if (next() != expected)
+        {
+            mPosition -= 1;
+            throw error(String.format("Expected '%c'", expected));
+        }
+    }
+
+
+    private int peek() throws ProtocolException
+    {
+        if (mPosition >= mLength)
+        {
+            throw error("Unexpected end of token response");
+        }
+        return mBuffer[mPosition] & 0xff;
+    }
+
+
+    private int next() throws ProtocolException
+    {
+        int c = peek();
+        mPosition += 1;
+        return c;
+    }
+
+
+    private ProtocolException error(String message)
+    {
+        return new ProtocolException(String.format("%s at position %d", message, mPosition));
+    }
+}
@@ -16,24 +16,28 @@
 
 package org.dmfs.oauth2.client.pkce;
 
-import net.iharder.Base64;
-
 import org.dmfs.httpessentials.types.CharToken;
 import org.dmfs.httpessentials.types.Token;
-import org.dmfs.jems.messagedigest.elementary.Sha256;
-import org.dmfs.jems.single.elementary.Digest;
+import org.dmfs.oauth2.client.utils.Base64Url;
 
-import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
 
 /**
  * A {@link PkceCodeChallenge} that uses SHA-256 to protect the verifier.
+ * <p>
+ * The challenge is computed once, when it's first requested.
  *
  * @author Marten Gajda
  */
 public final class S256CodeChallenge implements PkceCodeChallenge
 {
+    private final static Token METHOD = new CharToken("S256");
+
     private final CharSequence mCodeVerifier;
+    private volatile String mChallenge;
 
 
     public S256CodeChallenge(CharSequence codeVerifier)
@@ -45,30 +49,34 @@ public final class S256CodeChallenge implements PkceCodeChallenge
     @Override
     public Token method()
     {
-        return new CharToken("S256");
+        return METHOD;
     }
 
 
     @Override
     public CharSequence challenge()
+    {
+        String challenge = mChallenge;
+        if (challenge == null)
+        {
+            // computing the challenge is idempotent, so there is no harm in doing it concurrently
+            byte[] digest = sha256(mCodeVerifier);
+            challenge = Base64Url.encoded(digest, digest.length);
+            mChallenge = challenge;
+        }
+        return challenge;
+    }
+
+
+    private static byte[] sha256(CharSequence codeVerifier)
     {
         try
         {
-            String result = Base64.encodeBytes(new Digest(new Sha256(), mCodeVerifier).value(), Base64.URL_SAFE);
-            // Note, the code challenge parameter doesn't support equals chars, so we have to remove any padding
-            if (result.endsWith("=="))
-            {
-                return result.substring(0, result.length() - 2);
-            }
-            if (result.endsWith("="))
-            {
-                return result.substring(0, result.length() - 1);
-            }
-            return result;
+            return MessageDigest.getInstance("SHA-256").digest(codeVerifier.toString().getBytes(StandardCharsets.UTF_8));
         }
-        catch (IOException e)
+        catch (NoSuchAlgorithmException e)
         {
-            throw new RuntimeException("IOException while operating on strings");
+            throw new RuntimeException("SHA-256 not supported by runtime!", e);
         }
     }
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.random;
+
+import org.dmfs.jems.generator.Generator;
+
+import java.security.SecureRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ * A {@link Generator} of random {@link CharSequence}s for states and PKCE code verifiers, made for high throughput.
+ * <p>
+ * Each result consists of characters from the 64 character alphabet {@code [a-zA-Z0-9_-]}, each of which carries 6 bits of entropy. The random bytes are
+ * taken from a couple of {@link SecureRandom} instances that are created once and generate bytes in bulk. Concurrent callers are spread across these
+ * instances, so they don't compete for a single lock.
+ * <p>
+ * Instances are meant to be shared, see {@link #INSTANCE}.
+ */
+public final class SecureRandomChars implements Generator<CharSequence>
+{
+    /**
+     * A shared instance that generates 64 characters.
+     */
+    public final static SecureRandomChars INSTANCE = new SecureRandomChars(64);
+
+    private final static char[] ALPHABET = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789_-".toCharArray();
+    private final static int BATCH_SIZE = 1024;
+
+    private final int mLength;
+    private final Stripe[] mStripes;
+
+
+    /**
+     * Creates a {@link SecureRandomChars} that generates the given number of characters.
+     *
+     * @param length
+     *     The number of characters to generate. Should be at least 43, which gives 256 bits of entropy.
+     */
+    public SecureRandomChars(int length)
+    {
+        if (length < 1)
+        {
+            throw new IllegalArgumentException(String.format("Length must be positive, got %d", length));
+        }
+        mLength = length;
+        mStripes = new Stripe[Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1)];
+        for (int i = 0; i < mStripes.length; ++i)
+        {
+            mStripes[i] = new Stripe(Math.max(BATCH_SIZE, length));
+        }
+    }
+
+
+    @Override
+    public CharSequence next()
+    {
+        char[] result = new char[mLength];
+        stripe().fill(result);
+        return new String(result);
+    }
+
+
+    /**
+     * Returns a {@link Stripe} that's not locked, if there is one, or the one of the current thread.
+     */
+    private Stripe stripe()
+    {
+        int start = (int) Thread.currentThread().getId();
+        for (int i = 0; i < mStripes.length; ++i)
+        {
+            Stripe stripe = mStripes[(start + i) & (mStripes.length - 1)];
+            if (!stripe.mLock.isLocked())
+            {
+                return stripe;
+            }
+        }
+        return mStripes[start & (mStripes.length - 1)];
+    }
+
+
+    /**
+     * A {@link SecureRandom} with a buffer of random bytes.
+     */
+    private final static class Stripe
+    {
+        private final ReentrantLock mLock = new ReentrantLock();
+        private final SecureRandom mRandom = new SecureRandom();
+        private final byte[] mBuffer;
+        private int mPosition;
+
+
+        private Stripe(int bufferSize)
+        {
+            mBuffer = new byte[bufferSize];
+            mPosition = bufferSize;
+        }
+
+
+        private void fill(char[] chars)
+        {
+            mLock.lock();
+            try
+            {
+                if (mPosition + chars.length > mBuffer.length)
+                {
+                    mRandom.nextBytes(mBuffer);
+                    mPosition = 0;
+                }
+                for (int i = 0; i < chars.length; ++i)
+                {
+                    // the alphabet has 64 characters, so the lower 6 bits map to it without any bias
+                    chars[i] = ALPHABET[mBuffer[mPosition] & 0x3f];
+                    // don't keep used bytes around
+                    mBuffer[mPosition++] = 0;
+                }
+            }
+            finally
+            {
+                mLock.unlock();
+            }
+        }
+    }
+}
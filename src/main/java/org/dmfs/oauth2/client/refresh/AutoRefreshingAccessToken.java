@@ -0,0 +1,346 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.refresh;
+
+import org.dmfs.httpessentials.client.HttpRequestExecutor;
+import org.dmfs.httpessentials.exceptions.ProtocolError;
+import org.dmfs.httpessentials.exceptions.ProtocolException;
+import org.dmfs.jems.optional.Optional;
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+import org.dmfs.oauth2.client.OAuth2Client;
+import org.dmfs.oauth2.client.OAuth2Scope;
+import org.dmfs.oauth2.client.errors.TokenRequestError;
+import org.dmfs.oauth2.client.grants.TokenRefreshGrant;
+import org.dmfs.oauth2.client.tokens.RenewedAccessToken;
+import org.dmfs.rfc5545.DateTime;
+import org.dmfs.rfc5545.Duration;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+
+/**
+ * An {@link OAuth2AccessToken} that refreshes itself when it's about to expire.
+ * <p>
+ * {@link #accessToken()} returns the access token of the most recent token. Once it's within the safety margin (one minute by default) of its expiration
+ * date, the first caller refreshes it using the refresh token, while other callers continue to use the current token until it has actually expired. Only
+ * callers which find the token expired wait for the refresh. Refreshed tokens, including any new refresh token issued by the server, are published
+ * atomically. Reading a valid token doesn't lock.
+ * <p>
+ * All other methods return the values of the most recent token without refreshing it. Use {@link #currentToken()} to get a consistent snapshot if you need
+ * more than one value of the same token.
+ * <p>
+ * Failed refreshes caused by I/O errors or server errors are retried with an exponential back off. Errors that won't go away by retrying, like an
+ * {@code invalid_grant} error response, stop refreshing the token. In both cases the current token is used as long as it's valid. Once it has expired,
+ * {@link #accessToken()} reports the failure without contacting the token endpoint again before the next retry is due.
+ * <p>
+ * Tokens without a known expiration date or without a refresh token are never refreshed. Unlike the {@link TokenRefreshScheduler}, this doesn't need any
+ * background threads, but the caller that triggers a refresh waits for the token endpoint.
+ */
+public final class AutoRefreshingAccessToken implements OAuth2AccessToken
+{
+    private final static Duration DEFAULT_MARGIN = new Duration(1, 0, 60);
+    private final static long MIN_RETRY_DELAY_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private final static long MAX_RETRY_DELAY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final OAuth2Client mClient;
+    private final HttpRequestExecutor mExecutor;
+    private final long mMarginNanos;
+    private final AtomicReference<Snapshot> mSnapshot;
+    private final AtomicReference<CompletableFuture<Snapshot>> mPendingRefresh = new AtomicReference<>();
+
+
+    /**
+     * Creates an {@link AutoRefreshingAccessToken} that refreshes the given token one minute before it expires.
+     *
+     * @param client
+     *     The {@link OAuth2Client} to refresh the token with.
+     * @param token
+     *     The initial {@link OAuth2AccessToken}.
+     * @param executor
+     *     The {@link HttpRequestExecutor} to execute the token requests.
+     */
+    public AutoRefreshingAccessToken(OAuth2Client client, OAuth2AccessToken token, HttpRequestExecutor executor)
+    {
+        this(client, token, executor, DEFAULT_MARGIN);
+    }
+
+
+    /**
+     * Creates an {@link AutoRefreshingAccessToken} that refreshes the given token the given margin before it expires.
+     *
+     * @param client
+     *     The {@link OAuth2Client} to refresh the token with.
+     * @param token
+     *     The initial {@link OAuth2AccessToken}.
+     * @param executor
+     *     The {@link HttpRequestExecutor} to execute the token requests.
+     * @param margin
+     *     The safety margin to keep to the expiration date of a token.
+     */
+    public AutoRefreshingAccessToken(OAuth2Client client, OAuth2AccessToken token, HttpRequestExecutor executor, Duration margin)
+    {
+        mClient = client;
+        mExecutor = executor;
+        mMarginNanos = TimeUnit.MILLISECONDS.toNanos(margin.toMillis());
+        mSnapshot = new AtomicReference<>(snapshot(token));
+    }
+
+
+    /**
+     * Returns the most recent {@link OAuth2AccessToken}, without refreshing it.
+     */
+    public OAuth2AccessToken currentToken()
+    {
+        return mSnapshot.get().mToken;
+    }
+
+
+    @Override
+    public CharSequence accessToken() throws ProtocolException
+    {
+        Snapshot snapshot = mSnapshot.get();
+        long now = System.nanoTime();
+        if (snapshot.isDue(now))
+        {
+            snapshot = refreshed(snapshot, now);
+        }
+        return snapshot.validToken(now).accessToken();
+    }
+
+
+    @Override
+    public CharSequence tokenType() throws ProtocolException
+    {
+        return currentToken().tokenType();
+    }
+
+
+    @Override
+    public boolean hasRefreshToken()
+    {
+        return currentToken().hasRefreshToken();
+    }
+
+
+    @Override
+    public CharSequence refreshToken() throws ProtocolException
+    {
+        return currentToken().refreshToken();
+    }
+
+
+    @Override
+    public DateTime expirationDate() throws ProtocolException
+    {
+        return currentToken().expirationDate();
+    }
+
+
+    @Override
+    public long expiresAtNanos() throws ProtocolException
+    {
+        return currentToken().expiresAtNanos();
+    }
+
+
+    @Override
+    public OAuth2Scope scope() throws ProtocolException
+    {
+        return currentToken().scope();
+    }
+
+
+    @Override
+    public Optional<CharSequence> extraParameter(String parameterName)
+    {
+        return currentToken().extraParameter(parameterName);
+    }
+
+
+    private Snapshot refreshed(Snapshot snapshot, long now) throws ProtocolException
+    {
+        CompletableFuture<Snapshot> pendingRefresh;
+        while ((pendingRefresh = mPendingRefresh.get()) == null)
+        {
+            CompletableFuture<Snapshot> refresh = new CompletableFuture<>();
+            if (mPendingRefresh.compareAndSet(null, refresh))
+            {
+                return refresh(refresh, now);
+            }
+        }
+        if (!snapshot.isExpired(now))
+        {
+            // another thread is refreshing the token, keep using the current one in the meantime
+            return snapshot;
+        }
+        try
+        {
+            return pendingRefresh.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new ProtocolException("Interrupted while waiting for the token refresh", e);
+        }
+        catch (ExecutionException e)
+        {
+            throw e.getCause() instanceof ProtocolException
+                ? (ProtocolException) e.getCause()
+                : new ProtocolException("Can't refresh access token", e.getCause());
+        }
+    }
+
+
+    /**
+     * Refreshes the current token and completes the given {@link CompletableFuture}, which must be the current value of {@link #mPendingRefresh}.
+     */
+    private Snapshot refresh(CompletableFuture<Snapshot> refresh, long now) throws ProtocolException
+    {
+        Snapshot current = mSnapshot.get();
+        try
+        {
+            if (!current.isDue(now))
+            {
+                // refreshed by another thread in the meantime
+                refresh.complete(current);
+                return current;
+            }
+            Snapshot renewed = snapshot(
+                new RenewedAccessToken(new TokenRefreshGrant(mClient, current.mToken).accessToken(mExecutor), current.mToken));
+            mSnapshot.set(renewed);
+            refresh.complete(renewed);
+            return renewed;
+        }
+        catch (IOException | ProtocolError e)
+        {
+            // keep using the current token as long as it's valid, the failure is reported by validToken(long) once it has expired
+            Snapshot failed = e instanceof TokenRequestError
+                // the token endpoint rejected the request, e.g. with invalid_grant, trying again won't change that
+                ? current.stopped(e)
+                : current.retrying(e, now);
+            mSnapshot.compareAndSet(current, failed);
+            refresh.complete(failed);
+            return failed;
+        }
+        catch (Exception e)
+        {
+            // an invalid response or a bug, trying again won't help
+            Snapshot failed = current.stopped(e);
+            mSnapshot.compareAndSet(current, failed);
+            refresh.complete(failed);
+            return failed;
+        }
+        finally
+        {
+            mPendingRefresh.set(null);
+        }
+    }
+
+
+    private Snapshot snapshot(OAuth2AccessToken token)
+    {
+        if (!token.hasRefreshToken())
+        {
+            return new Snapshot(token, false, 0, 0, null, 0);
+        }
+        try
+        {
+            long expiresAt = token.expiresAtNanos();
+            return new Snapshot(token, true, expiresAt - mMarginNanos, expiresAt, null, 0);
+        }
+        catch (ProtocolException e)
+        {
+            // no known expiration date, never refresh
+            return new Snapshot(token, false, 0, 0, null, 0);
+        }
+    }
+
+
+    /**
+     * An {@link OAuth2AccessToken} with the times it should be refreshed at and it expires at, in terms of {@link System#nanoTime()}, and the failure of
+     * the most recent refresh, if any. Instances are replaced as a whole, so readers always see a consistent set of values.
+     */
+    private final static class Snapshot
+    {
+        private final OAuth2AccessToken mToken;
+        private final boolean mRefreshable;
+        private final long mRefreshAt;
+        private final long mExpiresAt;
+        private final Exception mFailure;
+        private final int mFailedRefreshes;
+
+
+        private Snapshot(OAuth2AccessToken token, boolean refreshable, long refreshAt, long expiresAt, Exception failure, int failedRefreshes)
+        {
+            mToken = token;
+            mRefreshable = refreshable;
+            mRefreshAt = refreshAt;
+            mExpiresAt = expiresAt;
+            mFailure = failure;
+            mFailedRefreshes = failedRefreshes;
+        }
+
+
+        /**
+         * Returns the token, unless it has expired and couldn't be refreshed.
+         */
+        private OAuth2AccessToken validToken(long now) throws ProtocolException
+        {
+            if (mFailure != null && now - mExpiresAt >= 0)
+            {
+                throw new ProtocolException("Can't refresh access token", mFailure);
+            }
+            return mToken;
+        }
+
+
+        private boolean isDue(long now)
+        {
+            return mRefreshable && now - mRefreshAt >= 0;
+        }
+
+
+        private boolean isExpired(long now)
+        {
+            return mRefreshable && now - mExpiresAt >= 0;
+        }
+
+
+        /**
+         * Returns a {@link Snapshot} that retries the refresh after a delay that doubles with every failed attempt. Until then, the failure is reported
+         * without contacting the token endpoint, even if the token has expired.
+         */
+        private Snapshot retrying(Exception failure, long now)
+        {
+            long delay = Math.min(MAX_RETRY_DELAY_NANOS, MIN_RETRY_DELAY_NANOS << Math.min(mFailedRefreshes, 16));
+            return new Snapshot(mToken, true, now + delay, mExpiresAt, failure, mFailedRefreshes + 1);
+        }
+
+
+        /**
+         * Returns a {@link Snapshot} that's never refreshed again and reports the given failure once the token has expired.
+         */
+        private Snapshot stopped(Exception failure)
+        {
+            return new Snapshot(mToken, false, 0, mExpiresAt, failure, mFailedRefreshes + 1);
+        }
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.refresh;
+
+import org.dmfs.httpessentials.exceptions.ProtocolError;
+import org.dmfs.httpessentials.exceptions.ProtocolException;
+import org.dmfs.jems.optional.Optional;
+import org.dmfs.jems.optional.elementary.NullSafe;
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+import org.dmfs.oauth2.client.OAuth2Scope;
+import org.dmfs.oauth2.client.errors.TokenRequestError;
+import org.dmfs.rfc5545.DateTime;
+
+import java.io.IOException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * An {@link OAuth2AccessToken} that's renewed in the background by a {@link TokenRefreshScheduler}.
+ * <p>
+ * All methods delegate to the most recent token. Use {@link #currentToken()} to get a consistent snapshot if you need more than one value of the same
+ * token.
+ * <p>
+ * Failed renewals caused by I/O errors or server errors are retried with an exponential back off. Errors that won't go away by retrying, like an
+ * {@code invalid_grant} error response, stop the renewal. In both cases the failure is returned by {@link #renewalFailure()} and, once the current token has
+ * expired, reported by {@link #accessToken()}.
+ */
+public final class ScheduledAccessToken implements OAuth2AccessToken
+{
+    private final static long MIN_RETRY_DELAY_MILLIS = 1000;
+    private final static long MAX_RETRY_DELAY_MILLIS = 60 * 1000;
+
+    private final ScheduledExecutorService mExecutorService;
+    private final double mRefreshFraction;
+    private final double mJitter;
+    private final Renewal mRenewal;
+
+    private volatile OAuth2AccessToken mCurrentToken;
+    private volatile ScheduledFuture<?> mPendingRenewal;
+    private volatile boolean mCancelled;
+    private volatile Exception mFailure;
+    /**
+     * The number of consecutive failed renewals. Renewals never run concurrently, so this is only accessed by one thread at a time.
+     */
+    private int mFailedRenewals;
+
+
+    ScheduledAccessToken(ScheduledExecutorService executorService, double refreshFraction, double jitter, OAuth2AccessToken initialToken, Renewal renewal)
+    {
+        mExecutorService = executorService;
+        mRefreshFraction = refreshFraction;
+        mJitter = jitter;
+        mCurrentToken = initialToken;
+        mRenewal = renewal;
+    }
+
+
+    /**
+     * Returns the most recent {@link OAuth2AccessToken}.
+     */
+    public OAuth2AccessToken currentToken()
+    {
+        return mCurrentToken;
+    }
+
+
+    /**
+     * Returns the exception that caused the most recent renewal to fail, if the most recent renewal failed.
+     */
+    public Optional<Exception> renewalFailure()
+    {
+        return new NullSafe<>(mFailure);
+    }
+
+
+    /**
+     * Stops renewing this token. The current token remains available until it expires.
+     */
+    public void cancel()
+    {
+        mCancelled = true;
+        ScheduledFuture<?> pendingRenewal = mPendingRenewal;
+        if (pendingRenewal != null)
+        {
+            pendingRenewal.cancel(false);
+        }
+    }
+
+
+    @Override
+    public CharSequence accessToken() throws ProtocolException
+    {
+        OAuth2AccessToken currentToken = mCurrentToken;
+        Exception failure = mFailure;
+        if (failure != null && currentToken.isExpired(System.nanoTime(), 0))
+        {
+            throw new ProtocolException("Can't renew expired access token", failure);
+        }
+        return currentToken.accessToken();
+    }
+
+
+    @Override
+    public CharSequence tokenType() throws ProtocolException
+    {
+        return mCurrentToken.tokenType();
+    }
+
+
+    @Override
+    public boolean hasRefreshToken()
+    {
+        return mCurrentToken.hasRefreshToken();
+    }
+
+
+    @Override
+    public CharSequence refreshToken() throws ProtocolException
+    {
+        return mCurrentToken.refreshToken();
+    }
+
+
+    @Override
+    public DateTime expirationDate() throws ProtocolException
+    {
+        return mCurrentToken.expirationDate();
+    }
+
+
+    @Override
+    public long expiresAtNanos() throws ProtocolException
+    {
+        return mCurrentToken.expiresAtNanos();
+    }
+
+
+    @Override
+    public OAuth2Scope scope() throws ProtocolException
+    {
+        return mCurrentToken.scope();
+    }
+
+
+    @Override
+    public Optional<CharSequence> extraParameter(String parameterName)
+    {
+        return mCurrentToken.extraParameter(parameterName);
+    }
+
+
+    void scheduleRenewal()
+    {
+        long timeToLive;
+        try
+        {
+            timeToLive = TimeUnit.NANOSECONDS.toMillis(mCurrentToken.expiresAtNanos() - System.nanoTime());
+        }
+        catch (ProtocolException e)
+        {
+            // no known expiration date, nothing to schedule
+            return;
+        }
+        double deviation = mJitter * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+        schedule(Math.max(0, (long) (timeToLive * (mRefreshFraction + deviation))));
+    }
+
+
+    private void scheduleRetry()
+    {
+        long timeToLive;
+        try
+        {
+            timeToLive = TimeUnit.NANOSECONDS.toMillis(mCurrentToken.expiresAtNanos() - System.nanoTime());
+        }
+        catch (ProtocolException e)
+        {
+            timeToLive = 0;
+        }
+        // retry after half of the remaining time to live, but back off exponentially with every failed attempt, which takes over once the token has expired
+        long backOff = MIN_RETRY_DELAY_MILLIS << Math.min(mFailedRenewals - 1, 16);
+        schedule(Math.min(MAX_RETRY_DELAY_MILLIS, Math.max(backOff, timeToLive / 2)));
+    }
+
+
+    private void schedule(long delayMillis)
+    {
+        if (mCancelled)
+        {
+            return;
+        }
+        mPendingRenewal = mExecutorService.schedule(this::renew, delayMillis, TimeUnit.MILLISECONDS);
+        if (mCancelled)
+        {
+            // cancelled concurrently
+            mPendingRenewal.cancel(false);
+        }
+    }
+
+
+    private void renew()
+    {
+        if (mCancelled)
+        {
+            return;
+        }
+        try
+        {
+            mCurrentToken = mRenewal.renewed(mCurrentToken);
+        }
+        catch (IOException | ProtocolError e)
+        {
+            mFailure = e;
+            if (e instanceof TokenRequestError)
+            {
+                // the token endpoint rejected the request, e.g. with invalid_grant, trying again won't change that
+                return;
+            }
+            // keep the current token and try again later
+            mFailedRenewals += 1;
+            scheduleRetry();
+            return;
+        }
+        catch (Exception e)
+        {
+            // an invalid response or a bug, trying again won't help
+            mFailure = e;
+            return;
+        }
+        mFailedRenewals = 0;
+        mFailure = null;
+        scheduleRenewal();
+    }
+
+
+    /**
+     * Knows how to get a new {@link OAuth2AccessToken} to replace a previous one.
+     */
+    interface Renewal
+    {
+        OAuth2AccessToken renewed(OAuth2AccessToken previousToken) throws IOException, ProtocolError, ProtocolException;
+    }
+}
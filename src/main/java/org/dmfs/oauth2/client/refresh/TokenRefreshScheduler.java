@@ -0,0 +1,159 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.refresh;
+
+import org.dmfs.httpessentials.client.HttpRequestExecutor;
+import org.dmfs.httpessentials.exceptions.ProtocolError;
+import org.dmfs.httpessentials.exceptions.ProtocolException;
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+import org.dmfs.oauth2.client.OAuth2Client;
+import org.dmfs.oauth2.client.OAuth2Grant;
+import org.dmfs.oauth2.client.grants.TokenRefreshGrant;
+import org.dmfs.oauth2.client.tokens.RenewedAccessToken;
+
+import java.io.IOException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+
+/**
+ * Renews registered {@link OAuth2AccessToken}s in the background, before they expire.
+ * <p>
+ * Each registered token is renewed after a configurable fraction of its time to live, randomized by a configurable jitter to spread the load on the token
+ * endpoint. Pending renewals are kept in the delay queue of a {@link ScheduledExecutorService}, which is ordered by due time. Renewed tokens are published
+ * atomically through the {@link ScheduledAccessToken} returned on registration, so callers never wait for the token endpoint.
+ * <p>
+ * Tokens without a known expiration date are not renewed.
+ */
+public final class TokenRefreshScheduler
+{
+    private final static double DEFAULT_REFRESH_FRACTION = 0.75;
+    private final static double DEFAULT_JITTER = 0.1;
+
+    private final ScheduledExecutorService mExecutorService;
+    private final double mRefreshFraction;
+    private final double mJitter;
+
+
+    /**
+     * Creates a {@link TokenRefreshScheduler} that renews tokens after 75% (+/- 10%) of their time to live using two daemon threads.
+     */
+    public TokenRefreshScheduler()
+    {
+        this(defaultExecutorService());
+    }
+
+
+    /**
+     * Creates a {@link TokenRefreshScheduler} that renews tokens after 75% (+/- 10%) of their time to live using the given {@link ScheduledExecutorService}.
+     *
+     * @param executorService
+     *     The {@link ScheduledExecutorService} to run the renewals on.
+     */
+    public TokenRefreshScheduler(ScheduledExecutorService executorService)
+    {
+        this(executorService, DEFAULT_REFRESH_FRACTION, DEFAULT_JITTER);
+    }
+
+
+    /**
+     * Creates a {@link TokenRefreshScheduler} that renews tokens after the given fraction of their time to live.
+     *
+     * @param executorService
+     *     The {@link ScheduledExecutorService} to run the renewals on.
+     * @param refreshFraction
+     *     The fraction of the time to live after which a token is renewed, must be greater than 0 and not greater than 1.
+     * @param jitter
+     *     The maximum random deviation from the refresh fraction, in fractions of the time to live. It must be less than the refresh fraction and the sum of
+     *     both must not be greater than 1, so tokens are never renewed before they were issued or after they expired.
+     */
+    public TokenRefreshScheduler(ScheduledExecutorService executorService, double refreshFraction, double jitter)
+    {
+        if (refreshFraction <= 0 || refreshFraction > 1)
+        {
+            throw new IllegalArgumentException(String.format("Refresh fraction %f not in (0, 1]", refreshFraction));
+        }
+        if (jitter < 0 || jitter >= refreshFraction)
+        {
+            throw new IllegalArgumentException(String.format("Jitter %f not in [0, %f)", jitter, refreshFraction));
+        }
+        if (refreshFraction + jitter > 1)
+        {
+            throw new IllegalArgumentException(String.format("Refresh fraction %f plus jitter %f greater than 1", refreshFraction, jitter));
+        }
+        mExecutorService = executorService;
+        mRefreshFraction = refreshFraction;
+        mJitter = jitter;
+    }
+
+
+    /**
+     * Executes the given {@link OAuth2Grant} and keeps renewing the token by executing the grant again whenever the current token is about to expire.
+     * <p>
+     * This is meant for grants that can be executed any number of times, like the Client Credentials Grant.
+     *
+     * @param grant
+     *     The {@link OAuth2Grant} to get the tokens from.
+     * @param executor
+     *     The {@link HttpRequestExecutor} to execute the token requests.
+     *
+     * @return A {@link ScheduledAccessToken} that always returns the most recent token.
+     */
+    public ScheduledAccessToken register(OAuth2Grant grant, HttpRequestExecutor executor) throws IOException, ProtocolError, ProtocolException
+    {
+        return started(new ScheduledAccessToken(mExecutorService, mRefreshFraction, mJitter, grant.accessToken(executor),
+            previousToken -> grant.accessToken(executor)));
+    }
+
+
+    /**
+     * Keeps refreshing the given {@link OAuth2AccessToken} using its refresh token whenever the current token is about to expire.
+     *
+     * @param client
+     *     The {@link OAuth2Client} to refresh the token with.
+     * @param token
+     *     The {@link OAuth2AccessToken} to refresh, must have a refresh token.
+     * @param executor
+     *     The {@link HttpRequestExecutor} to execute the token requests.
+     *
+     * @return A {@link ScheduledAccessToken} that always returns the most recent token.
+     */
+    public ScheduledAccessToken register(OAuth2Client client, OAuth2AccessToken token, HttpRequestExecutor executor)
+    {
+        return started(new ScheduledAccessToken(mExecutorService, mRefreshFraction, mJitter, token,
+            previousToken -> new RenewedAccessToken(new TokenRefreshGrant(client, previousToken).accessToken(executor), previousToken)));
+    }
+
+
+    private static ScheduledAccessToken started(ScheduledAccessToken token)
+    {
+        token.scheduleRenewal();
+        return token;
+    }
+
+
+    private static ScheduledExecutorService defaultExecutorService()
+    {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(2, runnable -> {
+            Thread thread = new Thread(runnable, "oauth2-token-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+}
@@ -27,6 +27,10 @@ import org.dmfs.oauth2.client.OAuth2Scope;
 public final class BasicScope implements OAuth2Scope
 {
     private final String[] mTokens;
+    /**
+     * The cached hash code or 0 if it hasn't been computed yet. Like with {@link String#hashCode()}, racing threads compute the same value.
+     */
+    private int mHashCode;
 
 
     /**
@@ -99,24 +103,49 @@ public final class BasicScope implements OAuth2Scope
             return false;
         }
 
-        OAuth2Scope other = (OAuth2Scope) obj;
-        if (isEmpty() && other.isEmpty())
+        return ScopeTokens.sameTokens(this, mTokens, (OAuth2Scope) obj);
+    }
+
+
+    @Override
+    public int hashCode()
+    {
+        int hashCode = mHashCode;
+        if (hashCode == 0)
         {
-            return true;
+            hashCode = distinctTokensHashCode();
+            mHashCode = hashCode;
         }
+        return hashCode;
+    }
+
 
-        if (tokenCount() != other.tokenCount())
+    private int distinctTokensHashCode()
+    {
+        int result = 0;
+        for (int i = 0; i < mTokens.length; ++i)
         {
-            return false;
+            if (!isDuplicate(i))
+            {
+                result += mTokens[i].hashCode();
+            }
         }
+        return result;
+    }
 
-        for (String token : mTokens)
+
+    /**
+     * Returns whether the token at the given index has been seen at a lower index. Scopes are short, so this is cheaper than a set.
+     */
+    private boolean isDuplicate(int index)
+    {
+        for (int i = 0; i < index; ++i)
         {
-            if (!other.hasToken(token))
+            if (mTokens[i].equals(mTokens[index]))
             {
-                return false;
+                return true;
             }
         }
-        return true;
+        return false;
     }
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.dmfs.oauth2.client.scope;
+
+import org.dmfs.oauth2.client.OAuth2Scope;
+
+import java.util.Arrays;
+import java.util.TreeSet;
+
+
+/**
+ * The canonical form of an {@link OAuth2Scope}. It contains the same tokens as the given scope, but {@link #toString()} returns them in ascending order
+ * without duplicates.
+ * <p>
+ * Two scopes are equal if and only if the {@link #toString()} values of their {@link CanonicalScope}s are equal, so that value can be used as a key to
+ * persist or index scopes.
+ */
+public final class CanonicalScope implements OAuth2Scope
+{
+    private final String[] mTokens;
+    private final String mString;
+    private final int mHashCode;
+
+
+    /**
+     * Creates the {@link CanonicalScope} of the given {@link OAuth2Scope}.
+     *
+     * @param scope
+     *     Any {@link OAuth2Scope}.
+     */
+    public CanonicalScope(OAuth2Scope scope)
+    {
+        TreeSet<String> tokens = new TreeSet<>(Arrays.asList(scope.toString().split(" ")));
+        tokens.remove("");
+        mTokens = tokens.toArray(new String[0]);
+        mString = String.join(" ", mTokens);
+        int hashCode = 0;
+        for (String token : mTokens)
+        {
+            hashCode += token.hashCode();
+        }
+        mHashCode = hashCode;
+    }
+
+
+    @Override
+    public boolean isEmpty()
+    {
+        return mTokens.length == 0;
+    }
+
+
+    @Override
+    public boolean hasToken(String token)
+    {
+        return Arrays.binarySearch(mTokens, token) >= 0;
+    }
+
+
+    @Override
+    public int tokenCount()
+    {
+        return mTokens.length;
+    }
+
+
+    @Override
+    public String toString()
+    {
+        return mString;
+    }
+
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (this == obj)
+        {
+            return true;
+        }
+
+        if (obj instanceof CanonicalScope)
+        {
+            return mHashCode == ((CanonicalScope) obj).mHashCode && mString.equals(((CanonicalScope) obj).mString);
+        }
+
+        if (!(obj instanceof OAuth2Scope))
+        {
+            return false;
+        }
+
+        return ScopeTokens.sameTokens(this, mTokens, (OAuth2Scope) obj);
+    }
+
+
+    @Override
+    public int hashCode()
+    {
+        return mHashCode;
+    }
+}
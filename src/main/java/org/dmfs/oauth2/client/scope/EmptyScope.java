@@ -66,6 +66,13 @@ public final class EmptyScope implements OAuth2Scope
             return false;
         }
 
-        return ((OAuth2Scope) obj).isEmpty();
+        return ScopeTokens.sameTokens(this, ScopeTokens.tokens(this), (OAuth2Scope) obj);
+    }
+
+
+    @Override
+    public int hashCode()
+    {
+        return 0;
     }
 }
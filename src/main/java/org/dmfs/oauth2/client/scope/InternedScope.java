@@ -0,0 +1,233 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.dmfs.oauth2.client.scope;
+
+import org.dmfs.oauth2.client.OAuth2Scope;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+
+/**
+ * An {@link OAuth2Scope} that stores its scope tokens as a bit set of ids taken from a dictionary that's shared by all instances.
+ * <p>
+ * This makes {@link #hasToken(String)}, {@link #equals(Object)} and {@link #covers(InternedScope)} cheap operations that don't allocate anything, which
+ * pays off for scopes that are created once and checked many times. Creating an instance is more expensive than creating a {@link BasicScope}.
+ * <p>
+ * Duplicate tokens are ignored, {@link #toString()} returns the distinct tokens in the order they were given.
+ * <p>
+ * Note that the dictionary never forgets a token, so it's meant for the limited number of scope tokens an application usually deals with. Once it's full,
+ * new tokens are still supported, but without the benefits of the bit set.
+ */
+public final class InternedScope implements OAuth2Scope
+{
+    private final static long[] NO_BITS = new long[0];
+    private final static String[] NO_TOKENS = new String[0];
+
+    private final ScopeTokenDictionary mDictionary;
+    private final String[] mTokens;
+    private final long[] mBits;
+    /**
+     * The tokens that didn't get an id, in ascending order.
+     */
+    private final String[] mUninterned;
+    private final String mString;
+    private final int mHashCode;
+
+
+    /**
+     * Creates an {@link InternedScope} that contains the tokens of the given {@link OAuth2Scope}.
+     *
+     * @param scope
+     *     The {@link OAuth2Scope} to copy.
+     */
+    public InternedScope(OAuth2Scope scope)
+    {
+        this(scope instanceof InternedScope ? ((InternedScope) scope).mTokens : scope.toString().split(" "));
+    }
+
+
+    /**
+     * Creates an {@link InternedScope} that contains the given tokens.
+     *
+     * @param tokens
+     *     The scope tokens in this scope. Must not contain <code>null</code>. Empty {@link String}s are ignored.
+     */
+    public InternedScope(String... tokens)
+    {
+        this(ScopeTokenDictionary.INSTANCE, tokens);
+    }
+
+
+    InternedScope(ScopeTokenDictionary dictionary, String... allTokens)
+    {
+        String[] tokens = distinct(allTokens);
+        long[] bits = NO_BITS;
+        List<String> uninterned = null;
+        for (String token : tokens)
+        {
+            int id = dictionary.intern(token);
+            if (id < 0)
+            {
+                if (uninterned == null)
+                {
+                    uninterned = new ArrayList<>(4);
+                }
+                uninterned.add(token);
+                continue;
+            }
+            if (id >>> 6 >= bits.length)
+            {
+                bits = Arrays.copyOf(bits, (id >>> 6) + 1);
+            }
+            bits[id >>> 6] |= 1L << id;
+        }
+        mDictionary = dictionary;
+        mTokens = tokens;
+        mBits = bits;
+        if (uninterned == null)
+        {
+            mUninterned = NO_TOKENS;
+        }
+        else
+        {
+            mUninterned = uninterned.toArray(NO_TOKENS);
+            Arrays.sort(mUninterned);
+        }
+        mString = String.join(" ", tokens);
+        int hashCode = 0;
+        for (String token : tokens)
+        {
+            hashCode += token.hashCode();
+        }
+        mHashCode = hashCode;
+    }
+
+
+    @Override
+    public boolean isEmpty()
+    {
+        return mTokens.length == 0;
+    }
+
+
+    @Override
+    public boolean hasToken(String token)
+    {
+        // don't intern the token, that would fill the dictionary with tokens that are just looked up
+        int id = mDictionary.id(token);
+        if (id >= 0)
+        {
+            return id >>> 6 < mBits.length && (mBits[id >>> 6] & 1L << id) != 0;
+        }
+        return mUninterned.length > 0 && Arrays.binarySearch(mUninterned, token) >= 0;
+    }
+
+
+    @Override
+    public int tokenCount()
+    {
+        return mTokens.length;
+    }
+
+
+    /**
+     * Returns whether this scope contains all the tokens of the given scope.
+     *
+     * @param other
+     *     Another {@link InternedScope}.
+     *
+     * @return {@code true} if the given scope is a subset of this scope.
+     */
+    public boolean covers(InternedScope other)
+    {
+        if (other.mBits.length > mBits.length)
+        {
+            return false;
+        }
+        for (int i = 0; i < other.mBits.length; ++i)
+        {
+            if ((other.mBits[i] & ~mBits[i]) != 0)
+            {
+                return false;
+            }
+        }
+        for (String token : other.mUninterned)
+        {
+            if (Arrays.binarySearch(mUninterned, token) < 0)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    @Override
+    public String toString()
+    {
+        return mString;
+    }
+
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (this == obj)
+        {
+            return true;
+        }
+
+        if (obj instanceof InternedScope && ((InternedScope) obj).mDictionary == mDictionary)
+        {
+            InternedScope other = (InternedScope) obj;
+            return mHashCode == other.mHashCode && Arrays.equals(mBits, other.mBits) && Arrays.equals(mUninterned, other.mUninterned);
+        }
+
+        if (!(obj instanceof OAuth2Scope))
+        {
+            return false;
+        }
+
+        return ScopeTokens.sameTokens(this, mTokens, (OAuth2Scope) obj);
+    }
+
+
+    @Override
+    public int hashCode()
+    {
+        return mHashCode;
+    }
+
+
+    private static String[] distinct(String[] tokens)
+    {
+        Set<String> result = new LinkedHashSet<>(tokens.length * 2);
+        for (String token : tokens)
+        {
+            if (!token.isEmpty())
+            {
+                result.add(token);
+            }
+        }
+        return result.toArray(NO_TOKENS);
+    }
+}
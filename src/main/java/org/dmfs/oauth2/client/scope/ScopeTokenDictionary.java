@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.dmfs.oauth2.client.scope;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * A dictionary that assigns small, dense integer ids to scope tokens, so sets of tokens can be stored as bit sets.
+ * <p>
+ * Ids are never reassigned, so the dictionary only grows. To limit the memory it can take when scopes come from untrusted sources, it assigns at most the
+ * given number of ids. Tokens that arrive after that remain without an id.
+ */
+final class ScopeTokenDictionary
+{
+    /**
+     * The dictionary shared by all {@link InternedScope}s.
+     */
+    final static ScopeTokenDictionary INSTANCE = new ScopeTokenDictionary(4096);
+
+    private final ConcurrentHashMap<String, Integer> mIds = new ConcurrentHashMap<>();
+    private final AtomicInteger mNextId = new AtomicInteger();
+    private final int mCapacity;
+
+
+    ScopeTokenDictionary(int capacity)
+    {
+        mCapacity = capacity;
+    }
+
+
+    /**
+     * Returns the id of the given token, assigning a new one if the token doesn't have one yet. Returns {@code -1} if the token has no id and the dictionary
+     * is full.
+     */
+    int intern(String token)
+    {
+        Integer id = mIds.get(token);
+        if (id != null)
+        {
+            return id;
+        }
+        if (mNextId.get() >= mCapacity)
+        {
+            return -1;
+        }
+        // computeIfAbsent makes sure concurrent callers agree on the id, it doesn't add anything if the function returns null
+        id = mIds.computeIfAbsent(token, t -> nextId());
+        return id == null ? -1 : id;
+    }
+
+
+    /**
+     * Returns the id of the given token without assigning a new one. Returns {@code -1} if the token has no id.
+     */
+    int id(String token)
+    {
+        Integer id = mIds.get(token);
+        return id == null ? -1 : id;
+    }
+
+
+    private Integer nextId()
+    {
+        int next;
+        do
+        {
+            next = mNextId.get();
+            if (next >= mCapacity)
+            {
+                return null;
+            }
+        }
+        while (!mNextId.compareAndSet(next, next + 1));
+        return next;
+    }
+}
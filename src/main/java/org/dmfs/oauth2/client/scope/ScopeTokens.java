@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.dmfs.oauth2.client.scope;
+
+import org.dmfs.oauth2.client.OAuth2Scope;
+
+
+/**
+ * Compares {@link OAuth2Scope}s of any implementation by their distinct tokens, as required by {@link OAuth2Scope#equals(Object)}.
+ */
+final class ScopeTokens
+{
+    private final static String[] NO_TOKENS = new String[0];
+
+
+    private ScopeTokens()
+    {
+    }
+
+
+    /**
+     * Returns the tokens of the given scope, as listed by its {@link OAuth2Scope#toString()}. The result may contain duplicates and empty {@link String}s.
+     */
+    static String[] tokens(OAuth2Scope scope)
+    {
+        return scope.isEmpty() ? NO_TOKENS : scope.toString().split(" ");
+    }
+
+
+    /**
+     * Returns whether the given scopes contain the same distinct tokens.
+     *
+     * @param scope
+     *     An {@link OAuth2Scope}.
+     * @param tokens
+     *     The tokens of {@code scope}, may contain duplicates.
+     * @param other
+     *     The {@link OAuth2Scope} to compare {@code scope} to.
+     */
+    static boolean sameTokens(OAuth2Scope scope, String[] tokens, OAuth2Scope other)
+    {
+        return containsAll(other, tokens) && containsAll(scope, tokens(other));
+    }
+
+
+    private static boolean containsAll(OAuth2Scope scope, String[] tokens)
+    {
+        for (String token : tokens)
+        {
+            if (!token.isEmpty() && !scope.hasToken(token))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+}
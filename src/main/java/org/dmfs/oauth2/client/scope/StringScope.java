@@ -20,7 +20,9 @@ import org.dmfs.iterables.Split;
 import org.dmfs.iterators.UnquotedSplit;
 import org.dmfs.oauth2.client.OAuth2Scope;
 
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Set;
 
 
 /**
@@ -31,6 +33,10 @@ import java.util.Iterator;
 public final class StringScope implements OAuth2Scope
 {
     private final String mScope;
+    /**
+     * The cached hash code or 0 if it hasn't been computed yet. Like with {@link String#hashCode()}, racing threads compute the same value.
+     */
+    private int mHashCode;
 
 
     /**
@@ -95,25 +101,36 @@ public final class StringScope implements OAuth2Scope
             return false;
         }
 
-        OAuth2Scope other = (OAuth2Scope) obj;
-        if (isEmpty() && other.isEmpty())
-        {
-            return true;
-        }
+        return ScopeTokens.sameTokens(this, ScopeTokens.tokens(this), (OAuth2Scope) obj);
+    }
+
 
-        if (tokenCount() != other.tokenCount())
+    @Override
+    public int hashCode()
+    {
+        int hashCode = mHashCode;
+        if (hashCode == 0)
         {
-            return false;
+            hashCode = distinctTokensHashCode();
+            mHashCode = hashCode;
         }
+        return hashCode;
+    }
+
 
+    private int distinctTokensHashCode()
+    {
+        Set<String> seen = new HashSet<>();
+        int result = 0;
         Iterator<CharSequence> tokens = new UnquotedSplit(mScope, ' ');
         while (tokens.hasNext())
         {
-            if (!other.hasToken(tokens.next().toString()))
+            String token = tokens.next().toString();
+            if (!token.isEmpty() && seen.add(token))
             {
-                return false;
+                result += token.hashCode();
             }
         }
-        return true;
+        return result;
     }
 }
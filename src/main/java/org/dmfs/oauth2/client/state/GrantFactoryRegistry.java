@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.state;
+
+import org.dmfs.jems.optional.Optional;
+import org.dmfs.jems.optional.elementary.NullSafe;
+import org.dmfs.jems2.iterable.Joined;
+import org.dmfs.jems2.iterable.Seq;
+import org.dmfs.oauth2.client.OAuth2InteractiveGrant;
+import org.dmfs.oauth2.client.grants.BuiltInGrantFactories;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import static org.dmfs.oauth2.client.OAuth2InteractiveGrant.OAuth2InteractiveGrantFactory;
+
+
+/**
+ * A registry of {@link OAuth2InteractiveGrantFactory} instances, identified by the name of their class, which is the identifier that's stored in the
+ * legacy encoded state of an {@link OAuth2InteractiveGrant}. {@link TaggedGrantFactory}s can also be found by their tag.
+ * <p>
+ * The {@link #DEFAULT} registry contains the factories of all interactive grants of this library and all {@link OAuth2InteractiveGrantFactory}
+ * implementations that are registered as a service, i.e. listed in a {@code META-INF/services/org.dmfs.oauth2.client.OAuth2InteractiveGrant$OAuth2InteractiveGrantFactory}
+ * file. Such implementations must have a public no-arg constructor.
+ */
+public final class GrantFactoryRegistry
+{
+    /**
+     * The registry of the built-in factories and all factories registered via {@link ServiceLoader}.
+     */
+    public final static GrantFactoryRegistry DEFAULT = new GrantFactoryRegistry(
+        new Joined<>(
+            new BuiltInGrantFactories(),
+            ServiceLoader.load(OAuth2InteractiveGrantFactory.class, GrantFactoryRegistry.class.getClassLoader())));
+
+    private final Map<String, OAuth2InteractiveGrantFactory> mFactories;
+
+
+    /**
+     * Creates a {@link GrantFactoryRegistry} of the built-in factories and the given {@link OAuth2InteractiveGrantFactory}s.
+     */
+    public GrantFactoryRegistry(OAuth2InteractiveGrantFactory... factories)
+    {
+        this(new Joined<>(new BuiltInGrantFactories(), new Seq<>(factories)));
+    }
+
+
+    /**
+     * Creates a {@link GrantFactoryRegistry} of the given {@link OAuth2InteractiveGrantFactory}s only.
+     */
+    public GrantFactoryRegistry(Iterable<? extends OAuth2InteractiveGrantFactory> factories)
+    {
+        Map<String, OAuth2InteractiveGrantFactory> map = new HashMap<>(16);
+        for (OAuth2InteractiveGrantFactory factory : factories)
+        {
+            map.put(factory.getClass().getName(), factory);
+            if (factory instanceof TaggedGrantFactory)
+            {
+                map.put(((TaggedGrantFactory) factory).tag(), factory);
+            }
+        }
+        mFactories = Collections.unmodifiableMap(map);
+    }
+
+
+    /**
+     * Returns the {@link OAuth2InteractiveGrantFactory} with the given identifier, if it's registered.
+     *
+     * @param id
+     *     The identifier of the factory, i.e. the name of its class or its {@link TaggedGrantFactory#tag()}.
+     */
+    public Optional<OAuth2InteractiveGrantFactory> factory(String id)
+    {
+        return new NullSafe<>(mFactories.get(id));
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.state;
+
+import org.dmfs.jems.optional.Optional;
+import org.dmfs.jems.optional.elementary.Present;
+import org.dmfs.oauth2.client.OAuth2InteractiveGrant;
+import org.dmfs.rfc5545.Duration;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.dmfs.jems.optional.elementary.Absent.absent;
+
+
+/**
+ * A {@link PendingGrantStore} that keeps the pending grants in memory for a limited time.
+ * <p>
+ * All entries have the same time to live, so they expire in the order they have been added. Each {@link #put(CharSequence, OAuth2InteractiveGrant)}
+ * drops the expired entries from the head of that order. When the store is full, the oldest entries are dropped as well, so adding an entry never
+ * costs more than a constant amount of work on average, no matter how many entries there are.
+ * <p>
+ * This is safe to be used by multiple threads.
+ */
+public final class InMemoryPendingGrantStore implements PendingGrantStore
+{
+    private final static Duration DEFAULT_TTL = new Duration(1, 0, 600);
+
+    private final int mMaximumSize;
+    private final long mTtlNanos;
+    private final ConcurrentMap<String, Entry> mEntries;
+    private final Queue<Entry> mInsertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger mQueueSize = new AtomicInteger();
+
+
+    /**
+     * Creates an {@link InMemoryPendingGrantStore} that holds up to the given number of grants for ten minutes.
+     *
+     * @param maximumSize
+     *     The maximum number of pending grants.
+     */
+    public InMemoryPendingGrantStore(int maximumSize)
+    {
+        this(maximumSize, DEFAULT_TTL);
+    }
+
+
+    /**
+     * Creates an {@link InMemoryPendingGrantStore} that holds up to the given number of grants for the given time.
+     *
+     * @param maximumSize
+     *     The maximum number of pending grants.
+     * @param ttl
+     *     The time to keep a pending grant.
+     */
+    public InMemoryPendingGrantStore(int maximumSize, Duration ttl)
+    {
+        if (maximumSize < 1)
+        {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        mMaximumSize = maximumSize;
+        mTtlNanos = TimeUnit.MILLISECONDS.toNanos(ttl.toMillis());
+        mEntries = new ConcurrentHashMap<>(Math.min(maximumSize, 1024));
+    }
+
+
+    @Override
+    public void put(CharSequence state, OAuth2InteractiveGrant grant)
+    {
+        long now = System.nanoTime();
+        Entry entry = new Entry(state.toString(), grant, now + mTtlNanos);
+        mEntries.put(entry.mState, entry);
+        mInsertionOrder.add(entry);
+        int queueSize = mQueueSize.incrementAndGet();
+
+        // the queue contains at least all stored entries, so bounding the queue bounds the store
+        Entry head;
+        while ((head = mInsertionOrder.peek()) != null && (queueSize > mMaximumSize || head.mExpires - now <= 0))
+        {
+            if (mInsertionOrder.remove(head))
+            {
+                queueSize = mQueueSize.decrementAndGet();
+                // only remove the entry if it hasn't been taken or replaced yet
+                mEntries.remove(head.mState, head);
+            }
+            else
+            {
+                queueSize = mQueueSize.get();
+            }
+        }
+    }
+
+
+    @Override
+    public Optional<OAuth2InteractiveGrant> take(CharSequence state)
+    {
+        Entry entry = mEntries.remove(state.toString());
+        if (entry == null || entry.mExpires - System.nanoTime() <= 0)
+        {
+            return absent();
+        }
+        return new Present<>(entry.mGrant);
+    }
+
+
+    /**
+     * Returns the number of pending grants in this store, including those that have expired but were not dropped yet.
+     */
+    public int size()
+    {
+        return mEntries.size();
+    }
+
+
+    private final static class Entry
+    {
+        private final String mState;
+        private final OAuth2InteractiveGrant mGrant;
+        private final long mExpires;
+
+
+        private Entry(String state, OAuth2InteractiveGrant grant, long expires)
+        {
+            mState = state;
+            mGrant = grant;
+            mExpires = expires;
+        }
+    }
+}
@@ -2,9 +2,11 @@ package org.dmfs.oauth2.client.state;
 
 import net.iharder.Base64;
 
+import org.dmfs.jems.optional.Optional;
 import org.dmfs.jems2.Function;
 import org.dmfs.oauth2.client.OAuth2Client;
 import org.dmfs.oauth2.client.OAuth2InteractiveGrant;
+import org.dmfs.oauth2.client.utils.GrantStateCodec;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
@@ -12,6 +14,8 @@ import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static org.dmfs.oauth2.client.OAuth2InteractiveGrant.OAuth2InteractiveGrantFactory;
 
@@ -19,24 +23,56 @@ import static org.dmfs.oauth2.client.OAuth2InteractiveGrant.OAuth2InteractiveGra
 /**
  * A Function to return an {@link OAuth2InteractiveGrant} for a {@link String} that was previously retrieved from
  * {@link OAuth2InteractiveGrant#encodedState()}.
+ * <p>
+ * Both, the compact {@link GrantStateCodec binary format} and the legacy JSON based format are supported.
+ * <p>
+ * The {@link OAuth2InteractiveGrantFactory} that restores the grant is taken from a {@link GrantFactoryRegistry}. Factories which are not registered are
+ * instantiated via reflection once and reused afterwards.
  */
 public final class InteractiveGrantFactory implements Function<String, OAuth2InteractiveGrant>, java.util.function.Function<String, OAuth2InteractiveGrant>
 {
+    /**
+     * The factories that were not registered and had to be instantiated via reflection.
+     */
+    private final static ConcurrentMap<String, OAuth2InteractiveGrantFactory> REFLECTED_FACTORIES = new ConcurrentHashMap<>(4);
+
+    /**
+     * The first character of every binary grant state. Legacy states are Base64 encoded JSON objects and always start with "e".
+     */
+    private final static String BINARY_STATE_PREFIX = "A";
+
     private final OAuth2Client mOAuth2Client;
+    private final GrantFactoryRegistry mRegistry;
 
 
     /**
      * Creates an {@link OAuth2InteractiveGrantFactory} for the given {@link OAuth2Client}.
      */
     public InteractiveGrantFactory(OAuth2Client oAuth2Client)
+    {
+        this(oAuth2Client, GrantFactoryRegistry.DEFAULT);
+    }
+
+
+    /**
+     * Creates an {@link OAuth2InteractiveGrantFactory} for the given {@link OAuth2Client} that takes the factories from the given {@link
+     * GrantFactoryRegistry}.
+     */
+    public InteractiveGrantFactory(OAuth2Client oAuth2Client, GrantFactoryRegistry registry)
     {
         mOAuth2Client = oAuth2Client;
+        mRegistry = registry;
     }
 
 
     @Override
     public OAuth2InteractiveGrant value(String state)
     {
+        if (state.startsWith(BINARY_STATE_PREFIX))
+        {
+            return binaryStateGrant(state);
+        }
+
         JSONObject object;
         try
         {
@@ -49,12 +85,54 @@ public final class InteractiveGrantFactory implements Function<String, OAuth2Int
         JSONArray args = object.getJSONArray("args");
         String grantClass = object.getString("class");
 
+        return factory(grantClass).grant(mOAuth2Client, args);
+    }
+
+
+    private OAuth2InteractiveGrant binaryStateGrant(String state)
+    {
+        String[] decoded = GrantStateCodec.decoded(state);
+        JSONArray args = new JSONArray();
+        for (int i = 1; i < decoded.length; ++i)
+        {
+            args.put(decoded[i]);
+        }
+        return factory(decoded[0]).grant(mOAuth2Client, args);
+    }
+
+
+    private OAuth2InteractiveGrantFactory factory(String grantClass)
+    {
+        Optional<OAuth2InteractiveGrantFactory> registered = mRegistry.factory(grantClass);
+        if (registered.isPresent())
+        {
+            return registered.value();
+        }
+
+        OAuth2InteractiveGrantFactory factory = REFLECTED_FACTORIES.get(grantClass);
+        if (factory == null)
+        {
+            factory = reflectedFactory(grantClass);
+            REFLECTED_FACTORIES.putIfAbsent(grantClass, factory);
+        }
+        return factory;
+    }
+
+
+    private static OAuth2InteractiveGrantFactory reflectedFactory(String grantClass)
+    {
         try
         {
-            Constructor<OAuth2InteractiveGrantFactory> constructor = (Constructor<OAuth2InteractiveGrantFactory>) Class.forName(grantClass)
+            // don't initialize or instantiate any class that's not a factory
+            Class<?> factoryClass = Class.forName(grantClass, false, InteractiveGrantFactory.class.getClassLoader());
+            if (!OAuth2InteractiveGrantFactory.class.isAssignableFrom(factoryClass))
+            {
+                throw new ClassCastException(String.format("%s is not an OAuth2InteractiveGrantFactory", grantClass));
+            }
+            Constructor<? extends OAuth2InteractiveGrantFactory> constructor = factoryClass.asSubclass(OAuth2InteractiveGrantFactory.class)
                 .getDeclaredConstructor();
             constructor.setAccessible(true);
-            return constructor.newInstance().grant(mOAuth2Client, args);
+            return constructor.newInstance();
         }
         catch (ClassNotFoundException | NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException |
                ClassCastException exception)
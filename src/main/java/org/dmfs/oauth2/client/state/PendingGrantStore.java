@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.state;
+
+import org.dmfs.jems.optional.Optional;
+import org.dmfs.oauth2.client.OAuth2InteractiveGrant;
+
+
+/**
+ * A server side store of {@link OAuth2InteractiveGrant}s that wait for the redirect from the authorization endpoint, identified by their {@code state}.
+ * <p>
+ * Keeping the grants on the server means only the {@code state} parameter, which is part of the redirect anyway, has to travel with the user agent,
+ * instead of the full {@link OAuth2InteractiveGrant#encodedState()}.
+ */
+public interface PendingGrantStore
+{
+    /**
+     * Stores the given {@link OAuth2InteractiveGrant} under the given state, replacing any grant that was stored under the same state before.
+     *
+     * @param state
+     *     The {@code state} parameter of the authorization request of the grant.
+     * @param grant
+     *     The pending {@link OAuth2InteractiveGrant}.
+     */
+    void put(CharSequence state, OAuth2InteractiveGrant grant);
+
+    /**
+     * Removes and returns the {@link OAuth2InteractiveGrant} that was stored under the given state, if it's still there. Each grant can be taken only
+     * once, so a redirect can't be replayed.
+     *
+     * @param state
+     *     The {@code state} parameter of the redirect.
+     *
+     * @return An {@link Optional} of the pending {@link OAuth2InteractiveGrant}.
+     */
+    Optional<OAuth2InteractiveGrant> take(CharSequence state);
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.state;
+
+import org.dmfs.httpessentials.exceptions.ProtocolError;
+import org.dmfs.httpessentials.exceptions.ProtocolException;
+import org.dmfs.jems.optional.Optional;
+import org.dmfs.oauth2.client.OAuth2InteractiveGrant;
+import org.dmfs.rfc3986.UriEncoded;
+import org.dmfs.rfc3986.Uri;
+import org.dmfs.rfc3986.parameters.adapters.OptionalParameter;
+import org.dmfs.rfc3986.parameters.adapters.XwfueParameterList;
+
+import static org.dmfs.oauth2.client.utils.Parameters.STATE;
+
+
+/**
+ * The {@link OAuth2InteractiveGrant}s waiting in a {@link PendingGrantStore}. Resolves the grant a redirect belongs to by the {@code state} parameter
+ * of the redirect.
+ * <p>
+ * The {@code state} is taken from the query of the redirect (Authorization Code Grant) or from its fragment (Implicit Grant).
+ * <pre>{@code
+ * OAuth2InteractiveGrant grant = new PendingGrants(store).withRedirect(redirectUri);
+ * OAuth2AccessToken token = grant.accessToken(executor);
+ * }</pre>
+ */
+public final class PendingGrants
+{
+    private final PendingGrantStore mStore;
+
+
+    public PendingGrants(PendingGrantStore store)
+    {
+        mStore = store;
+    }
+
+
+    /**
+     * Takes the pending {@link OAuth2InteractiveGrant} the given redirect belongs to from the store and updates it with the redirect.
+     *
+     * @param redirectUri
+     *     The redirect {@link Uri} as returned by the user agent.
+     *
+     * @return The {@link OAuth2InteractiveGrant} returned by {@link OAuth2InteractiveGrant#withRedirect(Uri)} of the pending grant.
+     *
+     * @throws ProtocolError
+     *     If the server returned an error.
+     * @throws ProtocolException
+     *     If the redirect doesn't contain a state or there is no pending grant with that state, e.g. because it has expired or has already been
+     *     taken.
+     */
+    public OAuth2InteractiveGrant withRedirect(Uri redirectUri) throws ProtocolError, ProtocolException
+    {
+        Optional<OAuth2InteractiveGrant> grant = mStore.take(state(redirectUri));
+        if (!grant.isPresent())
+        {
+            throw new ProtocolException("No pending grant for the state in the redirect uri. It may have expired or been used already.");
+        }
+        return grant.value().withRedirect(redirectUri);
+    }
+
+
+    private static CharSequence state(Uri redirectUri) throws ProtocolException
+    {
+        if (redirectUri.query().isPresent())
+        {
+            OptionalParameter<CharSequence> state = stateParameter(redirectUri.query().value());
+            if (state.isPresent())
+            {
+                return state.value();
+            }
+        }
+        if (redirectUri.fragment().isPresent())
+        {
+            OptionalParameter<CharSequence> state = stateParameter(redirectUri.fragment().value());
+            if (state.isPresent())
+            {
+                return state.value();
+            }
+        }
+        throw new ProtocolException("Missing state in redirect uri");
+    }
+
+
+    private static OptionalParameter<CharSequence> stateParameter(UriEncoded parameters)
+    {
+        return new OptionalParameter<>(STATE, new XwfueParameterList(parameters));
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.state;
+
+import org.dmfs.oauth2.client.OAuth2InteractiveGrant;
+
+
+/**
+ * An {@link OAuth2InteractiveGrant.OAuth2InteractiveGrantFactory} with a short tag, which identifies it in a binary encoded grant state (see {@link
+ * org.dmfs.oauth2.client.utils.BinaryGrantState}).
+ * <p>
+ * Tags must be unique among all factories of a {@link GrantFactoryRegistry} and must never change, otherwise existing states can no longer be restored.
+ */
+public interface TaggedGrantFactory extends OAuth2InteractiveGrant.OAuth2InteractiveGrantFactory
+{
+    /**
+     * The tag of this factory.
+     */
+    String tag();
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.tokens;
+
+import org.dmfs.httpessentials.exceptions.ProtocolException;
+import org.dmfs.jems.optional.Optional;
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+import org.dmfs.oauth2.client.OAuth2Scope;
+import org.dmfs.rfc5545.DateTime;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * An {@link OAuth2AccessToken} decorator that anchors the expiration time to the time the token request has been sent.
+ * <p>
+ * The {@code expires_in} value of a token response is relative to the time the server issued the token, which is before the token has been received, let
+ * alone parsed. A token that's created from the response expires that much later than the server thinks. This decorator moves the expiration time back by
+ * the time that passed since the request has been sent, so the token never expires later than it does on the server.
+ */
+public final class AnchoredAccessToken implements OAuth2AccessToken
+{
+    private final OAuth2AccessToken mDelegate;
+    private final long mDelayNanos;
+
+
+    /**
+     * Creates an {@link AnchoredAccessToken}.
+     *
+     * @param delegate
+     *     The {@link OAuth2AccessToken} that was created from the response.
+     * @param delayNanos
+     *     The time between sending the token request and creating the token, in nanoseconds.
+     */
+    public AnchoredAccessToken(OAuth2AccessToken delegate, long delayNanos)
+    {
+        mDelegate = delegate;
+        mDelayNanos = delayNanos;
+    }
+
+
+    @Override
+    public CharSequence accessToken() throws ProtocolException
+    {
+        return mDelegate.accessToken();
+    }
+
+
+    @Override
+    public CharSequence tokenType() throws ProtocolException
+    {
+        return mDelegate.tokenType();
+    }
+
+
+    @Override
+    public boolean hasRefreshToken()
+    {
+        return mDelegate.hasRefreshToken();
+    }
+
+
+    @Override
+    public CharSequence refreshToken() throws ProtocolException
+    {
+        return mDelegate.refreshToken();
+    }
+
+
+    @Override
+    public DateTime expirationDate() throws ProtocolException
+    {
+        return new DateTime(mDelegate.expirationDate().getTimestamp() - TimeUnit.NANOSECONDS.toMillis(mDelayNanos));
+    }
+
+
+    @Override
+    public long expiresAtNanos() throws ProtocolException
+    {
+        return mDelegate.expiresAtNanos() - mDelayNanos;
+    }
+
+
+    @Override
+    public OAuth2Scope scope() throws ProtocolException
+    {
+        return mDelegate.scope();
+    }
+
+
+    @Override
+    public Optional<CharSequence> extraParameter(String parameterName)
+    {
+        return mDelegate.extraParameter(parameterName);
+    }
+}
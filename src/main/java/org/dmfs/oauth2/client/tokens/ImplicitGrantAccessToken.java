@@ -31,6 +31,7 @@ import org.dmfs.rfc5545.DateTime;
 import org.dmfs.rfc5545.Duration;
 
 import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
 
 import static org.dmfs.oauth2.client.utils.Parameters.*;
 
@@ -46,7 +47,11 @@ public final class ImplicitGrantAccessToken implements OAuth2AccessToken
     private final ParameterList mRedirectUriParameters;
     private final DateTime mIssueDate;
     private final OAuth2Scope mScope;
-    private final Duration mDefaultExpiresIn;
+    /**
+     * The lifetime of the token or {@code null} if the expires_in parameter is invalid.
+     */
+    private final Duration mExpiresIn;
+    private final long mExpiresAtNanos;
 
 
     /**
@@ -74,8 +79,10 @@ public final class ImplicitGrantAccessToken implements OAuth2AccessToken
         }
 
         mIssueDate = DateTime.now();
+        long issueNanos = System.nanoTime();
         mScope = scope;
-        mDefaultExpiresIn = defaultExpiresIn;
+        mExpiresIn = expiresIn(mRedirectUriParameters, defaultExpiresIn);
+        mExpiresAtNanos = mExpiresIn == null ? 0 : issueNanos + TimeUnit.MILLISECONDS.toNanos(mExpiresIn.toMillis());
     }
 
 
@@ -121,7 +128,22 @@ public final class ImplicitGrantAccessToken implements OAuth2AccessToken
     @Override
     public DateTime expirationDate() throws ProtocolException
     {
-        return mIssueDate.addDuration(new OptionalParameter<>(EXPIRES_IN, mRedirectUriParameters).value(mDefaultExpiresIn));
+        if (mExpiresIn == null)
+        {
+            throw new ProtocolException(String.format("Invalid expires_in in fragment '%s'", mRedirectUri.fragment().value()));
+        }
+        return mIssueDate.addDuration(mExpiresIn);
+    }
+
+
+    @Override
+    public long expiresAtNanos() throws ProtocolException
+    {
+        if (mExpiresIn == null)
+        {
+            throw new ProtocolException(String.format("Invalid expires_in in fragment '%s'", mRedirectUri.fragment().value()));
+        }
+        return mExpiresAtNanos;
     }
 
 
@@ -137,4 +159,18 @@ public final class ImplicitGrantAccessToken implements OAuth2AccessToken
     {
         return new OptionalParameter<>(new BasicParameterType<>(parameterName, TextValueType.INSTANCE), mRedirectUriParameters);
     }
+
+
+    private static Duration expiresIn(ParameterList parameters, Duration defaultExpiresIn)
+    {
+        try
+        {
+            return new OptionalParameter<>(EXPIRES_IN, parameters).value(defaultExpiresIn);
+        }
+        catch (NumberFormatException e)
+        {
+            // reported when the expiration time is requested
+            return null;
+        }
+    }
 }
@@ -31,6 +31,7 @@ import org.json.JSONException;
 import org.json.JSONObject;
 
 import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
 
 
 /**
@@ -43,6 +44,7 @@ public final class JsonAccessToken implements OAuth2AccessToken
     private final JSONObject mTokenResponse;
     private final OAuth2Scope mScope;
     private final DateTime mIssueDate;
+    private final long mIssueNanos;
 
 
     public JsonAccessToken(JSONObject tokenResponse, OAuth2Scope scope)
@@ -50,6 +52,7 @@ public final class JsonAccessToken implements OAuth2AccessToken
         mScope = scope;
         mTokenResponse = tokenResponse;
         mIssueDate = DateTime.now();
+        mIssueNanos = System.nanoTime();
     }
 
 
@@ -121,6 +124,20 @@ public final class JsonAccessToken implements OAuth2AccessToken
     }
 
 
+    @Override
+    public long expiresAtNanos() throws ProtocolException
+    {
+        try
+        {
+            return mIssueNanos + TimeUnit.SECONDS.toNanos(mTokenResponse.getInt("expires_in"));
+        }
+        catch (JSONException e)
+        {
+            throw new ProtocolException("Can't read expires_in from token response", e);
+        }
+    }
+
+
     @Override
     public OAuth2Scope scope() throws ProtocolException
     {
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.tokens;
+
+import org.dmfs.httpessentials.exceptions.ProtocolException;
+import org.dmfs.jems.optional.Optional;
+import org.dmfs.jems.optional.elementary.NullSafe;
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+import org.dmfs.oauth2.client.OAuth2Scope;
+import org.dmfs.oauth2.client.scope.BasicScope;
+import org.dmfs.rfc5545.DateTime;
+import org.json.JSONObject;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * An immutable {@link OAuth2AccessToken} that's parsed once when it's created.
+ * <p>
+ * Unlike {@link JsonAccessToken} it doesn't keep the token response, just the values of the token, the absolute expiration time and the members of the
+ * response, which remain available via {@link #extraParameter(String)} like with {@link JsonAccessToken}. The expiration time is also kept in terms of {@link System#nanoTime()}, so
+ * {@link #expiresAtNanos()} is not affected by later changes of the wall clock. Missing mandatory values are reported by the respective methods, like with {@link JsonAccessToken}.
+ */
+public final class ParsedAccessToken implements OAuth2AccessToken
+{
+    private final CharSequence mAccessToken;
+    private final CharSequence mTokenType;
+    private final CharSequence mRefreshToken;
+    private final Long mExpirationMillis;
+    private final long mExpiresAtNanos;
+    private final OAuth2Scope mScope;
+    private final Map<String, ? extends CharSequence> mExtraParameters;
+
+
+    /**
+     * Creates a {@link ParsedAccessToken} from the given token response.
+     *
+     * @param tokenResponse
+     *     The token response.
+     * @param scope
+     *     The scope that was requested. It's returned if the response doesn't contain a scope.
+     */
+    public ParsedAccessToken(JSONObject tokenResponse, OAuth2Scope scope)
+    {
+        this(tokenResponse.optString("access_token", null),
+            tokenResponse.optString("token_type", null),
+            tokenResponse.optString("refresh_token", null),
+            expirationMillis(tokenResponse, System.currentTimeMillis()),
+            tokenResponse.optString("scope", null),
+            scope,
+            extraParameters(tokenResponse));
+    }
+
+
+    /**
+     * Creates a {@link ParsedAccessToken} from the given values.
+     *
+     * @param accessToken
+     *     The access token or {@code null} if the response didn't contain any.
+     * @param tokenType
+     *     The token type or {@code null} if the response didn't contain any.
+     * @param refreshToken
+     *     The refresh token or {@code null} if the response didn't contain any.
+     * @param expirationMillis
+     *     The expiration time in milliseconds since the epoch or {@code null} if it's unknown.
+     * @param scopeParameter
+     *     The value of the scope parameter or {@code null} if the response didn't contain any.
+     * @param requestedScope
+     *     The scope that was requested. It's returned if the response doesn't contain a scope.
+     * @param extraParameters
+     *     The members of the token response, including the ones defined by RFC 6749. The map is not copied, so it must not be modified afterwards.
+     */
+    public ParsedAccessToken(CharSequence accessToken, CharSequence tokenType, CharSequence refreshToken, Long expirationMillis, String scopeParameter,
+                             OAuth2Scope requestedScope, Map<String, ? extends CharSequence> extraParameters)
+    {
+        mAccessToken = accessToken;
+        mTokenType = tokenType;
+        mRefreshToken = refreshToken;
+        mExpirationMillis = expirationMillis;
+        mExpiresAtNanos = expirationMillis == null ? 0 : System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(expirationMillis - System.currentTimeMillis());
+        mScope = grantedScope(scopeParameter, requestedScope);
+        mExtraParameters = extraParameters;
+    }
+
+
+    @Override
+    public CharSequence accessToken() throws ProtocolException
+    {
+        if (mAccessToken == null)
+        {
+            throw new ProtocolException("Can't read access_token from token response");
+        }
+        return mAccessToken;
+    }
+
+
+    @Override
+    public CharSequence tokenType() throws ProtocolException
+    {
+        if (mTokenType == null)
+        {
+            throw new ProtocolException("Can't read token_type from token response");
+        }
+        return mTokenType;
+    }
+
+
+    @Override
+    public boolean hasRefreshToken()
+    {
+        return mRefreshToken != null;
+    }
+
+
+    @Override
+    public CharSequence refreshToken()
+    {
+        if (mRefreshToken == null)
+        {
+            throw new NoSuchElementException("No refresh token found");
+        }
+        return mRefreshToken;
+    }
+
+
+    @Override
+    public DateTime expirationDate() throws ProtocolException
+    {
+        if (mExpirationMillis == null)
+        {
+            throw new ProtocolException("Can't read expires_in from token response");
+        }
+        return new DateTime(mExpirationMillis);
+    }
+
+
+    @Override
+    public long expiresAtNanos() throws ProtocolException
+    {
+        if (mExpirationMillis == null)
+        {
+            throw new ProtocolException("Can't read expires_in from token response");
+        }
+        return mExpiresAtNanos;
+    }
+
+
+    @Override
+    public OAuth2Scope scope()
+    {
+        return mScope;
+    }
+
+
+    @Override
+    public Optional<CharSequence> extraParameter(String parameterName)
+    {
+        return new NullSafe<>(mExtraParameters.get(parameterName));
+    }
+
+
+    /**
+     * Returns the {@link OAuth2Scope} in the given scope parameter or the requested scope if the parameter is absent. If both contain the same scope
+     * tokens the requested scope instance is returned, so the common case doesn't retain another scope.
+     *
+     * @param scopeParameter
+     *     The value of the scope parameter of the token response or {@code null}.
+     * @param requestedScope
+     *     The scope that was requested.
+     */
+    private static OAuth2Scope grantedScope(String scopeParameter, OAuth2Scope requestedScope)
+    {
+        if (scopeParameter == null)
+        {
+            return requestedScope;
+        }
+
+        String[] tokens = scopeParameter.trim().isEmpty() ? new String[0] : scopeParameter.trim().split(" +");
+        OAuth2Scope grantedScope = new BasicScope(tokens);
+        // equals compares the distinct tokens in both directions, so duplicate tokens in the response can't hide missing ones
+        return grantedScope.equals(requestedScope) ? requestedScope : grantedScope;
+    }
+
+
+    private static Long expirationMillis(JSONObject tokenResponse, long now)
+    {
+        // expires_in may be a number or a string, optLong handles both, a missing or invalid value is reported when the expiration date is requested
+        long expiresIn = tokenResponse.optLong("expires_in", Long.MIN_VALUE);
+        return expiresIn == Long.MIN_VALUE ? null : now + expiresIn * 1000L;
+    }
+
+
+    private static Map<String, String> extraParameters(JSONObject tokenResponse)
+    {
+        Map<String, String> result = null;
+        Iterator<String> keys = tokenResponse.keys();
+        while (keys.hasNext())
+        {
+            String key = keys.next();
+            String value = tokenResponse.optString(key, null);
+            if (value != null)
+            {
+                if (result == null)
+                {
+                    result = new HashMap<>(8);
+                }
+                result.put(key, value);
+            }
+        }
+        return result == null ? Collections.<String, String>emptyMap() : result;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.tokens;
+
+import org.dmfs.httpessentials.exceptions.ProtocolException;
+import org.dmfs.jems.optional.Optional;
+import org.dmfs.jems.optional.elementary.Absent;
+import org.dmfs.jems.optional.elementary.Present;
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+import org.dmfs.oauth2.client.OAuth2Scope;
+import org.dmfs.rfc5545.DateTime;
+
+import java.util.NoSuchElementException;
+
+
+/**
+ * An {@link OAuth2AccessToken} that was obtained by refreshing a previous {@link OAuth2AccessToken}.
+ * <p>
+ * The authorization server may issue a new refresh token with the response, in which case the new one is returned. Otherwise the refresh token of the
+ * previous token remains valid (see <a href="https://tools.ietf.org/html/rfc6749#section-6">RFC 6749, Section 6</a>) and is returned instead.
+ * <p>
+ * Note, this only retains the refresh token of the previous token, so renewing a {@link RenewedAccessToken} over and over again doesn't build up a chain
+ * of tokens.
+ */
+public final class RenewedAccessToken implements OAuth2AccessToken
+{
+    private final OAuth2AccessToken mRenewedToken;
+    private final Optional<CharSequence> mPreviousRefreshToken;
+
+
+    /**
+     * Creates an {@link OAuth2AccessToken} from a renewed token, that falls back to the refresh token of the previous token.
+     *
+     * @param renewedToken
+     *     The {@link OAuth2AccessToken} returned by the token refresh.
+     * @param previousToken
+     *     The {@link OAuth2AccessToken} that has been refreshed.
+     */
+    public RenewedAccessToken(OAuth2AccessToken renewedToken, OAuth2AccessToken previousToken) throws ProtocolException
+    {
+        this(renewedToken, previousToken.hasRefreshToken() ? new Present<>(previousToken.refreshToken()) : Absent.<CharSequence>absent());
+    }
+
+
+    private RenewedAccessToken(OAuth2AccessToken renewedToken, Optional<CharSequence> previousRefreshToken)
+    {
+        mRenewedToken = renewedToken;
+        mPreviousRefreshToken = previousRefreshToken;
+    }
+
+
+    @Override
+    public CharSequence accessToken() throws ProtocolException
+    {
+        return mRenewedToken.accessToken();
+    }
+
+
+    @Override
+    public CharSequence tokenType() throws ProtocolException
+    {
+        return mRenewedToken.tokenType();
+    }
+
+
+    @Override
+    public boolean hasRefreshToken()
+    {
+        return mRenewedToken.hasRefreshToken() || mPreviousRefreshToken.isPresent();
+    }
+
+
+    @Override
+    public CharSequence refreshToken() throws ProtocolException
+    {
+        if (mRenewedToken.hasRefreshToken())
+        {
+            return mRenewedToken.refreshToken();
+        }
+        if (!mPreviousRefreshToken.isPresent())
+        {
+            throw new NoSuchElementException("No refresh token found");
+        }
+        return mPreviousRefreshToken.value();
+    }
+
+
+    @Override
+    public DateTime expirationDate() throws ProtocolException
+    {
+        return mRenewedToken.expirationDate();
+    }
+
+
+    @Override
+    public long expiresAtNanos() throws ProtocolException
+    {
+        return mRenewedToken.expiresAtNanos();
+    }
+
+
+    @Override
+    public OAuth2Scope scope() throws ProtocolException
+    {
+        return mRenewedToken.scope();
+    }
+
+
+    @Override
+    public Optional<CharSequence> extraParameter(String parameterName)
+    {
+        return mRenewedToken.extraParameter(parameterName);
+    }
+}
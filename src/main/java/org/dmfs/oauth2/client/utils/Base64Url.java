@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.utils;
+
+import java.util.Arrays;
+
+
+/**
+ * Unpadded base64url encoding as specified in <a href="https://tools.ietf.org/html/rfc4648#section-5">RFC 4648, section 5</a> and used by
+ * <a href="https://tools.ietf.org/html/rfc7636#appendix-A">RFC 7636, appendix A</a>.
+ * <p>
+ * The result contains only URL safe characters, so it can be put into a URL or a cookie without further escaping.
+ */
+public final class Base64Url
+{
+    private final static char[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+    private final static byte[] VALUES = new byte[128];
+
+    static
+    {
+        Arrays.fill(VALUES, (byte) -1);
+        for (int i = 0; i < ALPHABET.length; ++i)
+        {
+            VALUES[ALPHABET[i]] = (byte) i;
+        }
+    }
+
+
+    /**
+     * Encodes the first {@code length} bytes of the given array without padding.
+     */
+    public static String encoded(byte[] bytes, int length)
+    {
+        char[] result = new char[(length * 4 + 2) / 3];
+        int pos = 0;
+        int i = 0;
+        for (; i + 2 < length; i += 3)
+        {
+            int bits = (bytes[i] & 0xff) << 16 | (bytes[i + 1] & 0xff) << 8 | bytes[i + 2] & 0xff;
+            result[pos++] = ALPHABET[bits >>> 18];
+            result[pos++] = ALPHABET[bits >>> 12 & 0x3f];
+            result[pos++] = ALPHABET[bits >>> 6 & 0x3f];
+            result[pos++] = ALPHABET[bits & 0x3f];
+        }
+        if (i < length)
+        {
+            int bits = (bytes[i] & 0xff) << 16 | (i + 1 < length ? (bytes[i + 1] & 0xff) << 8 : 0);
+            result[pos++] = ALPHABET[bits >>> 18];
+            result[pos++] = ALPHABET[bits >>> 12 & 0x3f];
+            if (i + 1 < length)
+            {
+                result[pos] = ALPHABET[bits >>> 6 & 0x3f];
+            }
+        }
+        return new String(result);
+    }
+
+
+    /**
+     * Decodes the given unpadded base64url string.
+     *
+     * @throws IllegalArgumentException
+     *     if the given string is not valid unpadded base64url.
+     */
+    public static byte[] decoded(CharSequence encoded)
+    {
+        int length = encoded.length();
+        if (length % 4 == 1)
+        {
+            throw new IllegalArgumentException("Invalid base64url length " + length);
+        }
+        byte[] result = new byte[length * 3 / 4];
+        int pos = 0;
+        int bits = 0;
+        int bitCount = 0;
+        for (int i = 0; i < length; ++i)
+        {
+            char c = encoded.charAt(i);
+            int value = c < 128 ? VALUES[c] : -1;
+            if (value < 0)
+            {
+                throw new IllegalArgumentException(String.format("Invalid base64url character at position %d", i));
+            }
+            bits = bits << 6 | value;
+            bitCount += 6;
+            if (bitCount >= 8)
+            {
+                bitCount -= 8;
+                result[pos++] = (byte) (bits >>> bitCount);
+            }
+        }
+        return result;
+    }
+
+
+    private Base64Url()
+    {
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.utils;
+
+import org.dmfs.jems2.Single;
+
+
+/**
+ * The compact, binary encoding of the state of an interactive grant, as returned by {@code encodedState()}.
+ * <p>
+ * See {@link GrantStateCodec} for the format.
+ */
+public final class BinaryGrantState implements Single<String>
+{
+    private final CharSequence mTag;
+    private final CharSequence[] mArguments;
+
+
+    public BinaryGrantState(CharSequence tag, CharSequence... arguments)
+    {
+        mTag = tag;
+        mArguments = arguments;
+    }
+
+
+    @Override
+    public String value()
+    {
+        return GrantStateCodec.encoded(mTag, mArguments);
+    }
+}
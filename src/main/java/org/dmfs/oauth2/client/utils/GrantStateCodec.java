@@ -0,0 +1,245 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.utils;
+
+import org.dmfs.oauth2.client.state.TaggedGrantFactory;
+
+import java.nio.charset.StandardCharsets;
+
+
+/**
+ * Writes and reads the compact, binary encoding of the state of an interactive grant.
+ * <p>
+ * The state is encoded as unpadded {@link Base64Url} of the following bytes:
+ * <pre>
+ * version   (1 byte, currently 1)
+ * tag       (varint length, UTF-8 bytes)
+ * arguments (varint count, each with varint length and UTF-8 bytes)
+ * </pre>
+ * The tag is the {@link TaggedGrantFactory#tag()} of the factory which restores the grant. Varints are unsigned, little endian groups of 7 bits with
+ * the high bit set on all but the last byte.
+ * <p>
+ * Since the version byte is small, an encoded state always starts with an {@code A}, which distinguishes it from the legacy {@link GrantState} format
+ * (Base64 encoded JSON), which starts with {@code e}.
+ */
+public final class GrantStateCodec
+{
+    public final static int VERSION = 1;
+
+
+    /**
+     * Returns the encoded state of the given tag and arguments.
+     */
+    public static String encoded(CharSequence tag, CharSequence... arguments)
+    {
+        // compute the exact size first, so the bytes can be written without any intermediate buffers
+        int size = 1 + sizeOf(tag) + varIntSize(arguments.length);
+        for (CharSequence argument : arguments)
+        {
+            size += sizeOf(argument);
+        }
+
+        byte[] bytes = new byte[size];
+        bytes[0] = VERSION;
+        int pos = write(bytes, 1, tag);
+        pos = writeVarInt(bytes, pos, arguments.length);
+        for (CharSequence argument : arguments)
+        {
+            pos = write(bytes, pos, argument);
+        }
+        return Base64Url.encoded(bytes, pos);
+    }
+
+
+    /**
+     * Decodes the given state into its tag, followed by its arguments.
+     *
+     * @throws IllegalArgumentException
+     *     if the given state is not a valid encoded state.
+     */
+    public static String[] decoded(CharSequence state)
+    {
+        byte[] bytes = Base64Url.decoded(state);
+        if (bytes.length == 0 || bytes[0] != VERSION)
+        {
+            throw new IllegalArgumentException("Unsupported grant state version");
+        }
+        try
+        {
+            int[] pos = { 1 };
+            String tag = readString(bytes, pos);
+            int count = readVarInt(bytes, pos);
+            // every argument takes at least one byte, don't let a corrupt count allocate a huge array
+            if (count > bytes.length - pos[0])
+            {
+                throw new IllegalArgumentException("Truncated grant state");
+            }
+            String[] result = new String[count + 1];
+            result[0] = tag;
+            for (int i = 1; i <= count; ++i)
+            {
+                result[i] = readString(bytes, pos);
+            }
+            if (pos[0] != bytes.length)
+            {
+                throw new IllegalArgumentException("Trailing bytes in grant state");
+            }
+            return result;
+        }
+        catch (ArrayIndexOutOfBoundsException e)
+        {
+            throw new IllegalArgumentException("Truncated grant state", e);
+        }
+    }
+
+
+    private static int sizeOf(CharSequence chars)
+    {
+        int length = utf8Length(chars);
+        return varIntSize(length) + length;
+    }
+
+
+    private static int write(byte[] bytes, int pos, CharSequence chars)
+    {
+        pos = writeVarInt(bytes, pos, utf8Length(chars));
+        int length = chars.length();
+        for (int i = 0; i < length; ++i)
+        {
+            char c = chars.charAt(i);
+            if (c < 0x80)
+            {
+                bytes[pos++] = (byte) c;
+            }
+            else if (c < 0x800)
+            {
+                bytes[pos++] = (byte) (0xc0 | c >>> 6);
+                bytes[pos++] = (byte) (0x80 | c & 0x3f);
+            }
+            else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(chars.charAt(i + 1)))
+            {
+                int codePoint = Character.toCodePoint(c, chars.charAt(++i));
+                bytes[pos++] = (byte) (0xf0 | codePoint >>> 18);
+                bytes[pos++] = (byte) (0x80 | codePoint >>> 12 & 0x3f);
+                bytes[pos++] = (byte) (0x80 | codePoint >>> 6 & 0x3f);
+                bytes[pos++] = (byte) (0x80 | codePoint & 0x3f);
+            }
+            else if (Character.isSurrogate(c))
+            {
+                // unpaired surrogate, encoded as '?' like String.getBytes does
+                bytes[pos++] = '?';
+            }
+            else
+            {
+                bytes[pos++] = (byte) (0xe0 | c >>> 12);
+                bytes[pos++] = (byte) (0x80 | c >>> 6 & 0x3f);
+                bytes[pos++] = (byte) (0x80 | c & 0x3f);
+            }
+        }
+        return pos;
+    }
+
+
+    private static int utf8Length(CharSequence chars)
+    {
+        int length = chars.length();
+        int result = length;
+        for (int i = 0; i < length; ++i)
+        {
+            char c = chars.charAt(i);
+            if (c >= 0x80)
+            {
+                if (c < 0x800)
+                {
+                    result += 1;
+                }
+                else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(chars.charAt(i + 1)))
+                {
+                    // two chars, four bytes
+                    result += 2;
+                    ++i;
+                }
+                else if (!Character.isSurrogate(c))
+                {
+                    result += 2;
+                }
+            }
+        }
+        return result;
+    }
+
+
+    private static int varIntSize(int value)
+    {
+        int size = 1;
+        while ((value >>>= 7) != 0)
+        {
+            ++size;
+        }
+        return size;
+    }
+
+
+    private static int writeVarInt(byte[] bytes, int pos, int value)
+    {
+        while ((value & ~0x7f) != 0)
+        {
+            bytes[pos++] = (byte) (value & 0x7f | 0x80);
+            value >>>= 7;
+        }
+        bytes[pos++] = (byte) value;
+        return pos;
+    }
+
+
+    private static String readString(byte[] bytes, int[] pos)
+    {
+        int length = readVarInt(bytes, pos);
+        if (length > bytes.length - pos[0])
+        {
+            throw new IllegalArgumentException("Truncated grant state");
+        }
+        String result = new String(bytes, pos[0], length, StandardCharsets.UTF_8);
+        pos[0] += length;
+        return result;
+    }
+
+
+    private static int readVarInt(byte[] bytes, int[] pos)
+    {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7)
+        {
+            byte b = bytes[pos[0]++];
+            result |= (b & 0x7f) << shift;
+            if (b >= 0)
+            {
+                if (result < 0)
+                {
+                    break;
+                }
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Invalid length in grant state");
+    }
+
+
+    private GrantStateCodec()
+    {
+    }
+}
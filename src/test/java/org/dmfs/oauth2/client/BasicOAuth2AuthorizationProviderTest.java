@@ -0,0 +1,178 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client;
+
+import org.dmfs.httpessentials.client.HttpRequest;
+import org.dmfs.httpessentials.client.HttpRequestExecutor;
+import org.dmfs.httpessentials.client.HttpResponse;
+import org.dmfs.httpessentials.client.HttpResponseHandler;
+import org.dmfs.httpessentials.converters.PlainStringHeaderConverter;
+import org.dmfs.httpessentials.exceptions.ProtocolError;
+import org.dmfs.httpessentials.exceptions.ProtocolException;
+import org.dmfs.httpessentials.headers.BasicSingletonHeaderType;
+import org.dmfs.httpessentials.headers.EmptyHeaders;
+import org.dmfs.httpessentials.headers.Headers;
+import org.dmfs.oauth2.client.async.OffloadingExecutor;
+import org.dmfs.rfc5545.DateTime;
+import org.dmfs.rfc5545.Duration;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.dmfs.jems2.mockito.Mock.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+
+
+public class BasicOAuth2AuthorizationProviderTest
+{
+    private final static BasicSingletonHeaderType<String> DATE_HEADER = new BasicSingletonHeaderType<>("Date", new PlainStringHeaderConverter());
+
+
+    @Test
+    public void testAnchorsExpirationToSendTime() throws Exception
+    {
+        long expiresAt = System.nanoTime() + TimeUnit.HOURS.toNanos(1);
+        long expirationMillis = System.currentTimeMillis() + 3600 * 1000L;
+        OAuth2AccessToken token = mock(OAuth2AccessToken.class,
+            with(OAuth2AccessToken::expiresAtNanos, returning(expiresAt)),
+            with(OAuth2AccessToken::expirationDate, returning(new DateTime(expirationMillis))));
+        BasicOAuth2AuthorizationProvider provider = provider();
+
+        OAuth2AccessToken result = provider.accessToken(request(token), new SlowExecutor(EmptyHeaders.INSTANCE, 50));
+
+        assertTrue(expiresAt - result.expiresAtNanos() >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(expirationMillis - result.expirationDate().getTimestamp() >= 50);
+        assertEquals(1, provider.timings().requests());
+        assertTrue(provider.timings().roundTripNanos() >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(0, provider.timings().clockSkewMillis());
+    }
+
+
+    @Test
+    public void testAnchorsExpirationOfNonBlockingRequests() throws Exception
+    {
+        long expiresAt = System.nanoTime() + TimeUnit.HOURS.toNanos(1);
+        long expirationMillis = System.currentTimeMillis() + 3600 * 1000L;
+        OAuth2AccessToken token = mock(OAuth2AccessToken.class,
+            with(OAuth2AccessToken::expiresAtNanos, returning(expiresAt)),
+            with(OAuth2AccessToken::expirationDate, returning(new DateTime(expirationMillis))));
+        BasicOAuth2AuthorizationProvider provider = provider();
+        // the server clock is 30 seconds behind
+        String date = DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(System.currentTimeMillis() - 30_000).atOffset(ZoneOffset.UTC));
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try
+        {
+            OAuth2AccessToken result = provider.accessTokenAsync(request(token),
+                    new OffloadingExecutor(new SlowExecutor(EmptyHeaders.INSTANCE.withHeader(DATE_HEADER.entity(date)), 50), pool))
+                .toCompletableFuture()
+                .get(5, TimeUnit.SECONDS);
+
+            assertTrue(expiresAt - result.expiresAtNanos() >= TimeUnit.MILLISECONDS.toNanos(50));
+            assertTrue(expirationMillis - result.expirationDate().getTimestamp() >= 50);
+            assertEquals(1, provider.timings().requests());
+            assertTrue(provider.timings().roundTripNanos() >= TimeUnit.MILLISECONDS.toNanos(50));
+            assertTrue(Math.abs(provider.timings().clockSkewMillis() - 30_000) <= 1000);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+
+    @Test
+    public void testMeasuresClockSkew() throws Exception
+    {
+        OAuth2AccessToken token = mock(OAuth2AccessToken.class);
+        BasicOAuth2AuthorizationProvider provider = provider();
+        // the server clock is 30 seconds behind
+        String date = DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(System.currentTimeMillis() - 30_000).atOffset(ZoneOffset.UTC));
+
+        provider.accessToken(request(token), new SlowExecutor(EmptyHeaders.INSTANCE.withHeader(DATE_HEADER.entity(date)), 0));
+
+        assertTrue(Math.abs(provider.timings().clockSkewMillis() - 30_000) <= 1000);
+    }
+
+
+    @Test
+    public void testIgnoresInvalidDate() throws Exception
+    {
+        OAuth2AccessToken token = mock(OAuth2AccessToken.class);
+        BasicOAuth2AuthorizationProvider provider = provider();
+
+        provider.accessToken(request(token), new SlowExecutor(EmptyHeaders.INSTANCE.withHeader(DATE_HEADER.entity("yesterday")), 0));
+
+        assertEquals(1, provider.timings().requests());
+        assertEquals(0, provider.timings().clockSkewMillis());
+    }
+
+
+    private static BasicOAuth2AuthorizationProvider provider()
+    {
+        return new BasicOAuth2AuthorizationProvider(URI.create("https://example.com/auth"), URI.create("https://example.com/token"),
+            new Duration(1, 0, 3600));
+    }
+
+
+    private static HttpRequest<OAuth2AccessToken> request(OAuth2AccessToken token) throws Exception
+    {
+        HttpResponseHandler<OAuth2AccessToken> handler = mock(HttpResponseHandler.class, with(h -> h.handleResponse(any()), returning(token)));
+        return mock(HttpRequest.class, with(r -> r.responseHandler(any()), returning(handler)));
+    }
+
+
+    /**
+     * An {@link HttpRequestExecutor} that responds with the given headers after the given delay.
+     */
+    private final static class SlowExecutor implements HttpRequestExecutor
+    {
+        private final Headers mHeaders;
+        private final long mDelayMillis;
+
+
+        private SlowExecutor(Headers headers, long delayMillis)
+        {
+            mHeaders = headers;
+            mDelayMillis = delayMillis;
+        }
+
+
+        @Override
+        public <T> T execute(URI uri, HttpRequest<T> request) throws IOException, ProtocolError, ProtocolException
+        {
+            try
+            {
+                Thread.sleep(mDelayMillis);
+            }
+            catch (InterruptedException e)
+            {
+                throw new IOException(e);
+            }
+            HttpResponse response = mock(HttpResponse.class, with(HttpResponse::headers, returning(mHeaders)));
+            return request.responseHandler(response).handleResponse(response);
+        }
+    }
+}
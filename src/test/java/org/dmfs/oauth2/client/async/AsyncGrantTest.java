@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.async;
+
+import org.dmfs.httpessentials.client.HttpRequest;
+import org.dmfs.httpessentials.client.HttpRequestExecutor;
+import org.dmfs.httpessentials.exceptions.ProtocolException;
+import org.dmfs.oauth2.client.BasicOAuth2AuthorizationProvider;
+import org.dmfs.oauth2.client.BasicOAuth2Client;
+import org.dmfs.oauth2.client.BasicOAuth2ClientCredentials;
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+import org.dmfs.oauth2.client.OAuth2Client;
+import org.dmfs.oauth2.client.OAuth2Grant;
+import org.dmfs.oauth2.client.grants.ClientCredentialsGrant;
+import org.dmfs.oauth2.client.grants.ImplicitGrant;
+import org.dmfs.oauth2.client.scope.BasicScope;
+import org.dmfs.rfc3986.encoding.Precoded;
+import org.dmfs.rfc3986.uris.LazyUri;
+import org.dmfs.rfc5545.Duration;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.dmfs.jems2.mockito.Mock.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+
+public class AsyncGrantTest
+{
+    private final OAuth2Client mClient = new BasicOAuth2Client(
+        new BasicOAuth2AuthorizationProvider(URI.create("https://example.com/auth"), URI.create("https://example.com/token"), new Duration(1, 0, 3600)),
+        new BasicOAuth2ClientCredentials("client", "secret"),
+        new LazyUri(new Precoded("https://example.com/callback")));
+
+
+    @Test
+    public void testSendsTokenRequestAsynchronously() throws Exception
+    {
+        OAuth2AccessToken token = mock(OAuth2AccessToken.class);
+        AtomicReference<URI> uri = new AtomicReference<>();
+        AsyncHttpRequestExecutor executor = new AsyncHttpRequestExecutor()
+        {
+            @SuppressWarnings("unchecked")
+            @Override
+            public <T> CompletionStage<T> execute(URI target, HttpRequest<T> request)
+            {
+                uri.set(target);
+                return CompletableFuture.completedFuture((T) token);
+            }
+        };
+
+        OAuth2AccessToken result = new AsyncGrant(new ClientCredentialsGrant(mClient, new BasicScope("scope")))
+            .accessToken(executor).toCompletableFuture().get(1, TimeUnit.SECONDS);
+
+        assertSame(token, result);
+        assertEquals(URI.create("https://example.com/token"), uri.get());
+    }
+
+
+    @Test
+    public void testReturnsTokenOfGrantWithoutRequest() throws Exception
+    {
+        HttpRequestExecutor unused = mock(HttpRequestExecutor.class);
+        OAuth2Client client = new BasicOAuth2Client(
+            new BasicOAuth2AuthorizationProvider(URI.create("https://example.com/auth"), URI.create("https://example.com/token"), new Duration(1, 0, 3600)),
+            new BasicOAuth2ClientCredentials("client", "secret"),
+            new LazyUri(new Precoded("https://example.com/callback")),
+            () -> "123456789012345678901234567890");
+        OAuth2Grant grant = new ImplicitGrant(client, new BasicScope("scope"))
+            .withRedirect(new LazyUri(new Precoded("https://example.com/callback#access_token=1234567&state=123456789012345678901234567890")));
+
+        assertEquals("1234567",
+            new AsyncGrant(grant).accessToken(new OffloadingExecutor(unused, Runnable::run)).toCompletableFuture().get().accessToken().toString());
+    }
+
+
+    @Test
+    public void testRejectsGrantsWithoutAsyncSupport() throws Exception
+    {
+        HttpRequestExecutor unused = mock(HttpRequestExecutor.class);
+        // a strict mock, the blocking accessToken method must not be called
+        OAuth2Grant grant = mock(OAuth2Grant.class);
+
+        try
+        {
+            new AsyncGrant(grant).accessToken(new OffloadingExecutor(unused, Runnable::run)).toCompletableFuture().get();
+            fail("ExecutionException expected");
+        }
+        catch (ExecutionException e)
+        {
+            assertTrue(e.getCause() instanceof UnsupportedOperationException);
+        }
+    }
+
+
+    @Test
+    public void testOffloading() throws Exception
+    {
+        OAuth2AccessToken token = mock(OAuth2AccessToken.class);
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        HttpRequestExecutor blocking = new HttpRequestExecutor()
+        {
+            @SuppressWarnings("unchecked")
+            @Override
+            public <T> T execute(URI uri, HttpRequest<T> request)
+            {
+                thread.set(Thread.currentThread());
+                return (T) token;
+            }
+        };
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try
+        {
+            OAuth2AccessToken result = new AsyncGrant(new ClientCredentialsGrant(mClient, new BasicScope("scope")))
+                .accessToken(new OffloadingExecutor(blocking, pool)).toCompletableFuture().get(1, TimeUnit.SECONDS);
+
+            assertSame(token, result);
+            assertNotSame(Thread.currentThread(), thread.get());
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+
+    @Test
+    public void testPropagatesErrors() throws Exception
+    {
+        ProtocolException exception = new ProtocolException("invalid response");
+        HttpRequestExecutor blocking = mock(HttpRequestExecutor.class,
+            with(e -> e.execute(eq(URI.create("https://example.com/token")), any()), throwing(exception)));
+
+        try
+        {
+            new AsyncGrant(new ClientCredentialsGrant(mClient, new BasicScope("scope")))
+                .accessToken(new OffloadingExecutor(blocking, Runnable::run)).toCompletableFuture().get();
+            fail("ExecutionException expected");
+        }
+        catch (ExecutionException e)
+        {
+            assertSame(exception, e.getCause());
+        }
+    }
+}
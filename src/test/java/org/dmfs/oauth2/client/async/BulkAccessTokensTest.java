@@ -0,0 +1,219 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.async;
+
+import org.dmfs.httpessentials.client.HttpRequest;
+import org.dmfs.httpessentials.exceptions.ProtocolException;
+import org.dmfs.oauth2.client.BasicOAuth2AuthorizationProvider;
+import org.dmfs.oauth2.client.BasicOAuth2Client;
+import org.dmfs.oauth2.client.BasicOAuth2ClientCredentials;
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+import org.dmfs.oauth2.client.OAuth2Client;
+import org.dmfs.oauth2.client.OAuth2Grant;
+import org.dmfs.oauth2.client.grants.ClientCredentialsGrant;
+import org.dmfs.oauth2.client.scope.BasicScope;
+import org.dmfs.rfc3986.encoding.Precoded;
+import org.dmfs.rfc3986.uris.LazyUri;
+import org.dmfs.rfc5545.Duration;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+
+import static org.dmfs.jems2.mockito.Mock.mock;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+public class BulkAccessTokensTest
+{
+    @Test
+    public void testLimits() throws Exception
+    {
+        OAuth2AccessToken token = mock(OAuth2AccessToken.class);
+        PendingExecutor executor = new PendingExecutor();
+        Map<Integer, OAuth2Grant> grants = new LinkedHashMap<>();
+        for (int i = 0; i < 30; ++i)
+        {
+            // 20 grants of server a, 10 grants of server b
+            grants.put(i, new ClientCredentialsGrant(client(i % 3 == 2 ? "https://b.example.com/" : "https://a.example.com/tenant" + i + "/"),
+                new BasicScope("scope")));
+        }
+
+        Map<Integer, CompletionStage<OAuth2AccessToken>> result = new BulkAccessTokens(executor, 5, 3).accessTokens(grants);
+
+        assertEquals(grants.keySet(), result.keySet());
+        int completed = 0;
+        while (!executor.mPending.isEmpty())
+        {
+            assertTrue(executor.mPending.size() <= 5);
+            assertTrue(executor.inFlight("a.example.com") <= 3);
+            assertTrue(executor.inFlight("b.example.com") <= 3);
+            executor.mPending.remove(0).mResult.complete(token);
+            completed += 1;
+        }
+        assertEquals(30, completed);
+        for (CompletionStage<OAuth2AccessToken> stage : result.values())
+        {
+            assertSame(token, stage.toCompletableFuture().get());
+        }
+    }
+
+
+    @Test
+    public void testServersTakeTurns()
+    {
+        PendingExecutor executor = new PendingExecutor();
+        Map<Integer, OAuth2Grant> grants = new LinkedHashMap<>();
+        for (int i = 0; i < 10; ++i)
+        {
+            grants.put(i, new ClientCredentialsGrant(client("https://a.example.com/"), new BasicScope("scope")));
+        }
+        grants.put(10, new ClientCredentialsGrant(client("https://b.example.com/"), new BasicScope("scope")));
+
+        new BulkAccessTokens(executor, 2, 2).accessTokens(grants);
+
+        assertEquals(2, executor.inFlight("a.example.com"));
+        executor.mPending.remove(0).mResult.complete(mock(OAuth2AccessToken.class));
+        // the request to server b doesn't have to wait for all requests to server a
+        assertEquals(1, executor.inFlight("b.example.com"));
+    }
+
+
+    @Test
+    public void testResultsAreIndependent() throws Exception
+    {
+        OAuth2AccessToken token = mock(OAuth2AccessToken.class);
+        ProtocolException error = new ProtocolException("invalid response");
+        PendingExecutor executor = new PendingExecutor();
+        Map<String, OAuth2Grant> grants = new LinkedHashMap<>();
+        grants.put("first", new ClientCredentialsGrant(client("https://a.example.com/"), new BasicScope("scope")));
+        grants.put("second", new ClientCredentialsGrant(client("https://a.example.com/"), new BasicScope("scope")));
+
+        Map<String, CompletionStage<OAuth2AccessToken>> result = new BulkAccessTokens(executor, 1, 1).accessTokens(grants);
+
+        assertEquals(1, executor.mPending.size());
+        executor.mPending.remove(0).mResult.completeExceptionally(error);
+        assertTrue(result.get("first").toCompletableFuture().isCompletedExceptionally());
+        assertFalse(result.get("second").toCompletableFuture().isDone());
+
+        executor.mPending.remove(0).mResult.complete(token);
+        assertSame(token, result.get("second").toCompletableFuture().get());
+        try
+        {
+            result.get("first").toCompletableFuture().get();
+            fail("ExecutionException expected");
+        }
+        catch (ExecutionException e)
+        {
+            assertSame(error, e.getCause());
+        }
+    }
+
+
+    @Test
+    public void testSynchronousCompletion() throws Exception
+    {
+        // an executor that completes right away must not overflow the stack
+        OAuth2AccessToken token = mock(OAuth2AccessToken.class);
+        AsyncHttpRequestExecutor executor = new AsyncHttpRequestExecutor()
+        {
+            @SuppressWarnings("unchecked")
+            @Override
+            public <T> CompletionStage<T> execute(URI uri, HttpRequest<T> request)
+            {
+                return CompletableFuture.completedFuture((T) token);
+            }
+        };
+        OAuth2Grant grant = new ClientCredentialsGrant(client("https://a.example.com/"), new BasicScope("scope"));
+        Map<Integer, OAuth2Grant> grants = new HashMap<>();
+        for (int i = 0; i < 100_000; ++i)
+        {
+            grants.put(i, grant);
+        }
+
+        for (CompletionStage<OAuth2AccessToken> stage : new BulkAccessTokens(executor, 1, 1).accessTokens(grants).values())
+        {
+            assertSame(token, stage.toCompletableFuture().get());
+        }
+    }
+
+
+    private static OAuth2Client client(String base)
+    {
+        return new BasicOAuth2Client(
+            new BasicOAuth2AuthorizationProvider(URI.create(base + "auth"), URI.create(base + "token"), new Duration(1, 0, 3600)),
+            new BasicOAuth2ClientCredentials("client", "secret"),
+            new LazyUri(new Precoded("https://example.com/callback")));
+    }
+
+
+    /**
+     * An {@link AsyncHttpRequestExecutor} that keeps all requests pending until the test completes them.
+     */
+    private final static class PendingExecutor implements AsyncHttpRequestExecutor
+    {
+        private final List<Pending> mPending = new ArrayList<>();
+
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> CompletionStage<T> execute(URI uri, HttpRequest<T> request)
+        {
+            Pending pending = new Pending(uri);
+            mPending.add(pending);
+            return (CompletionStage<T>) pending.mResult;
+        }
+
+
+        private int inFlight(String host)
+        {
+            int result = 0;
+            for (Pending pending : mPending)
+            {
+                if (host.equals(pending.mUri.getHost()))
+                {
+                    result += 1;
+                }
+            }
+            return result;
+        }
+    }
+
+
+    private final static class Pending
+    {
+        private final URI mUri;
+        private final CompletableFuture<OAuth2AccessToken> mResult = new CompletableFuture<>();
+
+
+        private Pending(URI uri)
+        {
+            mUri = uri;
+        }
+    }
+}
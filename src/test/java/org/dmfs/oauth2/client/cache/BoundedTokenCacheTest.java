@@ -0,0 +1,299 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.cache;
+
+import org.dmfs.httpessentials.exceptions.ProtocolException;
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+import org.dmfs.oauth2.client.scope.BasicScope;
+import org.dmfs.oauth2.client.scope.StringScope;
+import org.dmfs.rfc5545.Duration;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import static org.dmfs.jems2.mockito.Mock.*;
+import static org.junit.Assert.*;
+
+
+public class BoundedTokenCacheTest
+{
+    private final static URI ENDPOINT = URI.create("https://example.com/token");
+
+
+    @Test
+    public void testHitAndMiss()
+    {
+        BoundedTokenCache cache = new BoundedTokenCache(10);
+        OAuth2AccessToken token = token(3600, "read write");
+
+        assertFalse(cache.token(key("client", "read write")).isPresent());
+        cache.put(key("client", "read write"), token);
+        assertSame(token, cache.token(key("client", "write read")).value());
+        assertSame(token, cache.token(key("client", "read  write read")).value());
+        assertFalse(cache.token(key("client", "admin")).isPresent());
+        assertFalse(cache.token(key("other", "read write")).isPresent());
+
+        assertEquals(2, cache.stats().hits());
+        assertEquals(3, cache.stats().misses());
+        assertEquals(0, cache.stats().evictions());
+        assertEquals(0, cache.stats().expirations());
+    }
+
+
+    @Test
+    public void testSupersetScope()
+    {
+        BoundedTokenCache cache = new BoundedTokenCache(10);
+        OAuth2AccessToken readWrite = token(3600, "read write");
+        OAuth2AccessToken profile = token(3600, "profile email");
+        cache.put(key("client", "read write"), readWrite);
+        cache.put(key("client", "profile email"), profile);
+
+        assertSame(readWrite, cache.token(key("client", "read")).value());
+        assertSame(readWrite, cache.token(key("client", "write")).value());
+        assertSame(profile, cache.token(key("client", "email")).value());
+        assertFalse(cache.token(key("client", "read email")).isPresent());
+        assertFalse(cache.token(key("client", "read admin")).isPresent());
+        assertFalse(cache.token(key("client", "")).isPresent());
+        assertFalse(cache.token(key("other", "read")).isPresent());
+        assertFalse(cache.token(new TokenCacheKey("client", ENDPOINT, new StringScope("read"), "password")).isPresent());
+
+        cache.invalidate(key("client", "read write"));
+        assertFalse(cache.token(key("client", "read")).isPresent());
+        assertSame(profile, cache.token(key("client", "profile")).value());
+    }
+
+
+    @Test
+    public void testSupersetScopeUsesGrantedScope()
+    {
+        BoundedTokenCache cache = new BoundedTokenCache(10);
+        // the server granted less than requested
+        cache.put(key("client", "read write"), token(3600, "read"));
+
+        assertTrue(cache.token(key("client", "read")).isPresent());
+        assertFalse(cache.token(key("client", "write")).isPresent());
+    }
+
+
+    @Test
+    public void testSupersetScopeIgnoresExpiredTokens() throws Exception
+    {
+        BoundedTokenCache cache = new BoundedTokenCache(10, new Duration(1, 0, 0));
+        cache.put(key("client", "read write"), token(1, "read write"));
+
+        assertTrue(cache.token(key("client", "read")).isPresent());
+        Thread.sleep(1100);
+        assertFalse(cache.token(key("client", "read")).isPresent());
+    }
+
+
+    @Test
+    public void testScopeTypeDoesNotMatter()
+    {
+        assertEquals(new TokenCacheKey("client", ENDPOINT, new BasicScope("a", "b"), "client_credentials"),
+            new TokenCacheKey("client", ENDPOINT, new StringScope("b a"), "client_credentials"));
+        assertEquals(new TokenCacheKey("client", ENDPOINT, new BasicScope("a", "b"), "client_credentials").hashCode(),
+            new TokenCacheKey("client", ENDPOINT, new StringScope("b a"), "client_credentials").hashCode());
+        assertNotEquals(new TokenCacheKey("client", ENDPOINT, new BasicScope("a", "b"), "client_credentials"),
+            new TokenCacheKey("client", ENDPOINT, new BasicScope("a", "b"), "password"));
+    }
+
+
+    @Test
+    public void testExpiry() throws Exception
+    {
+        BoundedTokenCache cache = new BoundedTokenCache(10, new Duration(1, 0, 0));
+
+        cache.put(key("client", "a"), token(1));
+        cache.put(key("client", "b"), token(-1));
+        assertTrue(cache.token(key("client", "a")).isPresent());
+        assertFalse(cache.token(key("client", "b")).isPresent());
+
+        Thread.sleep(1100);
+        assertFalse(cache.token(key("client", "a")).isPresent());
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.stats().evictions());
+        assertEquals(1, cache.stats().expirations());
+    }
+
+
+    @Test
+    public void testMargin()
+    {
+        BoundedTokenCache cache = new BoundedTokenCache(10, new Duration(1, 0, 60));
+
+        cache.put(key("client", "a"), token(30));
+        assertFalse(cache.token(key("client", "a")).isPresent());
+    }
+
+
+    @Test
+    public void testInvalidateToken()
+    {
+        BoundedTokenCache cache = new BoundedTokenCache(10);
+        OAuth2AccessToken readWrite = token(3600, "read write");
+        OAuth2AccessToken replaced = token(3600, "a");
+        OAuth2AccessToken current = token(3600, "a");
+        cache.put(key("client", "a"), replaced);
+        cache.put(key("client", "a"), current);
+        cache.put(key("client", "read write"), readWrite);
+
+        // a replaced token doesn't invalidate the current one
+        cache.invalidate(key("client", "a"), replaced);
+        assertSame(current, cache.token(key("client", "a")).value());
+
+        cache.invalidate(key("client", "a"), current);
+        assertFalse(cache.token(key("client", "a")).isPresent());
+
+        // tokens returned for a covered scope are invalidated as well
+        cache.invalidate(key("client", "read"), readWrite);
+        assertFalse(cache.token(key("client", "read write")).isPresent());
+    }
+
+
+    @Test
+    public void testTokenWithoutExpirationDate() throws Exception
+    {
+        BoundedTokenCache cache = new BoundedTokenCache(10);
+        cache.put(key("client", "a"), mock(OAuth2AccessToken.class,
+            with(OAuth2AccessToken::expiresAtNanos, throwing(new ProtocolException("no expires_in")))));
+
+        assertFalse(cache.token(key("client", "a")).isPresent());
+        assertEquals(0, cache.size());
+    }
+
+
+    @Test
+    public void testInvalidate()
+    {
+        BoundedTokenCache cache = new BoundedTokenCache(10);
+        cache.put(key("client", "a"), token(3600));
+        cache.invalidate(key("client", "a"));
+
+        assertFalse(cache.token(key("client", "a")).isPresent());
+    }
+
+
+    @Test
+    public void testSizeBound()
+    {
+        BoundedTokenCache cache = new BoundedTokenCache(100);
+        for (int i = 0; i < 1000; ++i)
+        {
+            cache.token(key("client" + i, "a"));
+            cache.put(key("client" + i, "a"), token(3600));
+            assertTrue(cache.size() <= 100);
+        }
+        assertEquals(900, cache.stats().evictions());
+    }
+
+
+    @Test
+    public void testNewTenantIsAdmittedOnceAsPopularAsVictim()
+    {
+        BoundedTokenCache cache = new BoundedTokenCache(1);
+        OAuth2AccessToken established = token(3600);
+        for (int i = 0; i < 3; ++i)
+        {
+            cache.token(key("established", "a"));
+        }
+        cache.put(key("established", "a"), established);
+
+        // less popular than the established tenant
+        for (int i = 0; i < 2; ++i)
+        {
+            cache.token(key("new", "a"));
+            cache.put(key("new", "a"), token(3600));
+            assertSame(established, cache.token(key("established", "a")).value());
+        }
+        assertEquals(2, cache.stats().evictions());
+
+        // the established tenant has been requested twice more in the meantime, catch up and get in on a tie
+        for (int i = 0; i < 3; ++i)
+        {
+            cache.token(key("new", "a"));
+        }
+        OAuth2AccessToken newToken = token(3600);
+        cache.put(key("new", "a"), newToken);
+        assertSame(newToken, cache.token(key("new", "a")).value());
+        assertEquals(1, cache.size());
+        assertEquals(3, cache.stats().evictions());
+    }
+
+
+    @Test
+    public void testFrequentKeysSurviveScan()
+    {
+        BoundedTokenCache cache = new BoundedTokenCache(100);
+        for (int i = 0; i < 100; ++i)
+        {
+            for (int j = 0; j < 5; ++j)
+            {
+                cache.token(key("hot" + i, "a"));
+            }
+            cache.put(key("hot" + i, "a"), token(3600));
+        }
+
+        // a scan of one-off tenants
+        for (int i = 0; i < 500; ++i)
+        {
+            cache.token(key("cold" + i, "a"));
+            cache.put(key("cold" + i, "a"), token(3600));
+        }
+
+        int survivors = 0;
+        for (int i = 0; i < 100; ++i)
+        {
+            if (cache.token(key("hot" + i, "a")).isPresent())
+            {
+                survivors += 1;
+            }
+        }
+        // the sketch is probabilistic, a few collisions are acceptable
+        assertTrue(survivors >= 95);
+        assertEquals(100, cache.size());
+    }
+
+
+    private static TokenCacheKey key(String clientId, String scope)
+    {
+        return new TokenCacheKey(clientId, ENDPOINT, new StringScope(scope), "client_credentials");
+    }
+
+
+    private static OAuth2AccessToken token(int ttlSeconds)
+    {
+        return token(ttlSeconds, "a");
+    }
+
+
+    private static OAuth2AccessToken token(int ttlSeconds, String scope)
+    {
+        try
+        {
+            return mock(OAuth2AccessToken.class,
+                with(OAuth2AccessToken::expiresAtNanos, returning(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttlSeconds * 1000L))),
+                with(OAuth2AccessToken::scope, returning(new StringScope(scope))));
+        }
+        catch (Exception e)
+        {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.cache;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+
+
+public class FrequencySketchTest
+{
+    @Test
+    public void testFrequency()
+    {
+        FrequencySketch sketch = new FrequencySketch(1024);
+        for (int i = 0; i < 3; ++i)
+        {
+            sketch.increment(42);
+        }
+        assertEquals(3, sketch.frequency(42));
+        assertEquals(0, sketch.frequency(43));
+    }
+
+
+    @Test
+    public void testSaturation()
+    {
+        FrequencySketch sketch = new FrequencySketch(1024);
+        for (int i = 0; i < 100; ++i)
+        {
+            sketch.increment(42);
+        }
+        assertEquals(15, sketch.frequency(42));
+        for (int i = 0; i < 1000; ++i)
+        {
+            if (i != 42)
+            {
+                assertEquals(0, sketch.frequency(i));
+            }
+        }
+    }
+
+
+    @Test
+    public void testConcurrentSaturation() throws Exception
+    {
+        FrequencySketch sketch = new FrequencySketch(1 << 16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; ++i)
+        {
+            Thread thread = new Thread(() -> {
+                try
+                {
+                    start.await();
+                }
+                catch (InterruptedException e)
+                {
+                    return;
+                }
+                for (int j = 0; j < 100000; ++j)
+                {
+                    sketch.increment(42);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        // saturated counters must neither wrap around nor spill into their neighbours
+        assertEquals(15, sketch.frequency(42));
+        for (int i = 0; i < 1000; ++i)
+        {
+            if (i != 42)
+            {
+                assertEquals(0, sketch.frequency(i));
+            }
+        }
+    }
+}
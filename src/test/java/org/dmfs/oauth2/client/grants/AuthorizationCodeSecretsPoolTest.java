@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.grants;
+
+import org.dmfs.oauth2.client.OAuth2AuthorizationRequest;
+import org.dmfs.oauth2.client.OAuth2Client;
+import org.dmfs.oauth2.client.pkce.S256CodeChallenge;
+import org.dmfs.oauth2.client.random.SecureRandomChars;
+import org.dmfs.oauth2.client.scope.BasicScope;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.dmfs.jems2.mockito.Mock.*;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+
+
+public class AuthorizationCodeSecretsPoolTest
+{
+    @Test
+    public void testPooledSecrets() throws Exception
+    {
+        AtomicInteger counter = new AtomicInteger();
+        OAuth2Client client = mock(OAuth2Client.class,
+            with(OAuth2Client::randomChars, answering(invocation -> String.format("random-%d", counter.incrementAndGet()))));
+        try (AuthorizationCodeSecretsPool pool = new AuthorizationCodeSecretsPool(client, 10))
+        {
+            awaitSize(pool, 10);
+            for (int i = 0; i < 10; ++i)
+            {
+                AuthorizationCodeSecrets secrets = pool.secrets(client);
+                // the secrets are taken from the client
+                assertTrue(secrets.state().toString().startsWith("random-"));
+                assertTrue(secrets.codeVerifier().toString().startsWith("random-"));
+                assertNotEquals(secrets.state().toString(), secrets.codeVerifier().toString());
+                assertEquals(new S256CodeChallenge(secrets.codeVerifier()).challenge(), secrets.codeChallenge().challenge());
+            }
+            // the producer fills up the pool again
+            awaitSize(pool, 10);
+        }
+    }
+
+
+    @Test
+    public void testFallback() throws Exception
+    {
+        OAuth2Client client = mock(OAuth2Client.class, with(OAuth2Client::randomChars, returning("state", "verifier")));
+        AuthorizationCodeSecretsPool pool = new AuthorizationCodeSecretsPool(new SecureRandomChars(64), 1);
+        pool.close();
+        // drain the pool, the producer might have added one before it was closed
+        while (pool.size() > 0)
+        {
+            pool.secrets(client);
+        }
+
+        AuthorizationCodeSecrets secrets = pool.secrets(client);
+        assertEquals("state", secrets.state());
+        assertEquals("verifier", secrets.codeVerifier());
+    }
+
+
+    @Test
+    public void testGrant() throws Exception
+    {
+        OAuth2Client client = mock(OAuth2Client.class,
+            with(OAuth2Client::randomChars, answering(invocation -> SecureRandomChars.INSTANCE.next())),
+            with(c -> c.authorizationUrl(any()),
+                answering(invocation -> ((OAuth2AuthorizationRequest) invocation.getArgument(0)).authorizationUri(URI.create("http://1234")))));
+        try (AuthorizationCodeSecretsPool pool = new AuthorizationCodeSecretsPool(client, 10))
+        {
+            awaitSize(pool, 1);
+            URI authorizationUrl = new AuthorizationCodeGrant(client, new BasicScope("scope"), pool).authorizationUrl();
+            assertTrue(authorizationUrl.getQuery().matches("response_type=code&scope=scope&state=[a-zA-Z0-9_-]{64}&code_challenge_method=S256&"
+                + "code_challenge=[a-zA-Z0-9_-]{43}"));
+        }
+    }
+
+
+    private static void awaitSize(AuthorizationCodeSecretsPool pool, int size) throws InterruptedException
+    {
+        long timeout = System.currentTimeMillis() + 10000;
+        while (pool.size() < size)
+        {
+            assertTrue("pool not filled in time", System.currentTimeMillis() < timeout);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.grants;
+
+import org.dmfs.httpessentials.client.HttpRequest;
+import org.dmfs.httpessentials.client.HttpRequestExecutor;
+import org.dmfs.httpessentials.exceptions.ProtocolException;
+import org.dmfs.oauth2.client.BasicOAuth2AuthorizationProvider;
+import org.dmfs.oauth2.client.BasicOAuth2Client;
+import org.dmfs.oauth2.client.BasicOAuth2ClientCredentials;
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+import org.dmfs.oauth2.client.OAuth2Grant;
+import org.dmfs.oauth2.client.async.AsyncHttpRequestExecutor;
+import org.dmfs.oauth2.client.scope.BasicScope;
+import org.dmfs.rfc3986.encoding.Precoded;
+import org.dmfs.rfc3986.uris.LazyUri;
+import org.dmfs.rfc5545.Duration;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.dmfs.jems2.mockito.Mock.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+
+public class CachingGrantTest
+{
+    @Test
+    public void testReusesValidToken() throws Exception
+    {
+        HttpRequestExecutor executor = mock(HttpRequestExecutor.class);
+        OAuth2AccessToken token = mock(OAuth2AccessToken.class,
+            with(OAuth2AccessToken::expiresAtNanos, returning(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(3600 * 1000L))));
+        OAuth2Grant delegate = mock(OAuth2Grant.class,
+            with(grant -> grant.accessToken(executor), returning(token)));
+
+        OAuth2Grant cachingGrant = new CachingGrant(delegate);
+
+        assertSame(token, cachingGrant.accessToken(executor));
+        assertSame(token, cachingGrant.accessToken(executor));
+        assertSame(token, cachingGrant.accessToken(executor));
+        verify(delegate, times(1)).accessToken(executor);
+    }
+
+
+    @Test
+    public void testRenewsTokenWithinMargin() throws Exception
+    {
+        HttpRequestExecutor executor = mock(HttpRequestExecutor.class);
+        OAuth2AccessToken token1 = mock(OAuth2AccessToken.class,
+            with(OAuth2AccessToken::expiresAtNanos, returning(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(30 * 1000L))));
+        OAuth2AccessToken token2 = mock(OAuth2AccessToken.class,
+            with(OAuth2AccessToken::expiresAtNanos, returning(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(3600 * 1000L))));
+        OAuth2Grant delegate = mock(OAuth2Grant.class,
+            with(grant -> grant.accessToken(executor), returning(token1, token2)));
+
+        OAuth2Grant cachingGrant = new CachingGrant(delegate, new Duration(1, 0, 60));
+
+        assertSame(token1, cachingGrant.accessToken(executor));
+        assertSame(token2, cachingGrant.accessToken(executor));
+        assertSame(token2, cachingGrant.accessToken(executor));
+        verify(delegate, times(2)).accessToken(executor);
+    }
+
+
+    @Test
+    public void testDoesNotReuseTokenWithoutExpirationDate() throws Exception
+    {
+        HttpRequestExecutor executor = mock(HttpRequestExecutor.class);
+        OAuth2AccessToken token = mock(OAuth2AccessToken.class,
+            with(OAuth2AccessToken::expiresAtNanos, throwing(new ProtocolException("no expires_in"))));
+        OAuth2Grant delegate = mock(OAuth2Grant.class,
+            with(grant -> grant.accessToken(executor), returning(token)));
+
+        OAuth2Grant cachingGrant = new CachingGrant(delegate);
+
+        assertSame(token, cachingGrant.accessToken(executor));
+        assertSame(token, cachingGrant.accessToken(executor));
+        verify(delegate, times(2)).accessToken(executor);
+    }
+
+
+    @Test
+    public void testReusesTokenOfNonBlockingCalls() throws Exception
+    {
+        // a strict mock, blocking callers must receive the cached token
+        HttpRequestExecutor blockingExecutor = mock(HttpRequestExecutor.class);
+        OAuth2AccessToken token = mock(OAuth2AccessToken.class,
+            with(OAuth2AccessToken::expiresAtNanos, returning(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(3600 * 1000L))));
+        AtomicInteger requests = new AtomicInteger();
+        AsyncHttpRequestExecutor asyncExecutor = new AsyncHttpRequestExecutor()
+        {
+            @SuppressWarnings("unchecked")
+            @Override
+            public <T> CompletionStage<T> execute(URI uri, HttpRequest<T> request)
+            {
+                requests.incrementAndGet();
+                return CompletableFuture.completedFuture((T) token);
+            }
+        };
+
+        CachingGrant grant = new CachingGrant(new ClientCredentialsGrant(
+            new BasicOAuth2Client(
+                new BasicOAuth2AuthorizationProvider(URI.create("https://example.com/auth"), URI.create("https://example.com/token"), new Duration(1, 0, 3600)),
+                new BasicOAuth2ClientCredentials("client", "secret"),
+                new LazyUri(new Precoded("https://example.com/callback"))),
+            new BasicScope("scope")));
+
+        assertSame(token, grant.accessToken(asyncExecutor).toCompletableFuture().get());
+        assertSame(token, grant.accessToken(asyncExecutor).toCompletableFuture().get());
+        assertSame(token, grant.accessToken(blockingExecutor));
+        assertEquals(1, requests.get());
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.grants;
+
+import org.dmfs.httpessentials.client.HttpRequest;
+import org.dmfs.httpessentials.client.HttpRequestExecutor;
+import org.dmfs.oauth2.client.BasicOAuth2AuthorizationProvider;
+import org.dmfs.oauth2.client.BasicOAuth2Client;
+import org.dmfs.oauth2.client.BasicOAuth2ClientCredentials;
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+import org.dmfs.oauth2.client.OAuth2Client;
+import org.dmfs.oauth2.client.OAuth2Grant;
+import org.dmfs.oauth2.client.async.AsyncHttpRequestExecutor;
+import org.dmfs.oauth2.client.errors.TokenRequestError;
+import org.dmfs.oauth2.client.scope.BasicScope;
+import org.dmfs.rfc3986.encoding.Precoded;
+import org.dmfs.rfc3986.uris.LazyUri;
+import org.dmfs.rfc5545.Duration;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.dmfs.jems2.mockito.Mock.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+
+public class CoalescingGrantTest
+{
+    private final static int THREADS = 20;
+
+
+    @Test
+    public void testConcurrentCallsShareOneRequest() throws Exception
+    {
+        HttpRequestExecutor executor = mock(HttpRequestExecutor.class);
+        OAuth2AccessToken token = mock(OAuth2AccessToken.class);
+        CountDownLatch release = new CountDownLatch(1);
+        OAuth2Grant delegate = mock(OAuth2Grant.class,
+            with(grant -> grant.accessToken(executor), answering(invocation -> {
+                release.await();
+                return token;
+            })));
+
+        OAuth2Grant grant = new CoalescingGrant(delegate);
+
+        for (Future<OAuth2AccessToken> result : concurrently(() -> grant.accessToken(executor), release))
+        {
+            assertSame(token, result.get());
+        }
+        verify(delegate, times(1)).accessToken(executor);
+    }
+
+
+    @Test
+    public void testConcurrentCallsShareOneError() throws Exception
+    {
+        HttpRequestExecutor executor = mock(HttpRequestExecutor.class);
+        TokenRequestError error = new TokenRequestError(new JSONObject("{\"error\": \"invalid_client\"}"));
+        CountDownLatch release = new CountDownLatch(1);
+        OAuth2Grant delegate = mock(OAuth2Grant.class,
+            with(grant -> grant.accessToken(executor), answering(invocation -> {
+                release.await();
+                throw error;
+            })));
+
+        OAuth2Grant grant = new CoalescingGrant(delegate);
+
+        for (Future<OAuth2AccessToken> result : concurrently(() -> grant.accessToken(executor), release))
+        {
+            try
+            {
+                result.get();
+                fail("ExecutionException expected");
+            }
+            catch (ExecutionException e)
+            {
+                assertSame(error, e.getCause());
+            }
+        }
+        verify(delegate, times(1)).accessToken(executor);
+    }
+
+
+    @Test
+    public void testSharedRequestsWithEqualKeys() throws Exception
+    {
+        HttpRequestExecutor executor = mock(HttpRequestExecutor.class);
+        OAuth2AccessToken token = mock(OAuth2AccessToken.class);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger requests = new AtomicInteger();
+        OAuth2Grant delegate = mock(OAuth2Grant.class,
+            with(grant -> grant.accessToken(executor), answering(invocation -> {
+                requests.incrementAndGet();
+                release.await();
+                return token;
+            })));
+
+        InFlightTokenRequests inFlightRequests = new InFlightTokenRequests();
+        for (Future<OAuth2AccessToken> result : concurrently(
+            () -> new CoalescingGrant(inFlightRequests, "client_credentials client scope", delegate).accessToken(executor), release))
+        {
+            assertSame(token, result.get());
+        }
+        assertEquals(1, requests.get());
+    }
+
+
+    @Test
+    public void testBlockingAndNonBlockingCallsShareOneRequest() throws Exception
+    {
+        OAuth2Client client = new BasicOAuth2Client(
+            new BasicOAuth2AuthorizationProvider(URI.create("https://example.com/auth"), URI.create("https://example.com/token"), new Duration(1, 0, 3600)),
+            new BasicOAuth2ClientCredentials("client", "secret"),
+            new LazyUri(new Precoded("https://example.com/callback")));
+        // a strict mock, blocking callers must not send a request while the non-blocking request is in flight
+        HttpRequestExecutor blockingExecutor = mock(HttpRequestExecutor.class);
+        OAuth2AccessToken token = mock(OAuth2AccessToken.class);
+        CompletableFuture<OAuth2AccessToken> response = new CompletableFuture<>();
+        AtomicInteger requests = new AtomicInteger();
+        AsyncHttpRequestExecutor asyncExecutor = new AsyncHttpRequestExecutor()
+        {
+            @SuppressWarnings("unchecked")
+            @Override
+            public <T> CompletionStage<T> execute(URI uri, HttpRequest<T> request)
+            {
+                requests.incrementAndGet();
+                return (CompletionStage<T>) response;
+            }
+        };
+
+        CoalescingGrant grant = new CoalescingGrant(new ClientCredentialsGrant(client, new BasicScope("scope")));
+
+        CompletableFuture<OAuth2AccessToken> first = grant.accessToken(asyncExecutor).toCompletableFuture();
+        CompletableFuture<OAuth2AccessToken> second = grant.accessToken(asyncExecutor).toCompletableFuture();
+        CountDownLatch release = new CountDownLatch(1);
+        Thread responder = new Thread(() -> {
+            try
+            {
+                release.await();
+                response.complete(token);
+            }
+            catch (InterruptedException e)
+            {
+                response.completeExceptionally(e);
+            }
+        });
+        responder.start();
+        List<Future<OAuth2AccessToken>> blocking = concurrently(() -> grant.accessToken(blockingExecutor), release);
+
+        assertSame(token, first.get(1, TimeUnit.SECONDS));
+        assertSame(token, second.get(1, TimeUnit.SECONDS));
+        for (Future<OAuth2AccessToken> result : blocking)
+        {
+            assertSame(token, result.get());
+        }
+        assertEquals(1, requests.get());
+    }
+
+
+    /**
+     * Submits {@link #THREADS} calls of the given {@link Callable} and releases the latch once all of them are running.
+     */
+    private static List<Future<OAuth2AccessToken>> concurrently(Callable<OAuth2AccessToken> callable, CountDownLatch release) throws Exception
+    {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        try
+        {
+            CountDownLatch started = new CountDownLatch(THREADS);
+            List<Future<OAuth2AccessToken>> results = new ArrayList<>(THREADS);
+            for (int i = 0; i < THREADS; ++i)
+            {
+                Callable<OAuth2AccessToken> task = () -> {
+                    started.countDown();
+                    return callable.call();
+                };
+                results.add(executorService.submit(task));
+            }
+            started.await();
+            // give the threads a moment to join the pending request
+            Thread.sleep(100);
+            release.countDown();
+            return results;
+        }
+        finally
+        {
+            executorService.shutdown();
+            executorService.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+}
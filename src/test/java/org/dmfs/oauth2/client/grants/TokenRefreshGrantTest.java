@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.grants;
+
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+import org.dmfs.oauth2.client.OAuth2Client;
+import org.dmfs.oauth2.client.OAuth2Scope;
+import org.dmfs.oauth2.client.async.AsyncHttpRequestExecutor;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+
+import static org.dmfs.jems2.mockito.Mock.*;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+public class TokenRefreshGrantTest
+{
+    @Test
+    public void testNonBlockingCallWithoutRefreshTokenFailsStage() throws Exception
+    {
+        OAuth2AccessToken token = mock(OAuth2AccessToken.class,
+            with(OAuth2AccessToken::scope, returning(mock(OAuth2Scope.class))),
+            with(OAuth2AccessToken::refreshToken, throwing(new NoSuchElementException("No refresh token found"))));
+
+        // the token is read before any request is sent, so neither the client nor the executor are used
+        CompletionStage<OAuth2AccessToken> result = new TokenRefreshGrant(mock(OAuth2Client.class), token)
+            .accessToken(mock(AsyncHttpRequestExecutor.class));
+
+        try
+        {
+            result.toCompletableFuture().get();
+            fail("ExecutionException expected");
+        }
+        catch (ExecutionException e)
+        {
+            assertTrue(e.getCause() instanceof NoSuchElementException);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.http.decorators;
+
+import org.dmfs.httpessentials.client.HttpRequest;
+import org.dmfs.httpessentials.converters.PlainStringHeaderConverter;
+import org.dmfs.httpessentials.headers.BasicSingletonHeaderType;
+import org.dmfs.httpessentials.headers.EmptyHeaders;
+import org.dmfs.httpessentials.headers.Header;
+import org.dmfs.httpessentials.headers.SingletonHeaderType;
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+import org.junit.Test;
+
+import static org.dmfs.jems2.mockito.Mock.*;
+import static org.junit.Assert.*;
+
+
+public class BearerAuthenticatedRequestTest
+{
+    private final SingletonHeaderType<String> AUTHORIZATION_HEADER_TYPE = new BasicSingletonHeaderType<String>(
+        "Authorization",
+        new PlainStringHeaderConverter());
+
+
+    @Test
+    public void testHeader() throws Exception
+    {
+        HttpRequest<?> request = mock(HttpRequest.class, with(HttpRequest::headers, returning(EmptyHeaders.INSTANCE)));
+        OAuth2AccessToken token = mock(OAuth2AccessToken.class, with(OAuth2AccessToken::accessToken, returning(new String("abc"))));
+
+        assertEquals("Bearer abc", new BearerAuthenticatedRequest<>(request, token).headers().header(AUTHORIZATION_HEADER_TYPE).value());
+    }
+
+
+    @Test
+    public void testHeaderIsReused() throws Exception
+    {
+        HttpRequest<?> request = mock(HttpRequest.class, with(HttpRequest::headers, returning(EmptyHeaders.INSTANCE)));
+        OAuth2AccessToken token = mock(OAuth2AccessToken.class, with(OAuth2AccessToken::accessToken, returning(new String("abc"))));
+
+        BearerAuthorization authorization = new BearerAuthorization(token);
+        Header<String> header = new BearerAuthenticatedRequest<>(request, authorization).headers().header(AUTHORIZATION_HEADER_TYPE);
+        assertSame(header, new BearerAuthenticatedRequest<>(request, authorization).headers().header(AUTHORIZATION_HEADER_TYPE));
+    }
+
+
+    @Test
+    public void testChangedAccessToken() throws Exception
+    {
+        HttpRequest<?> request = mock(HttpRequest.class, with(HttpRequest::headers, returning(EmptyHeaders.INSTANCE)));
+        OAuth2AccessToken token = mock(OAuth2AccessToken.class,
+            with(OAuth2AccessToken::accessToken, returning(new String("abc"), new String("def"))));
+
+        BearerAuthorization authorization = new BearerAuthorization(token);
+        assertEquals("Bearer abc", new BearerAuthenticatedRequest<>(request, authorization).headers().header(AUTHORIZATION_HEADER_TYPE).value());
+        assertEquals("Bearer def", new BearerAuthenticatedRequest<>(request, authorization).headers().header(AUTHORIZATION_HEADER_TYPE).value());
+    }
+}
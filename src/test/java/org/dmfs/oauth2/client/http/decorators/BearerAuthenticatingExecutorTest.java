@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.http.decorators;
+
+import org.dmfs.httpessentials.HttpStatus;
+import org.dmfs.httpessentials.client.HttpRequest;
+import org.dmfs.httpessentials.client.HttpRequestExecutor;
+import org.dmfs.httpessentials.client.HttpResponse;
+import org.dmfs.httpessentials.client.HttpResponseHandler;
+import org.dmfs.httpessentials.converters.PlainStringHeaderConverter;
+import org.dmfs.httpessentials.exceptions.ProtocolError;
+import org.dmfs.httpessentials.exceptions.ProtocolException;
+import org.dmfs.httpessentials.headers.BasicSingletonHeaderType;
+import org.dmfs.httpessentials.headers.EmptyHeaders;
+import org.dmfs.httpessentials.headers.Header;
+import org.dmfs.httpessentials.headers.Headers;
+import org.dmfs.httpessentials.headers.SingletonHeaderType;
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+import org.dmfs.oauth2.client.OAuth2Grant;
+import org.dmfs.oauth2.client.grants.CachingGrant;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+import static org.dmfs.jems2.mockito.Mock.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+
+
+public class BearerAuthenticatingExecutorTest
+{
+    private final static SingletonHeaderType<String> AUTHORIZATION_HEADER_TYPE = new BasicSingletonHeaderType<>(
+        "Authorization",
+        new PlainStringHeaderConverter());
+    private final static SingletonHeaderType<String> WWW_AUTHENTICATE_HEADER_TYPE = new BasicSingletonHeaderType<>(
+        "WWW-Authenticate",
+        new PlainStringHeaderConverter());
+
+
+    @Test
+    public void testAuthenticatesRequest() throws Exception
+    {
+        StubExecutor executor = new StubExecutor(response(HttpStatus.OK, EmptyHeaders.INSTANCE));
+
+        assertEquals("result", new BearerAuthenticatingExecutor(executor, grant(token("abc"))).execute(URI.create("https://example.com"), request()));
+        assertEquals(Arrays.asList("Bearer abc"), executor.mAuthorizations);
+    }
+
+
+    @Test
+    public void testReusesHeaderOfSameToken() throws Exception
+    {
+        StubExecutor executor = new StubExecutor(response(HttpStatus.OK, EmptyHeaders.INSTANCE), response(HttpStatus.OK, EmptyHeaders.INSTANCE));
+        HttpRequestExecutor authenticated = new BearerAuthenticatingExecutor(executor, grant(token("abc")));
+
+        authenticated.execute(URI.create("https://example.com"), request());
+        authenticated.execute(URI.create("https://example.com"), request());
+        assertEquals(2, executor.mHeaders.size());
+        assertSame(executor.mHeaders.get(0), executor.mHeaders.get(1));
+    }
+
+
+    @Test
+    public void testRetriesWithNewTokenIfTokenIsInvalid() throws Exception
+    {
+        StubExecutor executor = new StubExecutor(
+            response(HttpStatus.UNAUTHORIZED,
+                EmptyHeaders.INSTANCE.withHeader(WWW_AUTHENTICATE_HEADER_TYPE.entity("Bearer realm=\"example\", error=\"invalid_token\""))),
+            response(HttpStatus.OK, EmptyHeaders.INSTANCE));
+        OAuth2Grant grant = new CachingGrant(grant(token("abc"), token("def")));
+
+        assertEquals("result", new BearerAuthenticatingExecutor(executor, grant).execute(URI.create("https://example.com"), request()));
+        assertEquals(Arrays.asList("Bearer abc", "Bearer def"), executor.mAuthorizations);
+    }
+
+
+    @Test
+    public void testDoesNotRetryOtherErrors() throws Exception
+    {
+        StubExecutor executor = new StubExecutor(
+            response(HttpStatus.UNAUTHORIZED, EmptyHeaders.INSTANCE.withHeader(WWW_AUTHENTICATE_HEADER_TYPE.entity("Bearer realm=\"example\""))));
+        OAuth2Grant grant = new CachingGrant(grant(token("abc"), token("def")));
+
+        // the response handler of the request handles the response
+        assertEquals("result", new BearerAuthenticatingExecutor(executor, grant).execute(URI.create("https://example.com"), request()));
+        assertEquals(Arrays.asList("Bearer abc"), executor.mAuthorizations);
+    }
+
+
+    @Test
+    public void testRetriesOnlyOnce() throws Exception
+    {
+        Headers invalidToken = EmptyHeaders.INSTANCE.withHeader(WWW_AUTHENTICATE_HEADER_TYPE.entity("Bearer error=\"invalid_token\""));
+        StubExecutor executor = new StubExecutor(response(HttpStatus.UNAUTHORIZED, invalidToken), response(HttpStatus.UNAUTHORIZED, invalidToken));
+        OAuth2Grant grant = new CachingGrant(grant(token("abc"), token("def")));
+
+        assertEquals("result", new BearerAuthenticatingExecutor(executor, grant).execute(URI.create("https://example.com"), request()));
+        assertEquals(Arrays.asList("Bearer abc", "Bearer def"), executor.mAuthorizations);
+    }
+
+
+    private static HttpRequest<String> request() throws Exception
+    {
+        HttpResponseHandler<String> handler = mock(HttpResponseHandler.class, with(h -> h.handleResponse(any()), returning("result")));
+        return mock(HttpRequest.class,
+            with(HttpRequest::headers, returning(EmptyHeaders.INSTANCE)),
+            with(r -> r.responseHandler(any()), returning(handler)));
+    }
+
+
+    private static HttpResponse response(HttpStatus status, Headers headers)
+    {
+        return mock(HttpResponse.class,
+            with(HttpResponse::status, returning(status)),
+            with(HttpResponse::headers, returning(headers)));
+    }
+
+
+    private static OAuth2AccessToken token(String accessToken)
+    {
+        return mock(OAuth2AccessToken.class,
+            with(OAuth2AccessToken::accessToken, returning(accessToken)),
+            with(OAuth2AccessToken::expiresAtNanos, returning(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(3600 * 1000L))));
+    }
+
+
+    private static OAuth2Grant grant(OAuth2AccessToken token, OAuth2AccessToken... moreTokens) throws Exception
+    {
+        return mock(OAuth2Grant.class, with(g -> g.accessToken(any()), returning(token, moreTokens)));
+    }
+
+
+    /**
+     * An {@link HttpRequestExecutor} that returns the given responses in order and records the authorization headers of the requests.
+     */
+    private final static class StubExecutor implements HttpRequestExecutor
+    {
+        private final Queue<HttpResponse> mResponses;
+        private final List<String> mAuthorizations = new ArrayList<>();
+        private final List<Header<String>> mHeaders = new ArrayList<>();
+
+
+        private StubExecutor(HttpResponse... responses)
+        {
+            mResponses = new LinkedList<>(Arrays.asList(responses));
+        }
+
+
+        @Override
+        public <T> T execute(URI uri, HttpRequest<T> request) throws IOException, ProtocolError, ProtocolException
+        {
+            Header<String> header = request.headers().header(AUTHORIZATION_HEADER_TYPE);
+            mHeaders.add(header);
+            mAuthorizations.add(header.value());
+            HttpResponse response = mResponses.remove();
+            return request.responseHandler(response).handleResponse(response);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.http.responsehandlers;
+
+import org.dmfs.httpessentials.exceptions.ProtocolException;
+import org.dmfs.jems2.hamcrest.matchers.optional.AbsentMatcher;
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+import org.dmfs.oauth2.client.OAuth2Scope;
+import org.dmfs.oauth2.client.scope.BasicScope;
+import org.dmfs.oauth2.client.scope.EmptyScope;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.dmfs.jems2.hamcrest.matchers.optional.PresentMatcher.present;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.*;
+
+
+public class TokenResponseParserTest
+{
+    @Test
+    public void testTokenResponse() throws Exception
+    {
+        OAuth2AccessToken token = parsed(" {\n"
+            + "  \"access_token\":\"2YotnFZFEjr1zCsicMWpAA\",\n"
+            + "  \"token_type\":\"example\",\n"
+            + "  \"expires_in\":3600,\n"
+            + "  \"refresh_token\":\"tGzv3JOkF0XG5Qx2TlKWIA\",\n"
+            + "  \"example_parameter\":\"example_value\"\n"
+            + "}\n", EmptyScope.INSTANCE);
+
+        assertEquals("2YotnFZFEjr1zCsicMWpAA", token.accessToken().toString());
+        assertEquals("example", token.tokenType().toString());
+        assertTrue(token.hasRefreshToken());
+        assertEquals("tGzv3JOkF0XG5Qx2TlKWIA", token.refreshToken().toString());
+        assertEquals(1000L + 3600 * 1000L, token.expirationDate().getTimestamp());
+        assertThat(token.scope(), sameInstance(EmptyScope.INSTANCE));
+        assertThat(token.extraParameter("example_parameter"), is(present(Matchers.<CharSequence>hasToString("example_value"))));
+        // like with JsonAccessToken the members defined by RFC 6749 are available too
+        assertThat(token.extraParameter("access_token"), is(present(Matchers.<CharSequence>hasToString("2YotnFZFEjr1zCsicMWpAA"))));
+        assertThat(token.extraParameter("expires_in"), is(present(Matchers.<CharSequence>hasToString("3600"))));
+        assertThat(token.extraParameter("scope"), is(AbsentMatcher.<CharSequence>absent()));
+    }
+
+
+    @Test
+    public void testEmptyObject() throws Exception
+    {
+        OAuth2AccessToken token = parsed("{}", EmptyScope.INSTANCE);
+        assertFalse(token.hasRefreshToken());
+        assertThat(token.extraParameter("access_token"), is(AbsentMatcher.<CharSequence>absent()));
+    }
+
+
+    @Test
+    public void testEscapes() throws Exception
+    {
+        OAuth2AccessToken token = parsed("{\"access_token\":\"a\\\"b\\\\c\\/d\\u00e4\\n\",\"x\":\"\\u20ac \\t\",\"y\":\"\u00fc\"}", EmptyScope.INSTANCE);
+        assertEquals("a\"b\\c/d\u00e4\n", token.accessToken().toString());
+        assertThat(token.extraParameter("x"), is(present(Matchers.<CharSequence>hasToString("\u20ac \t"))));
+        assertThat(token.extraParameter("y"), is(present(Matchers.<CharSequence>hasToString("\u00fc"))));
+    }
+
+
+    @Test
+    public void testScope() throws Exception
+    {
+        OAuth2Scope requested = new BasicScope("a", "b");
+        assertThat(parsed("{\"scope\":\"b a\"}", requested).scope(), sameInstance(requested));
+        assertThat(parsed("{\"scope\":\"a\"}", requested).scope(), Matchers.<OAuth2Scope>is(new BasicScope("a")));
+    }
+
+
+    @Test
+    public void testExpiresIn() throws Exception
+    {
+        assertEquals(1000L + 60 * 1000L, parsed("{\"expires_in\":\"60\"}", EmptyScope.INSTANCE).expirationDate().getTimestamp());
+        assertEquals(1000L + 60 * 1000L, parsed("{\"expires_in\":60.0}", EmptyScope.INSTANCE).expirationDate().getTimestamp());
+    }
+
+
+    @Test
+    public void testHugeExpiresIn() throws Exception
+    {
+        long max = 1000L + TimeUnit.DAYS.toMillis(36500);
+        assertEquals(max, parsed("{\"expires_in\":9223372036854775807}", EmptyScope.INSTANCE).expirationDate().getTimestamp());
+        assertEquals(max, parsed("{\"expires_in\":\"9223372036854775807\"}", EmptyScope.INSTANCE).expirationDate().getTimestamp());
+        assertEquals(max, parsed("{\"expires_in\":1e300}", EmptyScope.INSTANCE).expirationDate().getTimestamp());
+        assertEquals(1000L - TimeUnit.DAYS.toMillis(36500),
+            parsed("{\"expires_in\":-9223372036854775808}", EmptyScope.INSTANCE).expirationDate().getTimestamp());
+    }
+
+
+    @Test(expected = ProtocolException.class)
+    public void testInvalidExpiresIn() throws Exception
+    {
+        parsed("{\"expires_in\":\"soon\"}", EmptyScope.INSTANCE).expirationDate();
+    }
+
+
+    @Test(expected = ProtocolException.class)
+    public void testMissingExpiresIn() throws Exception
+    {
+        parsed("{\"expires_in\":null}", EmptyScope.INSTANCE).expirationDate();
+    }
+
+
+    @Test
+    public void testNonStringExtraParameters() throws Exception
+    {
+        OAuth2AccessToken token = parsed(
+            "{\"number\":-12.5e3, \"flag\":true, \"object\":{\"a\":[1, {\"b\":\"}\"}], \"c\":null}, \"array\":[], \"nothing\":null}",
+            EmptyScope.INSTANCE);
+        assertThat(token.extraParameter("number"), is(present(Matchers.<CharSequence>hasToString("-12.5e3"))));
+        assertThat(token.extraParameter("flag"), is(present(Matchers.<CharSequence>hasToString("true"))));
+        assertThat(token.extraParameter("object"), is(present(Matchers.<CharSequence>hasToString("{\"a\":[1, {\"b\":\"}\"}], \"c\":null}"))));
+        assertThat(token.extraParameter("array"), is(present(Matchers.<CharSequence>hasToString("[]"))));
+        assertThat(token.extraParameter("nothing"), is(AbsentMatcher.<CharSequence>absent()));
+    }
+
+
+    @Test
+    public void testExtraParametersAreStrings() throws Exception
+    {
+        OAuth2AccessToken token = parsed("{\"x\":\"d\\u00e9f\", \"n\":12, \"o\":{\"a\":1}}", EmptyScope.INSTANCE);
+        assertEquals("d\u00e9f", token.extraParameter("x").value());
+        assertEquals("12", token.extraParameter("n").value());
+        assertEquals("{\"a\":1}", token.extraParameter("o").value());
+        assertEquals("d\u00e9f".hashCode(), token.extraParameter("x").value().hashCode());
+    }
+
+
+    @Test
+    public void testValidNumbers() throws Exception
+    {
+        OAuth2AccessToken token = parsed("{\"a\":0, \"b\":-0.5, \"c\":1E+2, \"d\":10e-3, \"e\":[-1,2]}", EmptyScope.INSTANCE);
+        assertEquals("0", token.extraParameter("a").value());
+        assertEquals("-0.5", token.extraParameter("b").value());
+        assertEquals("1E+2", token.extraParameter("c").value());
+        assertEquals("10e-3", token.extraParameter("d").value());
+        assertEquals("[-1,2]", token.extraParameter("e").value());
+    }
+
+
+    @Test
+    public void testBufferIsNotRetained() throws Exception
+    {
+        byte[] buffer = "{\"access_token\":\"abc\",\"x\":\"def\"}".getBytes(StandardCharsets.UTF_8);
+        OAuth2AccessToken token = new TokenResponseParser(buffer, buffer.length).accessToken(EmptyScope.INSTANCE, 1000L);
+        Arrays.fill(buffer, (byte) ' ');
+        assertEquals("abc", token.accessToken().toString());
+        assertThat(token.extraParameter("x"), is(present(Matchers.<CharSequence>hasToString("def"))));
+    }
+
+
+    @Test
+    public void testInvalidResponses() throws Exception
+    {
+        String[] invalid = {
+            "", "[]", "{", "{\"a\"}", "{\"a\":}", "{\"a\":1,}", "{\"a\":1} x", "{\"a\":\"b}", "{\"a\":\"\\x\"}", "{\"a\":\"\\u12\"}",
+            "{\"a\":tru}", "{\"a\":[1 2]}", "{\"a\":{\"b\" 1}}", "{a:1}", "{\"a\":\"\u0001\"}",
+            // numbers
+            "{\"a\":01}", "{\"a\":1.}", "{\"a\":.5}", "{\"a\":1e}", "{\"a\":1e+}", "{\"a\":--1}", "{\"a\":1-2}", "{\"a\":+1}", "{\"a\":1.2.3}",
+            "{\"a\":-}", "{\"a\":[1e5e5]}",
+            // duplicate members
+            "{\"a\":1,\"a\":1}", "{\"a\":null,\"a\":null}", "{\"access_token\":\"x\",\"access_token\":\"y\"}",
+            "{\"expires_in\":1,\"expires_in\":2}" };
+        for (String response : invalid)
+        {
+            try
+            {
+                parsed(response, EmptyScope.INSTANCE);
+                fail(String.format("Expected an exception for %s", response));
+            }
+            catch (ProtocolException e)
+            {
+                // pass
+            }
+        }
+    }
+
+
+    private static OAuth2AccessToken parsed(String response, OAuth2Scope scope) throws ProtocolException
+    {
+        byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+        // add some garbage to make sure the parser respects the length
+        byte[] buffer = Arrays.copyOf(bytes, bytes.length + 10);
+        return new TokenResponseParser(buffer, bytes.length).accessToken(scope, 1000L);
+    }
+}
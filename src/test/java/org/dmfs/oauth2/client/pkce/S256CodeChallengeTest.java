@@ -18,7 +18,12 @@ package org.dmfs.oauth2.client.pkce;
 
 import org.junit.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 
 /**
@@ -39,4 +44,24 @@ public class S256CodeChallengeTest
         assertEquals("E9Melhoa2OwvFrEMTJguCHaoeK1t8URWbuGJSstw-cM", new S256CodeChallenge("dBjftJeZ4CVP-mB92K27uhbUJU1p1r_wW1gFWFOEjXk").challenge());
     }
 
-}
\ No newline at end of file
+
+    @Test
+    public void challengeIsMemoized() throws Exception
+    {
+        S256CodeChallenge challenge = new S256CodeChallenge("dBjftJeZ4CVP-mB92K27uhbUJU1p1r_wW1gFWFOEjXk");
+        assertSame(challenge.challenge(), challenge.challenge());
+    }
+
+
+    @Test
+    public void challengeOfRandomVerifiers() throws Exception
+    {
+        for (int i = 0; i < 100; ++i)
+        {
+            String verifier = "verifier-" + i + "-" + System.nanoTime();
+            String expected = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(MessageDigest.getInstance("SHA-256").digest(verifier.getBytes(StandardCharsets.UTF_8)));
+            assertEquals(expected, new S256CodeChallenge(verifier).challenge());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.random;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.*;
+
+
+public class SecureRandomCharsTest
+{
+    @Test
+    public void testLengthAndAlphabet()
+    {
+        for (int length : new int[] { 1, 43, 64, 2000 })
+        {
+            SecureRandomChars randomChars = new SecureRandomChars(length);
+            for (int i = 0; i < 100; ++i)
+            {
+                CharSequence result = randomChars.next();
+                assertEquals(length, result.length());
+                assertTrue(result.toString().matches("[a-zA-Z0-9_-]+"));
+            }
+        }
+    }
+
+
+    @Test
+    public void testDistribution()
+    {
+        int[] counts = new int[128];
+        for (int i = 0; i < 1000; ++i)
+        {
+            CharSequence result = SecureRandomChars.INSTANCE.next();
+            for (int j = 0; j < result.length(); ++j)
+            {
+                counts[result.charAt(j)] += 1;
+            }
+        }
+        // 64000 characters, 1000 expected per character
+        Set<Character> seen = new HashSet<>();
+        for (int c = 0; c < counts.length; ++c)
+        {
+            if (counts[c] > 0)
+            {
+                seen.add((char) c);
+                assertTrue(counts[c] > 800 && counts[c] < 1200);
+            }
+        }
+        assertEquals(64, seen.size());
+    }
+
+
+    @Test
+    public void testConcurrentUse() throws Exception
+    {
+        Set<String> results = ConcurrentHashMap.newKeySet();
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; ++i)
+        {
+            threads[i] = new Thread(() ->
+            {
+                for (int j = 0; j < 1000; ++j)
+                {
+                    results.add(SecureRandomChars.INSTANCE.next().toString());
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+        assertEquals(8000, results.size());
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalLength()
+    {
+        new SecureRandomChars(0);
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.refresh;
+
+import org.dmfs.httpessentials.client.HttpRequestExecutor;
+import org.dmfs.httpessentials.exceptions.ProtocolException;
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+import org.dmfs.oauth2.client.OAuth2Client;
+import org.dmfs.oauth2.client.OAuth2Scope;
+import org.dmfs.oauth2.client.errors.TokenRequestError;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.dmfs.jems2.mockito.Mock.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+
+public class AutoRefreshingAccessTokenTest
+{
+    @Test
+    public void testReturnsValidToken() throws Exception
+    {
+        HttpRequestExecutor executor = mock(HttpRequestExecutor.class);
+        OAuth2AccessToken initialToken = token("initial", 3600 * 1000L, "refresh");
+        OAuth2Client client = mock(OAuth2Client.class);
+
+        OAuth2AccessToken token = new AutoRefreshingAccessToken(client, initialToken, executor);
+
+        assertEquals("initial", token.accessToken());
+        assertEquals("initial", token.accessToken());
+    }
+
+
+    @Test
+    public void testRefreshesTokenWithinMargin() throws Exception
+    {
+        HttpRequestExecutor executor = mock(HttpRequestExecutor.class);
+        OAuth2AccessToken initialToken = token("initial", 30 * 1000L, "refresh");
+        OAuth2AccessToken refreshedToken = token("refreshed", 3600 * 1000L, "rotated");
+        OAuth2Client client = mock(OAuth2Client.class,
+            with(c -> c.accessToken(any(), eq(executor)), returning(refreshedToken)));
+
+        AutoRefreshingAccessToken token = new AutoRefreshingAccessToken(client, initialToken, executor);
+
+        assertEquals("refreshed", token.accessToken());
+        assertEquals("refreshed", token.accessToken());
+        assertEquals("rotated", token.refreshToken());
+        verify(client, times(1)).accessToken(any(), eq(executor));
+    }
+
+
+    @Test
+    public void testKeepsValidTokenIfRefreshFails() throws Exception
+    {
+        HttpRequestExecutor executor = mock(HttpRequestExecutor.class);
+        OAuth2AccessToken initialToken = token("initial", 30 * 1000L, "refresh");
+        OAuth2Client client = mock(OAuth2Client.class,
+            with(c -> c.accessToken(any(), eq(executor)), throwing(new IOException("unreachable"))));
+
+        AutoRefreshingAccessToken token = new AutoRefreshingAccessToken(client, initialToken, executor);
+
+        assertEquals("initial", token.accessToken());
+        // doesn't retry right away
+        assertEquals("initial", token.accessToken());
+        assertSame(initialToken, token.currentToken());
+        verify(client, times(1)).accessToken(any(), eq(executor));
+    }
+
+
+    @Test
+    public void testFailsIfExpiredTokenCantBeRefreshed() throws Exception
+    {
+        HttpRequestExecutor executor = mock(HttpRequestExecutor.class);
+        IOException error = new IOException("unreachable");
+        OAuth2AccessToken initialToken = token("initial", -1000L, "refresh");
+        OAuth2Client client = mock(OAuth2Client.class,
+            with(c -> c.accessToken(any(), eq(executor)), throwing(error)));
+
+        try
+        {
+            new AutoRefreshingAccessToken(client, initialToken, executor).accessToken();
+            fail("ProtocolException expected");
+        }
+        catch (ProtocolException e)
+        {
+            assertSame(error, e.getCause());
+        }
+    }
+
+
+    @Test
+    public void testStopsRefreshingOnTokenRequestError() throws Exception
+    {
+        HttpRequestExecutor executor = mock(HttpRequestExecutor.class);
+        TokenRequestError error = new TokenRequestError(new JSONObject("{\"error\":\"invalid_grant\"}"));
+        OAuth2AccessToken initialToken = token("initial", -1000L, "refresh");
+        OAuth2Client client = mock(OAuth2Client.class,
+            with(c -> c.accessToken(any(), eq(executor)), throwing(error)));
+
+        AutoRefreshingAccessToken token = new AutoRefreshingAccessToken(client, initialToken, executor);
+        for (int i = 0; i < 3; ++i)
+        {
+            try
+            {
+                token.accessToken();
+                fail("ProtocolException expected");
+            }
+            catch (ProtocolException e)
+            {
+                assertSame(error, e.getCause());
+            }
+        }
+        verify(client, times(1)).accessToken(any(), eq(executor));
+    }
+
+
+    @Test
+    public void testBacksOffIfExpiredTokenCantBeRefreshed() throws Exception
+    {
+        HttpRequestExecutor executor = mock(HttpRequestExecutor.class);
+        IOException error = new IOException("unreachable");
+        OAuth2AccessToken initialToken = token("initial", -1000L, "refresh");
+        OAuth2Client client = mock(OAuth2Client.class,
+            with(c -> c.accessToken(any(), eq(executor)), throwing(error)));
+
+        AutoRefreshingAccessToken token = new AutoRefreshingAccessToken(client, initialToken, executor);
+        for (int i = 0; i < 3; ++i)
+        {
+            try
+            {
+                token.accessToken();
+                fail("ProtocolException expected");
+            }
+            catch (ProtocolException e)
+            {
+                assertSame(error, e.getCause());
+            }
+        }
+        // the next attempt is not due before a second has passed
+        verify(client, times(1)).accessToken(any(), eq(executor));
+
+        Thread.sleep(1100);
+        try
+        {
+            token.accessToken();
+            fail("ProtocolException expected");
+        }
+        catch (ProtocolException e)
+        {
+            assertSame(error, e.getCause());
+        }
+        // the retry after that is not due before another two seconds have passed
+        try
+        {
+            token.accessToken();
+            fail("ProtocolException expected");
+        }
+        catch (ProtocolException e)
+        {
+            assertSame(error, e.getCause());
+        }
+        verify(client, times(2)).accessToken(any(), eq(executor));
+    }
+
+
+    private static OAuth2AccessToken token(String accessToken, long ttlMillis, String refreshToken)
+    {
+        return mock(OAuth2AccessToken.class,
+            with(OAuth2AccessToken::accessToken, returning(accessToken)),
+            with(OAuth2AccessToken::expiresAtNanos, returning(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttlMillis))),
+            with(OAuth2AccessToken::hasRefreshToken, returning(true)),
+            with(OAuth2AccessToken::refreshToken, returning(refreshToken)),
+            with(OAuth2AccessToken::scope, returning(mock(OAuth2Scope.class))));
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.refresh;
+
+import org.dmfs.httpessentials.client.HttpRequestExecutor;
+import org.dmfs.httpessentials.exceptions.ProtocolException;
+import org.dmfs.oauth2.client.OAuth2AccessToken;
+import org.dmfs.oauth2.client.OAuth2Client;
+import org.dmfs.oauth2.client.OAuth2Grant;
+import org.dmfs.oauth2.client.OAuth2Scope;
+import org.dmfs.oauth2.client.errors.TokenRequestError;
+import org.dmfs.oauth2.client.scope.EmptyScope;
+import org.dmfs.oauth2.client.tokens.ParsedAccessToken;
+import org.hamcrest.Matchers;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.dmfs.jems2.hamcrest.matchers.optional.PresentMatcher.present;
+import static org.dmfs.jems2.mockito.Mock.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+
+public class TokenRefreshSchedulerTest
+{
+    @Test
+    public void testRenewsGrantToken() throws Exception
+    {
+        HttpRequestExecutor executor = mock(HttpRequestExecutor.class);
+        OAuth2AccessToken token1 = mock(OAuth2AccessToken.class,
+            with(OAuth2AccessToken::expiresAtNanos, returning(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(2000))));
+        OAuth2AccessToken token2 = mock(OAuth2AccessToken.class,
+            with(OAuth2AccessToken::expiresAtNanos, returning(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(3600 * 1000L))));
+        OAuth2Grant grant = mock(OAuth2Grant.class,
+            with(g -> g.accessToken(executor), returning(token1, token2)));
+
+        ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor();
+        try
+        {
+            ScheduledAccessToken token = new TokenRefreshScheduler(executorService, 0.5, 0).register(grant, executor);
+            assertSame(token1, token.currentToken());
+            assertSame(token2, awaited(token, token1));
+            token.cancel();
+        }
+        finally
+        {
+            executorService.shutdownNow();
+        }
+    }
+
+
+    @Test
+    public void testRefreshesTokenAndKeepsRefreshToken() throws Exception
+    {
+        HttpRequestExecutor executor = mock(HttpRequestExecutor.class);
+        OAuth2AccessToken initialToken = mock(OAuth2AccessToken.class,
+            with(OAuth2AccessToken::expiresAtNanos, returning(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(2000))),
+            with(OAuth2AccessToken::hasRefreshToken, returning(true)),
+            with(OAuth2AccessToken::refreshToken, returning("refresh")),
+            with(OAuth2AccessToken::scope, returning(mock(OAuth2Scope.class))));
+        OAuth2AccessToken refreshedToken = mock(OAuth2AccessToken.class,
+            with(OAuth2AccessToken::accessToken, returning("refreshed")),
+            with(OAuth2AccessToken::expiresAtNanos, returning(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(3600 * 1000L))),
+            with(OAuth2AccessToken::hasRefreshToken, returning(false)));
+        OAuth2Client client = mock(OAuth2Client.class,
+            with(c -> c.accessToken(any(), eq(executor)), returning(refreshedToken)));
+
+        ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor();
+        try
+        {
+            ScheduledAccessToken token = new TokenRefreshScheduler(executorService, 0.5, 0).register(client, initialToken, executor);
+            awaited(token, initialToken);
+            assertEquals("refreshed", token.accessToken());
+            assertTrue(token.hasRefreshToken());
+            assertEquals("refresh", token.refreshToken());
+            token.cancel();
+        }
+        finally
+        {
+            executorService.shutdownNow();
+        }
+    }
+
+
+    @Test
+    public void testStopsOnTokenRequestError() throws Exception
+    {
+        HttpRequestExecutor executor = mock(HttpRequestExecutor.class);
+        OAuth2AccessToken token1 = new ParsedAccessToken("token1", "bearer", null, System.currentTimeMillis() + 200, null, EmptyScope.INSTANCE,
+            Collections.<String, CharSequence>emptyMap());
+        TokenRequestError error = new TokenRequestError(new JSONObject("{\"error\":\"invalid_grant\"}"));
+        AtomicInteger requests = new AtomicInteger();
+        OAuth2Grant grant = mock(OAuth2Grant.class,
+            with(g -> g.accessToken(executor), answering(invocation -> {
+                if (requests.getAndIncrement() == 0)
+                {
+                    return token1;
+                }
+                throw error;
+            })));
+
+        ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor();
+        try
+        {
+            ScheduledAccessToken token = new TokenRefreshScheduler(executorService, 0.5, 0).register(grant, executor);
+            // wait longer than the first retry would take
+            Thread.sleep(1500);
+            assertEquals(2, requests.get());
+            assertThat(token.renewalFailure(), is(present(Matchers.<Exception>sameInstance(error))));
+            try
+            {
+                token.accessToken();
+                fail("expired token returned");
+            }
+            catch (ProtocolException e)
+            {
+                assertSame(error, e.getCause());
+            }
+            token.cancel();
+        }
+        finally
+        {
+            executorService.shutdownNow();
+        }
+    }
+
+
+    @Test
+    public void testBacksOffOnIOException() throws Exception
+    {
+        HttpRequestExecutor executor = mock(HttpRequestExecutor.class);
+        OAuth2AccessToken token1 = new ParsedAccessToken("token1", "bearer", null, System.currentTimeMillis() + 100, null, EmptyScope.INSTANCE,
+            Collections.<String, CharSequence>emptyMap());
+        AtomicInteger requests = new AtomicInteger();
+        OAuth2Grant grant = mock(OAuth2Grant.class,
+            with(g -> g.accessToken(executor), answering(invocation -> {
+                if (requests.getAndIncrement() == 0)
+                {
+                    return token1;
+                }
+                throw new IOException("unreachable");
+            })));
+
+        ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor();
+        try
+        {
+            ScheduledAccessToken token = new TokenRefreshScheduler(executorService, 0.5, 0).register(grant, executor);
+            // renewals after 50 ms, retries after another 1 s and 2 s, the next one is not due before 7 s
+            Thread.sleep(3500);
+            assertEquals(4, requests.get());
+            assertThat(token.renewalFailure(), is(present(Matchers.<Exception>instanceOf(IOException.class))));
+            token.cancel();
+        }
+        finally
+        {
+            executorService.shutdownNow();
+        }
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidFraction()
+    {
+        new TokenRefreshScheduler(mock(ScheduledExecutorService.class), 1.5, 0);
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testJitterBeyondTimeToLive()
+    {
+        new TokenRefreshScheduler(mock(ScheduledExecutorService.class), 0.75, 0.5);
+    }
+
+
+    /**
+     * Waits until the current token of the given {@link ScheduledAccessToken} has been replaced by another one than the given token.
+     */
+    private static OAuth2AccessToken awaited(ScheduledAccessToken token, OAuth2AccessToken previousToken) throws InterruptedException
+    {
+        long timeout = System.currentTimeMillis() + 5000;
+        while (token.currentToken() == previousToken && System.currentTimeMillis() < timeout)
+        {
+            Thread.sleep(10);
+        }
+        return token.currentToken();
+    }
+}
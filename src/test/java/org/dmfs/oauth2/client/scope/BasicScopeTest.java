@@ -53,4 +53,38 @@ public class BasicScopeTest
         assertEquals("test calendar", new BasicScope("test", "calendar").toString());
     }
 
+
+    @Test
+    public void testHashCode()
+    {
+        assertEquals(0, new BasicScope().hashCode());
+        assertEquals(new BasicScope("test", "calendar").hashCode(), new BasicScope("calendar", "test").hashCode());
+        assertEquals(new BasicScope("test", "calendar").hashCode(), new BasicScope("calendar", "test", "calendar").hashCode());
+        assertEquals(new BasicScope("test", "calendar").hashCode(), new StringScope("calendar test").hashCode());
+        assertEquals(new BasicScope("test", "calendar").hashCode(), new InternedScope("calendar", "test").hashCode());
+        // the cached hash code
+        BasicScope scope = new BasicScope("test", "calendar", "test");
+        assertEquals(scope.hashCode(), scope.hashCode());
+        assertEquals(new BasicScope("test", "calendar").hashCode(), scope.hashCode());
+    }
+
+
+    @Test
+    public void testEqualsWithDuplicates()
+    {
+        assertEquals(new BasicScope("a"), new BasicScope("a", "a"));
+        assertEquals(new BasicScope("a", "a"), new BasicScope("a"));
+        assertEquals(new BasicScope("a").hashCode(), new BasicScope("a", "a").hashCode());
+        assertNotEquals(new BasicScope("a", "a"), new BasicScope("a", "b"));
+        assertNotEquals(new BasicScope("a", "b"), new BasicScope("a", "a"));
+        assertNotEquals(new BasicScope("a", "a"), new InternedScope("a", "b"));
+        assertNotEquals(new InternedScope("a", "b"), new BasicScope("a", "a"));
+        assertNotEquals(new BasicScope("a", "a"), new CanonicalScope(new BasicScope("a", "b")));
+        assertNotEquals(new CanonicalScope(new BasicScope("a", "b")), new BasicScope("a", "a"));
+        assertEquals(new BasicScope("a", "a"), new InternedScope("a"));
+        assertEquals(new InternedScope("a"), new BasicScope("a", "a"));
+        assertEquals(new BasicScope("a", "a"), new CanonicalScope(new BasicScope("a")));
+        assertEquals(new CanonicalScope(new BasicScope("a")), new BasicScope("a", "a"));
+    }
+
 }
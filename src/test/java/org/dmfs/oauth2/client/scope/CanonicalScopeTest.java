@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.dmfs.oauth2.client.scope;
+
+import org.dmfs.oauth2.client.OAuth2Scope;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+
+public class CanonicalScopeTest
+{
+    @Test
+    public void testToString()
+    {
+        assertEquals("", new CanonicalScope(EmptyScope.INSTANCE).toString());
+        assertEquals("", new CanonicalScope(new StringScope("")).toString());
+        assertEquals("calendar test", new CanonicalScope(new StringScope("test calendar")).toString());
+        assertEquals("calendar test", new CanonicalScope(new BasicScope("test", "calendar", "test")).toString());
+        assertEquals("calendar test", new CanonicalScope(new InternedScope("test", "calendar")).toString());
+    }
+
+
+    @Test
+    public void testTokens()
+    {
+        assertTrue(new CanonicalScope(EmptyScope.INSTANCE).isEmpty());
+        assertThat(new CanonicalScope(new BasicScope("test", "calendar", "test")).tokenCount(), is(2));
+        assertTrue(new CanonicalScope(new BasicScope("test", "calendar")).hasToken("test"));
+        assertFalse(new CanonicalScope(new BasicScope("test", "calendar")).hasToken("foo"));
+    }
+
+
+    @Test
+    public void testEqualsAndHashCode()
+    {
+        assertEquals(new CanonicalScope(new BasicScope("test", "calendar")), new CanonicalScope(new StringScope("calendar test")));
+        assertEquals(new CanonicalScope(new BasicScope("test", "calendar")), new BasicScope("calendar", "test"));
+        assertEquals(new CanonicalScope(EmptyScope.INSTANCE), EmptyScope.INSTANCE);
+        assertNotEquals(new CanonicalScope(new BasicScope("test", "calendar")), new CanonicalScope(new BasicScope("test")));
+        assertEquals(new BasicScope("calendar", "test").hashCode(), new CanonicalScope(new StringScope("test calendar")).hashCode());
+    }
+
+
+    @Test
+    public void testHashMapKey()
+    {
+        Map<OAuth2Scope, String> map = new HashMap<>();
+        map.put(new BasicScope("test", "calendar"), "value");
+
+        assertEquals("value", map.get(new StringScope("calendar test")));
+        assertEquals("value", map.get(new InternedScope("calendar", "test")));
+        assertEquals("value", map.get(new CanonicalScope(new BasicScope("test", "calendar"))));
+        assertNull(map.get(new BasicScope("test")));
+    }
+}
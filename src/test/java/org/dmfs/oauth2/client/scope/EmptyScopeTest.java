@@ -44,4 +44,12 @@ public class EmptyScopeTest
         assertEquals("", new EmptyScope().toString());
     }
 
+
+    @Test
+    public void testHashCode()
+    {
+        assertEquals(new BasicScope().hashCode(), new EmptyScope().hashCode());
+        assertEquals(new StringScope("").hashCode(), new EmptyScope().hashCode());
+    }
+
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.dmfs.oauth2.client.scope;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+
+public class InternedScopeTest
+{
+    @Test
+    public void testTokenCount()
+    {
+        assertThat(new InternedScope().tokenCount(), is(0));
+        assertThat(new InternedScope("test").tokenCount(), is(1));
+        assertThat(new InternedScope("test", "calendar").tokenCount(), is(2));
+        assertThat(new InternedScope("test", "calendar", "test", "").tokenCount(), is(2));
+        assertThat(new InternedScope(new StringScope("test calendar")).tokenCount(), is(2));
+    }
+
+
+    @Test
+    public void testIsEmpty()
+    {
+        assertTrue(new InternedScope().isEmpty());
+        assertTrue(new InternedScope("").isEmpty());
+        assertTrue(new InternedScope(EmptyScope.INSTANCE).isEmpty());
+        assertFalse(new InternedScope("test").isEmpty());
+    }
+
+
+    @Test
+    public void testHasToken()
+    {
+        assertFalse(new InternedScope().hasToken("test"));
+        assertTrue(new InternedScope("test").hasToken("test"));
+        assertFalse(new InternedScope("test").hasToken("calendar"));
+        assertTrue(new InternedScope("test", "calendar").hasToken("test"));
+        assertTrue(new InternedScope("test", "calendar").hasToken("calendar"));
+        assertFalse(new InternedScope("test", "calendar").hasToken("never-interned-token"));
+    }
+
+
+    @Test
+    public void testToString()
+    {
+        assertEquals("", new InternedScope().toString());
+        assertEquals("test", new InternedScope("test").toString());
+        assertEquals("test calendar", new InternedScope("test", "calendar", "test").toString());
+        assertEquals("calendar test", new InternedScope(new BasicScope("calendar", "test")).toString());
+    }
+
+
+    @Test
+    public void testEquals()
+    {
+        assertEquals(new InternedScope("test", "calendar"), new InternedScope("calendar", "test"));
+        assertEquals(new InternedScope("test", "calendar"), new BasicScope("calendar", "test"));
+        assertEquals(new InternedScope("test", "calendar"), new StringScope("calendar test"));
+        assertEquals(new InternedScope(), EmptyScope.INSTANCE);
+        assertNotEquals(new InternedScope("test", "calendar"), new InternedScope("test"));
+        assertNotEquals(new InternedScope("test"), new InternedScope("calendar"));
+        assertNotEquals(new InternedScope("test"), new BasicScope("calendar"));
+    }
+
+
+    @Test
+    public void testCovers()
+    {
+        assertTrue(new InternedScope("test", "calendar").covers(new InternedScope("test")));
+        assertTrue(new InternedScope("test", "calendar").covers(new InternedScope("calendar", "test")));
+        assertTrue(new InternedScope("test").covers(new InternedScope()));
+        assertFalse(new InternedScope("test").covers(new InternedScope("test", "calendar")));
+        assertFalse(new InternedScope().covers(new InternedScope("test")));
+    }
+
+
+    @Test
+    public void testFullDictionary()
+    {
+        ScopeTokenDictionary dictionary = new ScopeTokenDictionary(2);
+
+        InternedScope scope = new InternedScope(dictionary, "a", "b", "c", "d");
+
+        assertThat(scope.tokenCount(), is(4));
+        assertTrue(scope.hasToken("a"));
+        assertTrue(scope.hasToken("d"));
+        assertFalse(scope.hasToken("e"));
+        assertEquals("a b c d", scope.toString());
+        assertEquals(new InternedScope(dictionary, "d", "c", "b", "a"), scope);
+        assertNotEquals(new InternedScope(dictionary, "a", "b", "c"), scope);
+        assertTrue(scope.covers(new InternedScope(dictionary, "b", "d")));
+        assertFalse(new InternedScope(dictionary, "a", "b", "c").covers(scope));
+    }
+
+
+    @Test
+    public void testHashCode()
+    {
+        assertEquals(0, new InternedScope().hashCode());
+        assertEquals(new InternedScope("test", "calendar").hashCode(), new InternedScope("calendar", "test", "test").hashCode());
+        assertEquals(new InternedScope("test", "calendar").hashCode(), new StringScope("calendar test").hashCode());
+    }
+}
@@ -62,4 +62,35 @@ public class StringScopeTest
         assertEquals("test calendar", new StringScope("test calendar").toString());
     }
 
+
+    @Test
+    public void testHashCode()
+    {
+        assertEquals(0, new StringScope("").hashCode());
+        assertEquals(new StringScope("test calendar").hashCode(), new StringScope("calendar test").hashCode());
+        assertEquals(new StringScope("test calendar").hashCode(), new StringScope("calendar test test").hashCode());
+        assertEquals(new StringScope("test calendar").hashCode(), new BasicScope("calendar", "test").hashCode());
+        // the cached hash code
+        StringScope scope = new StringScope("test  calendar test");
+        assertEquals(scope.hashCode(), scope.hashCode());
+        assertEquals(new StringScope("test calendar").hashCode(), scope.hashCode());
+    }
+
+
+    @Test
+    public void testEqualsWithDuplicates()
+    {
+        assertEquals(new StringScope("a"), new StringScope("a a"));
+        assertEquals(new StringScope("a a"), new StringScope("a"));
+        assertEquals(new StringScope("a").hashCode(), new StringScope("a a").hashCode());
+        assertNotEquals(new StringScope("a a"), new StringScope("a b"));
+        assertNotEquals(new StringScope("a b"), new StringScope("a a"));
+        assertNotEquals(new StringScope("a a"), new BasicScope("a", "b"));
+        assertNotEquals(new BasicScope("a", "b"), new StringScope("a a"));
+        assertEquals(new StringScope("a a"), new InternedScope("a"));
+        assertEquals(new InternedScope("a"), new StringScope("a a"));
+        assertEquals(new StringScope("a a"), new BasicScope("a", "a"));
+        assertNotEquals(EmptyScope.INSTANCE, new StringScope("a a"));
+    }
+
 }
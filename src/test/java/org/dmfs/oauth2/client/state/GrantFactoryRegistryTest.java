@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.state;
+
+import org.dmfs.oauth2.client.OAuth2AuthorizationRequest;
+import org.dmfs.oauth2.client.OAuth2Client;
+import org.dmfs.oauth2.client.OAuth2InteractiveGrant;
+import org.dmfs.oauth2.client.grants.AuthorizationCodeGrant;
+import org.dmfs.oauth2.client.grants.ImplicitGrant;
+import org.dmfs.oauth2.client.scope.BasicScope;
+import org.junit.Test;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+
+import static org.dmfs.jems2.mockito.Mock.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+
+
+public class GrantFactoryRegistryTest
+{
+    @Test
+    public void testDefaultContainsBuiltInFactories()
+    {
+        assertTrue(GrantFactoryRegistry.DEFAULT.factory(AuthorizationCodeGrant.class.getName() + "$InitialAuthorizationCodeGrantFactory").isPresent());
+        assertTrue(GrantFactoryRegistry.DEFAULT.factory(
+            AuthorizationCodeGrant.class.getName() + "$AuthorizedAuthorizationCodeGrant$AuthenticatedAuthorizationCodeGrantFactory").isPresent());
+        assertTrue(GrantFactoryRegistry.DEFAULT.factory(ImplicitGrant.class.getName() + "$InitialImplicitGrantFactory").isPresent());
+        assertTrue(GrantFactoryRegistry.DEFAULT.factory(
+            ImplicitGrant.class.getName() + "$AuthorizedImplicitGrant$AuthenticatedImplicitGrantFactory").isPresent());
+        assertFalse(GrantFactoryRegistry.DEFAULT.factory("org.example.UnknownFactory").isPresent());
+    }
+
+
+    @Test
+    public void testCustomFactory()
+    {
+        OAuth2InteractiveGrant.OAuth2InteractiveGrantFactory factory = new TestFactory();
+
+        assertSame(factory, new GrantFactoryRegistry(factory).factory(TestFactory.class.getName()).value());
+        assertTrue(new GrantFactoryRegistry(factory).factory(AuthorizationCodeGrant.class.getName() + "$InitialAuthorizationCodeGrantFactory").isPresent());
+        assertFalse(new GrantFactoryRegistry(Collections.emptyList()).factory(TestFactory.class.getName()).isPresent());
+    }
+
+
+    @Test
+    public void testUnregisteredFactoryFallsBackToReflection()
+    {
+        OAuth2Client client = mock(OAuth2Client.class,
+            with(OAuth2Client::randomChars, returning("123456789012345678901234567890")),
+            with(c -> c.authorizationUrl(any()),
+                answering(invocation -> ((OAuth2AuthorizationRequest) invocation.getArgument(0)).authorizationUri(URI.create("http://1234")))));
+        OAuth2InteractiveGrant grant = new AuthorizationCodeGrant(client, new BasicScope("scope"));
+
+        // a state in the legacy format, which identifies the factory by its class name
+        String state = Base64.getEncoder().encodeToString(
+            ("{\"class\":\"" + AuthorizationCodeGrant.class.getName() + "$InitialAuthorizationCodeGrantFactory\"," +
+                "\"args\":[\"scope\",\"123456789012345678901234567890\",\"123456789012345678901234567890\",\"\"]}")
+                .getBytes(StandardCharsets.UTF_8));
+
+        OAuth2InteractiveGrant restored = new InteractiveGrantFactory(client, new GrantFactoryRegistry(Collections.emptyList())).value(state);
+
+        assertEquals(grant.authorizationUrl(), restored.authorizationUrl());
+    }
+
+
+    @Test
+    public void testRejectsNonFactoryClass()
+    {
+        String state = Base64.getEncoder()
+            .encodeToString("{\"class\":\"java.lang.StringBuilder\",\"args\":[]}".getBytes(StandardCharsets.UTF_8));
+        try
+        {
+            new InteractiveGrantFactory(mock(OAuth2Client.class)).value(state);
+            fail("IllegalArgumentException expected");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // expected
+        }
+    }
+
+
+    public static final class TestFactory implements OAuth2InteractiveGrant.OAuth2InteractiveGrantFactory
+    {
+        @Override
+        public OAuth2InteractiveGrant grant(OAuth2Client client, org.json.JSONArray arguments)
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.state;
+
+import org.dmfs.httpessentials.exceptions.ProtocolException;
+import org.dmfs.oauth2.client.OAuth2AuthorizationRequest;
+import org.dmfs.oauth2.client.OAuth2Client;
+import org.dmfs.oauth2.client.OAuth2InteractiveGrant;
+import org.dmfs.oauth2.client.grants.ImplicitGrant;
+import org.dmfs.oauth2.client.grants.PendingGrant;
+import org.dmfs.oauth2.client.scope.BasicScope;
+import org.dmfs.rfc3986.encoding.Precoded;
+import org.dmfs.rfc3986.uris.LazyUri;
+import org.dmfs.rfc5545.Duration;
+import org.junit.Test;
+
+import java.net.URI;
+
+import static org.dmfs.jems2.mockito.Mock.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+
+
+public class InMemoryPendingGrantStoreTest
+{
+    @Test
+    public void testTakeOnlyOnce()
+    {
+        InMemoryPendingGrantStore store = new InMemoryPendingGrantStore(10);
+        OAuth2InteractiveGrant grant = mock(OAuth2InteractiveGrant.class);
+
+        store.put("state", grant);
+
+        assertEquals(1, store.size());
+        assertFalse(store.take("other").isPresent());
+        assertSame(grant, store.take(new StringBuilder("state")).value());
+        assertFalse(store.take("state").isPresent());
+        assertEquals(0, store.size());
+    }
+
+
+    @Test
+    public void testExpiry() throws InterruptedException
+    {
+        InMemoryPendingGrantStore store = new InMemoryPendingGrantStore(10, new Duration(1, 0, 1));
+
+        store.put("state1", mock(OAuth2InteractiveGrant.class));
+        Thread.sleep(1100);
+
+        assertFalse(store.take("state1").isPresent());
+
+        store.put("state2", mock(OAuth2InteractiveGrant.class));
+        store.put("state3", mock(OAuth2InteractiveGrant.class));
+        Thread.sleep(1100);
+        // adding an entry drops the expired ones
+        store.put("state4", mock(OAuth2InteractiveGrant.class));
+
+        assertEquals(1, store.size());
+        assertTrue(store.take("state4").isPresent());
+    }
+
+
+    @Test
+    public void testMaximumSize()
+    {
+        InMemoryPendingGrantStore store = new InMemoryPendingGrantStore(100);
+
+        for (int i = 0; i < 1000; ++i)
+        {
+            store.put("state" + i, mock(OAuth2InteractiveGrant.class));
+            if (i % 2 == 0)
+            {
+                store.take("state" + i);
+            }
+        }
+
+        assertTrue(store.size() <= 100);
+        // the oldest entries have been dropped, the latest ones are still there
+        assertFalse(store.take("state1").isPresent());
+        assertTrue(store.take("state999").isPresent());
+    }
+
+
+    @Test
+    public void testPendingGrants() throws Exception
+    {
+        OAuth2Client client = mock(OAuth2Client.class,
+            with(OAuth2Client::randomChars, returning("state123")),
+            with(OAuth2Client::defaultTokenTtl, returning(new Duration(1, 0, 3600))),
+            with(c -> c.authorizationUrl(any()),
+                answering(invocation -> ((OAuth2AuthorizationRequest) invocation.getArgument(0)).authorizationUri(URI.create("http://example.com/auth")))));
+        PendingGrantStore store = new InMemoryPendingGrantStore(10);
+
+        new PendingGrant(store, new ImplicitGrant(client, new BasicScope("scope"))).authorizationUrl();
+
+        LazyUri redirect = new LazyUri(new Precoded("http://localhost#access_token=token&token_type=bearer&state=state123"));
+        assertEquals("token", new PendingGrants(store).withRedirect(redirect).accessToken(null).accessToken().toString());
+
+        try
+        {
+            // the grant can't be used twice
+            new PendingGrants(store).withRedirect(redirect);
+            fail("ProtocolException expected");
+        }
+        catch (ProtocolException e)
+        {
+            // expected
+        }
+    }
+}
@@ -16,6 +16,7 @@
 
 package org.dmfs.oauth2.client.tokens;
 
+import org.dmfs.httpessentials.exceptions.ProtocolException;
 import org.dmfs.jems2.hamcrest.matchers.optional.AbsentMatcher;
 import org.dmfs.oauth2.client.scope.EmptyScope;
 import org.dmfs.rfc3986.encoding.Precoded;
@@ -24,9 +25,13 @@ import org.dmfs.rfc5545.Duration;
 import org.hamcrest.Matchers;
 import org.junit.Test;
 
+import java.util.concurrent.TimeUnit;
+
 import static org.dmfs.jems2.hamcrest.matchers.optional.PresentMatcher.present;
 import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 
 public class ImplicitGrantAccessTokenTest
@@ -55,4 +60,31 @@ public class ImplicitGrantAccessTokenTest
             is(AbsentMatcher.<CharSequence>absent()));
     }
 
+
+    @Test
+    public void testExpiresAtNanos() throws Exception
+    {
+        long before = System.nanoTime();
+        ImplicitGrantAccessToken token = new ImplicitGrantAccessToken(
+            new LazyUri(new Precoded("http://localhost#state=1&expires_in=3600")),
+            new EmptyScope(),
+            "1",
+            new Duration(1, 1, 0));
+        long after = System.nanoTime();
+
+        assertTrue(token.expiresAtNanos() - (before + TimeUnit.SECONDS.toNanos(3600)) >= 0);
+        assertTrue(token.expiresAtNanos() - (after + TimeUnit.SECONDS.toNanos(3600)) <= 0);
+        assertEquals(token.expiresAtNanos(), token.expiresAtNanos());
+    }
+
+
+    @Test(expected = ProtocolException.class)
+    public void testInvalidExpiresIn() throws Exception
+    {
+        new ImplicitGrantAccessToken(
+            new LazyUri(new Precoded("http://localhost#state=1&expires_in=soon")),
+            new EmptyScope(),
+            "1",
+            new Duration(1, 1, 0)).expiresAtNanos();
+    }
 }
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.tokens;
+
+import org.dmfs.httpessentials.exceptions.ProtocolException;
+import org.dmfs.jems2.hamcrest.matchers.optional.AbsentMatcher;
+import org.dmfs.oauth2.client.OAuth2Scope;
+import org.dmfs.oauth2.client.scope.BasicScope;
+import org.dmfs.oauth2.client.scope.StringScope;
+import org.hamcrest.Matchers;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+import static org.dmfs.jems2.hamcrest.matchers.optional.PresentMatcher.present;
+import static org.dmfs.jems2.mockito.doubles.TestDoubles.dummy;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.*;
+
+
+public class ParsedAccessTokenTest
+{
+    @Test
+    public void testValues() throws Exception
+    {
+        long now = System.currentTimeMillis();
+        ParsedAccessToken token = new ParsedAccessToken(new JSONObject(
+            "{\"access_token\":\"2YotnFZFEjr1zCsicMWpAA\",\"token_type\":\"example\",\"expires_in\":3600,\"refresh_token\":\"tGzv3JOkF0XG5Qx2TlKWIA\"}"),
+            dummy(OAuth2Scope.class));
+
+        assertEquals("2YotnFZFEjr1zCsicMWpAA", token.accessToken());
+        assertEquals("example", token.tokenType());
+        assertTrue(token.hasRefreshToken());
+        assertEquals("tGzv3JOkF0XG5Qx2TlKWIA", token.refreshToken());
+        assertTrue(token.expirationDate().getTimestamp() >= now + 3600 * 1000L);
+        assertTrue(token.expirationDate().getTimestamp() <= System.currentTimeMillis() + 3600 * 1000L);
+        // like with JsonAccessToken the members defined by RFC 6749 are available too
+        assertThat(token.extraParameter("access_token"), is(present(Matchers.<CharSequence>hasToString("2YotnFZFEjr1zCsicMWpAA"))));
+        assertThat(token.extraParameter("expires_in"), is(present(Matchers.<CharSequence>hasToString("3600"))));
+        assertThat(token.extraParameter("scope"), is(AbsentMatcher.<CharSequence>absent()));
+    }
+
+
+    @Test
+    public void testExpiresInString() throws Exception
+    {
+        long now = System.currentTimeMillis();
+        assertTrue(new ParsedAccessToken(new JSONObject("{\"expires_in\":\"60\"}"), dummy(OAuth2Scope.class)).expirationDate().getTimestamp()
+            >= now + 60 * 1000L);
+    }
+
+
+    @Test
+    public void testExpiresAtNanos() throws Exception
+    {
+        long before = System.nanoTime();
+        ParsedAccessToken token = new ParsedAccessToken(new JSONObject("{\"expires_in\":3600}"), dummy(OAuth2Scope.class));
+        long after = System.nanoTime();
+
+        // the wall clock has a resolution of a millisecond
+        assertTrue(token.expiresAtNanos() - (before + TimeUnit.SECONDS.toNanos(3600) - TimeUnit.MILLISECONDS.toNanos(2)) >= 0);
+        assertTrue(token.expiresAtNanos() - (after + TimeUnit.SECONDS.toNanos(3600) + TimeUnit.MILLISECONDS.toNanos(2)) <= 0);
+        assertFalse(token.isExpired(after, TimeUnit.SECONDS.toNanos(60)));
+        assertTrue(token.isExpired(after, TimeUnit.SECONDS.toNanos(3601)));
+        assertTrue(token.isExpired(after + TimeUnit.SECONDS.toNanos(3601), 0));
+    }
+
+
+    @Test(expected = ProtocolException.class)
+    public void testMissingExpiresAtNanos() throws Exception
+    {
+        new ParsedAccessToken(new JSONObject("{}"), dummy(OAuth2Scope.class)).expiresAtNanos();
+    }
+
+
+    @Test(expected = ProtocolException.class)
+    public void testMissingAccessToken() throws Exception
+    {
+        new ParsedAccessToken(new JSONObject("{}"), dummy(OAuth2Scope.class)).accessToken();
+    }
+
+
+    @Test(expected = ProtocolException.class)
+    public void testMissingExpiresIn() throws Exception
+    {
+        new ParsedAccessToken(new JSONObject("{}"), dummy(OAuth2Scope.class)).expirationDate();
+    }
+
+
+    @Test(expected = NoSuchElementException.class)
+    public void testMissingRefreshToken() throws Exception
+    {
+        ParsedAccessToken token = new ParsedAccessToken(new JSONObject("{}"), dummy(OAuth2Scope.class));
+        assertFalse(token.hasRefreshToken());
+        token.refreshToken();
+    }
+
+
+    @Test
+    public void testNoScope() throws Exception
+    {
+        OAuth2Scope dummyScope = dummy(OAuth2Scope.class);
+        assertThat(new ParsedAccessToken(new JSONObject(), dummyScope).scope(), sameInstance(dummyScope));
+    }
+
+
+    @Test
+    public void testScope() throws Exception
+    {
+        assertThat(new ParsedAccessToken(new JSONObject("{\"scope\": \"scope1 scope2\"}"), new BasicScope("scope1")).scope(),
+            Matchers.<OAuth2Scope>is(new StringScope("scope1 scope2")));
+    }
+
+
+    @Test
+    public void testSameScopeReturnsRequestedInstance() throws Exception
+    {
+        OAuth2Scope requested = new BasicScope("scope1", "scope2");
+        assertThat(new ParsedAccessToken(new JSONObject("{\"scope\": \"scope2 scope1\"}"), requested).scope(), sameInstance(requested));
+    }
+
+
+    @Test
+    public void testDuplicateScopeTokens() throws Exception
+    {
+        OAuth2Scope requested = new BasicScope("scope1", "scope2");
+        OAuth2Scope granted = new ParsedAccessToken(new JSONObject("{\"scope\": \"scope1 scope1\"}"), requested).scope();
+        assertThat(granted, not(sameInstance(requested)));
+        assertTrue(granted.hasToken("scope1"));
+        assertFalse(granted.hasToken("scope2"));
+
+        assertThat(new ParsedAccessToken(new JSONObject("{\"scope\": \"scope2 scope1 scope2\"}"), requested).scope(), sameInstance(requested));
+    }
+
+
+    @Test
+    public void testCustomPayload() throws Exception
+    {
+        ParsedAccessToken token = new ParsedAccessToken(new JSONObject("{\"idToken\":\"id_token_value\", \"number\": 12}"), dummy(OAuth2Scope.class));
+        assertThat(token.extraParameter("idToken"), is(present(Matchers.<CharSequence>hasToString("id_token_value"))));
+        assertThat(token.extraParameter("number"), is(present(Matchers.<CharSequence>hasToString("12"))));
+    }
+
+
+    @Test
+    public void testCustomPayloadWithNonExistingParameter() throws Exception
+    {
+        assertThat(new ParsedAccessToken(new JSONObject("{}"), dummy(OAuth2Scope.class)).extraParameter("idToken"),
+            is(AbsentMatcher.<CharSequence>absent()));
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dmfs.oauth2.client.utils;
+
+import net.iharder.Base64;
+
+import org.dmfs.express.json.elementary.JsonText;
+import org.dmfs.oauth2.client.OAuth2AuthorizationRequest;
+import org.dmfs.oauth2.client.OAuth2Client;
+import org.dmfs.oauth2.client.OAuth2InteractiveGrant;
+import org.dmfs.oauth2.client.grants.AuthorizationCodeGrant;
+import org.dmfs.oauth2.client.scope.BasicScope;
+import org.dmfs.oauth2.client.state.GrantFactoryRegistry;
+import org.dmfs.oauth2.client.state.InteractiveGrantFactory;
+import org.dmfs.oauth2.client.state.TaggedGrantFactory;
+import org.json.JSONArray;
+import org.junit.Test;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.dmfs.jems2.mockito.Mock.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+
+
+public class BinaryGrantStateTest
+{
+    @Test
+    public void testRoundTrip()
+    {
+        RecordingFactory factory = new RecordingFactory();
+        String longArgument = new String(new char[300]).replace('\0', 'x');
+        String encoded = new BinaryGrantState("t", "", "plain", "\u00e4\u20ac\ud83d\ude00", longArgument).value();
+
+        assertTrue(encoded.startsWith("A"));
+        new InteractiveGrantFactory(mock(OAuth2Client.class), new GrantFactoryRegistry(factory)).value(encoded);
+
+        assertEquals(Arrays.asList("", "plain", "\u00e4\u20ac\ud83d\ude00", longArgument), factory.mArguments);
+    }
+
+
+    @Test
+    public void testRejectsCorruptState()
+    {
+        String encoded = new BinaryGrantState("t", "argument").value();
+        GrantFactoryRegistry registry = new GrantFactoryRegistry(new RecordingFactory());
+
+        for (String corrupt : new String[] { encoded.substring(0, encoded.length() - 2), encoded + "AA", "AQ$x" })
+        {
+            try
+            {
+                new InteractiveGrantFactory(mock(OAuth2Client.class), registry).value(corrupt);
+                fail("IllegalArgumentException expected for " + corrupt);
+            }
+            catch (IllegalArgumentException e)
+            {
+                // expected
+            }
+        }
+    }
+
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testLegacyStateIsStillSupported() throws Exception
+    {
+        OAuth2Client client = mock(OAuth2Client.class,
+            with(OAuth2Client::randomChars, returning("123456789012345678901234567890")),
+            with(c -> c.authorizationUrl(any()),
+                answering(invocation -> ((OAuth2AuthorizationRequest) invocation.getArgument(0)).authorizationUri(URI.create("http://1234")))));
+        Class<? extends OAuth2InteractiveGrant.OAuth2InteractiveGrantFactory> factoryClass =
+            (Class<? extends OAuth2InteractiveGrant.OAuth2InteractiveGrantFactory>) Class.forName(
+                AuthorizationCodeGrant.class.getName() + "$InitialAuthorizationCodeGrantFactory");
+        String legacyState = Base64.encodeBytes(
+            new JsonText(new GrantState(factoryClass, "scope", "123456789012345678901234567890", "123456789012345678901234567890", ""))
+                .value()
+                .getBytes(StandardCharsets.UTF_8));
+
+        OAuth2InteractiveGrant grant = new AuthorizationCodeGrant(client, new BasicScope("scope"));
+
+        assertTrue(legacyState.startsWith("e"));
+        assertEquals(grant.authorizationUrl(), new InteractiveGrantFactory(client).value(legacyState).authorizationUrl());
+        assertEquals(grant.authorizationUrl(), new InteractiveGrantFactory(client).value(grant.encodedState()).authorizationUrl());
+        // the binary state is less than half the size of the legacy state
+        assertTrue(grant.encodedState().length() * 2 < legacyState.length());
+    }
+
+
+    private static final class RecordingFactory implements TaggedGrantFactory
+    {
+        private final List<String> mArguments = new ArrayList<>();
+
+
+        @Override
+        public String tag()
+        {
+            return "t";
+        }
+
+
+        @Override
+        public OAuth2InteractiveGrant grant(OAuth2Client client, JSONArray arguments)
+        {
+            for (int i = 0; i < arguments.length(); ++i)
+            {
+                mArguments.add(arguments.getString(i));
+            }
+            return mock(OAuth2InteractiveGrant.class);
+        }
+    }
+}
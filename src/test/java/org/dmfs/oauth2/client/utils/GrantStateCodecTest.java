@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 dmfs GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.dmfs.oauth2.client.utils;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+public class GrantStateCodecTest
+{
+    @Test
+    public void testRoundTripNonAscii()
+    {
+        String[] arguments = {
+            "",
+            "plain",
+            "\u00e4\u00f6\u00fc\u00df",
+            "\u20ac\u4e2d\u6587",
+            "\ud83d\ude00\ud834\udd1e",
+            "mixed \u00e4 \u20ac \ud83d\ude00 end" };
+        String encoded = GrantStateCodec.encoded("t\u00e4g", arguments);
+
+        assertTrue(encoded.startsWith("A"));
+        assertArrayEquals(new String[] { "t\u00e4g", "", "plain", "\u00e4\u00f6\u00fc\u00df", "\u20ac\u4e2d\u6587", "\ud83d\ude00\ud834\udd1e",
+            "mixed \u00e4 \u20ac \ud83d\ude00 end" }, GrantStateCodec.decoded(encoded));
+    }
+
+
+    @Test
+    public void testUnpairedSurrogatesAreEncodedLikeStringGetBytes()
+    {
+        String argument = "a\ud83db\ude00c";
+
+        assertEquals(new String(argument.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8),
+            GrantStateCodec.decoded(GrantStateCodec.encoded("t", argument))[1]);
+    }
+
+
+    @Test
+    public void testRoundTripLargeVarInts()
+    {
+        // lengths and counts which need one, two and three varint bytes, including the boundaries
+        for (int length : new int[] { 127, 128, 16383, 16384, 70000 })
+        {
+            String ascii = repeated('x', length);
+            // two bytes per char, so the UTF-8 length is twice the char count
+            String nonAscii = repeated('\u00e4', length);
+            assertArrayEquals(new String[] { "t", ascii, nonAscii }, GrantStateCodec.decoded(GrantStateCodec.encoded("t", ascii, nonAscii)));
+        }
+
+        for (int count : new int[] { 127, 128, 300, 16384 })
+        {
+            String[] arguments = new String[count];
+            for (int i = 0; i < count; ++i)
+            {
+                arguments[i] = Integer.toString(i);
+            }
+            String[] decoded = GrantStateCodec.decoded(GrantStateCodec.encoded("t", arguments));
+            assertEquals(count + 1, decoded.length);
+            assertArrayEquals(arguments, Arrays.copyOfRange(decoded, 1, decoded.length));
+        }
+    }
+
+
+    @Test
+    public void testRejectsCorruptState()
+    {
+        String encoded = GrantStateCodec.encoded("t", "argument");
+
+        for (String corrupt : new String[] {
+            "",
+            encoded.substring(0, encoded.length() - 2),
+            encoded + "AA",
+            "Ag",
+            // version 1 with a tag length varint that doesn't terminate
+            Base64Url.encoded(new byte[] { 1, -1, -1, -1, -1, -1, 0 }, 7),
+            // version 1, empty tag and a huge argument count
+            Base64Url.encoded(new byte[] { 1, 0, -1, -1, -1, -1, 7 }, 7) })
+        {
+            try
+            {
+                GrantStateCodec.decoded(corrupt);
+                fail("IllegalArgumentException expected for " + corrupt);
+            }
+            catch (IllegalArgumentException e)
+            {
+                // expected
+            }
+        }
+    }
+
+
+    private static String repeated(char c, int count)
+    {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}